@@ -0,0 +1,62 @@
+package fsa.training.bench;
+
+import fsa.training.security.jwt.AuthTokenFilter;
+import fsa.training.security.jwt.JwtUtils;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuthTokenFilter end to end for one request: header parsing, token validation, the user lookup
+ * through UserDetailsServiceImpl (a real query against H2) and setting the security context.
+ * The anonymous case is the cost paid by every public endpoint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuthTokenFilterBenchmark {
+
+    private AuthTokenFilter filter;
+    private String bearer;
+
+    @Setup
+    public void setup() {
+        filter = BenchContext.bean(AuthTokenFilter.class);
+        String email = BenchContext.seedUser("filter@bench.local", "CREATOR", null).getEmail();
+        bearer = "Bearer " + BenchContext.bean(JwtUtils.class).generateTokenFromEmail(email);
+    }
+
+    @Benchmark
+    public Authentication authenticated() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/wallet/summary");
+        request.addHeader("Authorization", bearer);
+        return run(request);
+    }
+
+    @Benchmark
+    public Authentication anonymous() throws ServletException, IOException {
+        return run(new MockHttpServletRequest("GET", "/api/campaign/public"));
+    }
+
+    private Authentication run(MockHttpServletRequest request) throws ServletException, IOException {
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package fsa.training.bench;
+
+import fsa.training.dao.RoleDao;
+import fsa.training.dao.UserDao;
+import fsa.training.dao.WalletDao;
+import fsa.training.entity.Role;
+import fsa.training.entity.User;
+import fsa.training.entity.Wallet;
+import fsa.training.security.jwt.AuthTokenFilter;
+import fsa.training.security.jwt.JwtUtils;
+import fsa.training.service.EscrowService;
+import fsa.training.service.UserDetailsServiceImpl;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+/**
+ * A small Spring context shared by the benchmarks that need real beans: the entities and DAOs on an
+ * in-memory H2 database in MySQL mode, plus JwtUtils, AuthTokenFilter, UserDetailsServiceImpl and
+ * EscrowService. Nothing else of the application is started.
+ *
+ * Not annotated with @Configuration on purpose, so the application's component scan never picks it
+ * up when the profile compiles it next to the main classes.
+ */
+@ImportAutoConfiguration({DataSourceAutoConfiguration.class, HibernateJpaAutoConfiguration.class,
+        TransactionAutoConfiguration.class})
+@EntityScan("fsa.training.entity")
+@EnableJpaRepositories("fsa.training.dao")
+@Import({JwtUtils.class, AuthTokenFilter.class, UserDetailsServiceImpl.class, EscrowService.class})
+public class BenchContext {
+
+    // 256-bit key, base64; only ever used inside the benchmark JVM
+    static final String JWT_SECRET = "YmVuY2htYXJrLXNlY3JldC1rZXktZm9yLWp3dC1obWFjLXNoYTI1Ni0wMTIzNDU2Nzg5";
+
+    private static ConfigurableApplicationContext context;
+
+    /** Starts the context on first use; each forked benchmark JVM gets its own database. */
+    static synchronized ConfigurableApplicationContext get() {
+        if (context == null) {
+            context = new SpringApplicationBuilder(BenchContext.class)
+                    .web(WebApplicationType.NONE)
+                    .logStartupInfo(false)
+                    .run("--spring.config.name=bench",
+                            "--spring.main.banner-mode=off",
+                            "--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                            "--spring.datasource.username=sa",
+                            "--spring.datasource.password=",
+                            "--spring.jpa.hibernate.ddl-auto=create-drop",
+                            "--spring.jpa.open-in-view=false",
+                            "--logging.level.root=WARN",
+                            "--app.jwtSecret=" + JWT_SECRET,
+                            "--app.jwtExpirationMs=86400000");
+        }
+        return context;
+    }
+
+    static <T> T bean(Class<T> type) {
+        return get().getBean(type);
+    }
+
+    /** Saves a user with the given role (created if missing) and, if balance is not null, a wallet. */
+    static synchronized User seedUser(String email, String roleName, Double balance) {
+        UserDao userDao = bean(UserDao.class);
+        User existing = userDao.findByEmail(email);
+        if (existing != null) {
+            return existing;
+        }
+        RoleDao roleDao = bean(RoleDao.class);
+        Role role = roleDao.findByName(roleName);
+        if (role == null) {
+            role = roleDao.save(new Role(null, roleName));
+        }
+        User user = new User();
+        user.setName(email.substring(0, email.indexOf('@')));
+        user.setEmail(email);
+        user.setPassword("{noop}bench");
+        user.setRole(role);
+        user = userDao.save(user);
+        if (balance != null) {
+            bean(WalletDao.class).save(new Wallet(user, balance));
+        }
+        return user;
+    }
+}
@@ -0,0 +1,46 @@
+package fsa.training.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * Runs the benchmarks with fixed forks, warmup and measurement settings and writes the results as
+ * JMH JSON, so two result files from different commits can be compared directly (e.g. with
+ * jmh.morethan.me or any JSON diff). Started by the jmh Maven profile:
+ *
+ *   mvn -Pjmh verify -Djmh.label=$(git rev-parse --short HEAD)
+ *
+ * or by hand: java -cp ... fsa.training.bench.BenchmarkRunner [resultFile] [includeRegex]
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        String resultFile = args.length > 0 ? args[0] : "target/jmh/latest.json";
+        String include = args.length > 1 ? args[1] : "fsa\\.training\\.bench\\..*";
+
+        File parent = new File(resultFile).getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .forks(2)
+                .warmupIterations(5)
+                .warmupTime(org.openjdk.jmh.runner.options.TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(org.openjdk.jmh.runner.options.TimeValue.seconds(2))
+                // Same heap and GC for every run, whatever the machine defaults are
+                .jvmArgsAppend("-Xms1g", "-Xmx1g", "-XX:+UseG1GC")
+                .shouldFailOnError(true)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .build();
+        new Runner(options).run();
+        System.out.println("Results written to " + resultFile);
+    }
+}
@@ -0,0 +1,128 @@
+package fsa.training.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import fsa.training.entity.Campaign;
+import fsa.training.entity.Job;
+import fsa.training.entity.Milestone;
+import fsa.training.entity.Role;
+import fsa.training.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of the entity graphs the controllers return as they are: a page of campaigns with
+ * their creators, and jobs with campaign, influencer and milestones. The mapper is configured like
+ * Spring Boot's (java.time module, ISO dates). The graphs are built once with fixed values, so runs
+ * serialize identical bytes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JacksonGraphBenchmark {
+
+    @Param({"10", "50"})
+    public int size;
+
+    private ObjectMapper mapper;
+    private List<Campaign> campaigns;
+    private List<Job> jobs;
+
+    @Setup
+    public void setup() {
+        mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        Role creatorRole = new Role(2L, "CREATOR");
+        Role influencerRole = new Role(3L, "RECEIVER");
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+        campaigns = new ArrayList<>(size);
+        jobs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            User creator = user(1000L + i, "creator" + i, creatorRole);
+            User influencer = user(5000L + i, "influencer" + i, influencerRole);
+
+            Campaign campaign = new Campaign();
+            campaign.setId((long) i + 1);
+            campaign.setTitle("Campaign " + i + " - Summer launch");
+            campaign.setDescription("Looking for lifestyle creators to review the new collection. ".repeat(6));
+            campaign.setStatus("Active");
+            campaign.setDeadline(LocalDate.of(2025, 6, 1).plusDays(i));
+            campaign.setCreator(creator);
+            campaign.setLayoutStyle("MODERN");
+            campaign.setTags(new ArrayList<>(List.of("fashion", "lifestyle", "beauty")));
+            campaign.setPlatforms(new ArrayList<>(List.of("TikTok", "Instagram")));
+            List<String> images = new ArrayList<>();
+            for (int k = 0; k < 4; k++) {
+                images.add("https://res.cloudinary.com/demo/image/upload/v1/campaign-" + i + "-" + k + ".jpg");
+            }
+            campaign.setImages(images);
+            campaign.setImageVariants(Map.of(images.get(0), Map.of(
+                    "thumb", images.get(0).replace("/upload/", "/upload/w_320/"),
+                    "medium", images.get(0).replace("/upload/", "/upload/w_960/"))));
+            campaign.setApplicantCount(12 + i);
+            campaigns.add(campaign);
+
+            Job job = new Job();
+            job.setId((long) i + 1);
+            job.setCampaign(campaign);
+            job.setInfluencer(influencer);
+            job.setDescription("3 TikTok videos and 2 Instagram stories");
+            job.setPrice(5_000_000.0 + i * 100_000);
+            job.setStatus("IN_PROGRESS");
+            job.setCreatedAt(base.plusHours(i));
+            List<Milestone> milestones = new ArrayList<>();
+            for (int m = 0; m < 4; m++) {
+                Milestone milestone = new Milestone();
+                milestone.setId((long) i * 10 + m);
+                milestone.setJob(job);
+                milestone.setTitle("Deliverable " + (m + 1));
+                milestone.setDescription("Draft, review and publish deliverable " + (m + 1));
+                milestone.setDeadline(base.plusDays(7L * (m + 1)));
+                milestone.setStatus(m == 0 ? "APPROVED" : "PENDING");
+                milestones.add(milestone);
+            }
+            job.setMilestones(milestones);
+            jobs.add(job);
+        }
+    }
+
+    private static User user(Long id, String name, Role role) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(name + "@bench.local");
+        user.setPassword("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z3s4eL5kP1d5pQw3Jp8R6m2a");
+        user.setRole(role);
+        user.setAvatarUrl("https://res.cloudinary.com/demo/image/upload/v1/avatar-" + id + ".jpg");
+        user.setBio("Creator based in Ho Chi Minh City.");
+        user.setSocialLinks(new ArrayList<>(List.of("https://tiktok.com/@" + name, "https://instagram.com/" + name)));
+        return user;
+    }
+
+    @Benchmark
+    public byte[] campaignPage() throws Exception {
+        return mapper.writeValueAsBytes(campaigns);
+    }
+
+    @Benchmark
+    public byte[] jobsWithMilestones() throws Exception {
+        return mapper.writeValueAsBytes(jobs);
+    }
+}
@@ -0,0 +1,52 @@
+package fsa.training.bench;
+
+import fsa.training.security.jwt.JwtUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtUtils on its own: issuing a token at login and the three calls every authenticated request
+ * makes on it (validate, then parse again for the subject).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private Authentication authentication;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtils = BenchContext.bean(JwtUtils.class);
+        authentication = new UsernamePasswordAuthenticationToken(
+                BenchContext.seedUser("jwt@bench.local", "RECEIVER", null), null, List.of());
+        token = jwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return jwtUtils.validateJwtToken(token);
+    }
+
+    @Benchmark
+    public String validateAndReadSubject() {
+        return jwtUtils.validateJwtToken(token) ? jwtUtils.getUserNameFromJwtToken(token) : null;
+    }
+}
@@ -0,0 +1,72 @@
+package fsa.training.bench;
+
+import fsa.training.controller.CampaignController;
+import fsa.training.entity.Campaign;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The Specification behind GET /api/campaign/public (CampaignController.publicListing): building
+ * the criteria predicate, and turning the criteria query into an executable query, which is where
+ * Hibernate translates it. Nothing is executed, so the numbers do not depend on the data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PublicCampaignSpecBenchmark {
+
+    // "none": no filters, "search": title search, "both": title search and platform
+    @Param({"none", "search", "both"})
+    public String filters;
+
+    private EntityManager entityManager;
+    private String search;
+    private String platform;
+
+    @Setup
+    public void setup() {
+        entityManager = BenchContext.bean(EntityManagerFactory.class).createEntityManager();
+        search = "none".equals(filters) ? null : "Summer";
+        platform = "both".equals(filters) ? "TikTok" : null;
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+    }
+
+    @Benchmark
+    public Predicate predicate() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Campaign> query = cb.createQuery(Campaign.class);
+        Root<Campaign> root = query.from(Campaign.class);
+        return CampaignController.publicListing(search, platform).toPredicate(root, query, cb);
+    }
+
+    @Benchmark
+    public TypedQuery<Campaign> query() {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Campaign> query = cb.createQuery(Campaign.class);
+        Root<Campaign> root = query.from(Campaign.class);
+        Specification<Campaign> spec = CampaignController.publicListing(search, platform);
+        query.where(spec.toPredicate(root, query, cb)).orderBy(cb.desc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(10);
+    }
+}
@@ -0,0 +1,81 @@
+package fsa.training.bench;
+
+import fsa.training.dao.CampaignDao;
+import fsa.training.dao.JobDao;
+import fsa.training.entity.Campaign;
+import fsa.training.entity.Job;
+import fsa.training.entity.User;
+import fsa.training.service.EscrowService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Money movement between wallets through EscrowService, against H2 in MySQL mode with the real
+ * DAOs and transactions:
+ *
+ *   escrowRoundTrip - accept (openJob: save job, hold, escrow row, ledger row) then pay (settle:
+ *                     release hold, credit, two ledger rows)
+ *   directSettle    - paying a job that has no hold (debit creator, credit influencer, two ledger rows)
+ *
+ * The creator's wallet is seeded large enough that no run ever hits insufficient funds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WalletTransferBenchmark {
+
+    private static final double PRICE = 1_000.0;
+
+    private EscrowService escrowService;
+    private Campaign campaign;
+    private User influencer;
+    private Job unheldJob;
+
+    @Setup
+    public void setup() {
+        escrowService = BenchContext.bean(EscrowService.class);
+        User creator = BenchContext.seedUser("payer@bench.local", "CREATOR", 1e15);
+        influencer = BenchContext.seedUser("payee@bench.local", "RECEIVER", 0.0);
+
+        Campaign c = new Campaign();
+        c.setTitle("Benchmark campaign");
+        c.setStatus("Active");
+        c.setCreator(creator);
+        c.setTags(new ArrayList<>(List.of("bench")));
+        c.setPlatforms(new ArrayList<>(List.of("TikTok")));
+        campaign = BenchContext.bean(CampaignDao.class).save(c);
+
+        unheldJob = BenchContext.bean(JobDao.class).save(newJob());
+    }
+
+    private Job newJob() {
+        Job job = new Job();
+        job.setCampaign(campaign);
+        job.setInfluencer(influencer);
+        job.setPrice(PRICE);
+        job.setStatus("IN_PROGRESS");
+        return job;
+    }
+
+    @Benchmark
+    public Job escrowRoundTrip() {
+        Job job = escrowService.openJob(newJob());
+        escrowService.settle(job);
+        return job;
+    }
+
+    @Benchmark
+    public Job directSettle() {
+        escrowService.settle(unheldJob);
+        return unheldJob;
+    }
+}
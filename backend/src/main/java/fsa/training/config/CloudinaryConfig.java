@@ -21,12 +21,19 @@ public class CloudinaryConfig {
     @Value("${cloudinary.api_secret}")
     private String apiSecret;
 
+    // API base URL override, e.g. a local stand-in for load tests (see UploadBenchmark)
+    @Value("${cloudinary.upload-prefix:}")
+    private String uploadPrefix;
+
     @Bean
     public Cloudinary cloudinary() {
         Map<String, String> config = new HashMap<>();
         config.put("cloud_name", cloudName);
         config.put("api_key", apiKey);
         config.put("api_secret", apiSecret);
+        if (!uploadPrefix.isBlank()) {
+            config.put("upload_prefix", uploadPrefix);
+        }
         return new Cloudinary(config);
     }
 }
@@ -0,0 +1,117 @@
+package fsa.training.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per controller method metrics, tagged controller / method / status:
+ *
+ *   http.controller.requests                  latency histogram
+ *   http.controller.jdbc.statements           statements prepared per request
+ *   http.controller.jdbc.connections          connections borrowed per request
+ *   http.controller.jdbc.connection.acquire   time per request spent waiting for the pool
+ *   http.controller.jdbc.connection.held      time per request connections were held
+ *
+ * The last two are what shows which endpoints keep the 10-connection pool busy. Runs ahead of
+ * Spring Security so the JWT user lookup is counted with the request it authenticates. Requests
+ * that go async (SSE streams) are not recorded; requests that reach no controller are tagged
+ * controller "none".
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class ControllerMetricsFilter extends OncePerRequestFilter {
+
+    private static final Duration MIN_LATENCY = Duration.ofMillis(1);
+    private static final Duration MAX_LATENCY = Duration.ofSeconds(30);
+    private static final double[] STATEMENT_BUCKETS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000};
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        JdbcUsage usage = JdbcUsage.begin();
+        long start = System.nanoTime();
+        String exception = "none";
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            JdbcUsage.end();
+            if (!request.isAsyncStarted()) {
+                record(request, response, usage, System.nanoTime() - start, exception);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, JdbcUsage usage, long nanos, String exception) {
+        String controller = "none";
+        String method = "none";
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            controller = handlerMethod.getBeanType().getSimpleName();
+            method = handlerMethod.getMethod().getName();
+        }
+        int status = "none".equals(exception) ? response.getStatus() : 500;
+        Tags tags = Tags.of("controller", controller, "method", method, "status", String.valueOf(status));
+
+        Timer.builder("http.controller.requests")
+                .description("Request latency per controller method")
+                .tags(tags).tag("exception", exception)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_LATENCY)
+                .maximumExpectedValue(MAX_LATENCY)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+
+        DistributionSummary.builder("http.controller.jdbc.statements")
+                .description("JDBC statements prepared per request")
+                .tags(tags)
+                .serviceLevelObjectives(STATEMENT_BUCKETS)
+                .register(meterRegistry)
+                .record(usage.statements.sum());
+        DistributionSummary.builder("http.controller.jdbc.connections")
+                .description("Pool connections borrowed per request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(usage.connections.sum());
+
+        if (usage.connections.sum() > 0) {
+            Timer.builder("http.controller.jdbc.connection.acquire")
+                    .description("Time per request spent waiting for pool connections")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(MAX_LATENCY)
+                    .register(meterRegistry)
+                    .record(usage.acquireNanos.sum(), TimeUnit.NANOSECONDS);
+            Timer.builder("http.controller.jdbc.connection.held")
+                    .description("Time per request pool connections were held")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(MIN_LATENCY)
+                    .maximumExpectedValue(MAX_LATENCY)
+                    .register(meterRegistry)
+                    .record(usage.heldNanos.sum(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package fsa.training.config;
 
 import fsa.training.dao.RoleDao;
 import fsa.training.entity.Role;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
@@ -9,6 +11,8 @@ import org.springframework.stereotype.Component;
 @Component
 public class DataInitializer implements CommandLineRunner {
 
+    private static final Logger logger = LoggerFactory.getLogger(DataInitializer.class);
+
     @Autowired
     private RoleDao roleDao;
 
@@ -25,7 +29,7 @@ public class DataInitializer implements CommandLineRunner {
             Role role = new Role();
             role.setName(roleName);
             roleDao.save(role);
-            System.out.println("Created role: " + roleName);
+            logger.info("Created role: {}", roleName);
         }
     }
 }
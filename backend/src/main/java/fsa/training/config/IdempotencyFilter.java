@@ -0,0 +1,172 @@
+package fsa.training.config;
+
+import fsa.training.entity.User;
+import fsa.training.service.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Applies Idempotency-Key semantics to the money-moving endpoints. Runs after the Spring
+ * Security chain so the authenticated user is known; keys are scoped per user and bound to the
+ * method, URI and a SHA-256 of the body they were first used with.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final List<String> IDEMPOTENT_PATHS = List.of(
+            "/api/wallet/deposit",
+            "/api/wallet/withdraw",
+            "/api/job/*/complete"
+    );
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!"POST".equals(request.getMethod()) || !StringUtils.hasText(request.getHeader(HEADER))) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return IDEMPOTENT_PATHS.stream().noneMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Long userId = getCurrentUserId();
+        if (userId == null) {
+            // Let the controller answer 401 as usual
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = request.getHeader(HEADER).trim();
+        if (key.length() > 100) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"status\":\"error\",\"message\":\"Idempotency-Key must be at most 100 characters\"}");
+            return;
+        }
+
+        // The key is bound to the exact request: reusing it with another body is answered 422 instead
+        // of replaying the first response as if the second request had succeeded
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String scope = request.getMethod() + " " + request.getRequestURI() + " " + sha256(cachedRequest.body);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+
+        IdempotencyService.Result result = idempotencyService.execute(userId, key, scope, () -> {
+            filterChain.doFilter(cachedRequest, wrapper);
+            return new IdempotencyService.StoredResponse(scope, wrapper.getStatus(), wrapper.getContentType(),
+                    new String(wrapper.getContentAsByteArray(), StandardCharsets.UTF_8), null);
+        });
+
+        if (result.executed) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        IdempotencyService.StoredResponse stored = result.response;
+        response.setStatus(stored.status);
+        response.setHeader("Idempotent-Replayed", "true");
+        if (stored.contentType != null) {
+            response.setContentType(stored.contentType);
+        }
+        if (stored.body != null) {
+            byte[] body = stored.body.getBytes(StandardCharsets.UTF_8);
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Reads the body once up front so it can be hashed and still be read by the controller. */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+
+    private Long getCurrentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && auth.getPrincipal() instanceof User) {
+            return ((User) auth.getPrincipal()).getId();
+        }
+        return null;
+    }
+}
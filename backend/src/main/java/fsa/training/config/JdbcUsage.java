@@ -0,0 +1,60 @@
+package fsa.training.config;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * JDBC work done on behalf of one HTTP request: connections borrowed, time spent waiting for them,
+ * time they were held, and statements prepared on them. ControllerMetricsFilter opens one per
+ * request and JdbcUsageDataSource adds to whichever is current on the thread that borrows a
+ * connection.
+ *
+ * Work a request hands to a pool is only counted if the task is wrapped with propagate(), as
+ * CreatorDashboardService does for its concurrent queries.
+ */
+public final class JdbcUsage {
+
+    private static final ThreadLocal<JdbcUsage> CURRENT = new ThreadLocal<>();
+
+    final LongAdder connections = new LongAdder();
+    final LongAdder acquireNanos = new LongAdder();
+    final LongAdder heldNanos = new LongAdder();
+    final LongAdder statements = new LongAdder();
+
+    static JdbcUsage begin() {
+        JdbcUsage usage = new JdbcUsage();
+        CURRENT.set(usage);
+        return usage;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /** The usage of the request being served on this thread, or null outside a request. */
+    static JdbcUsage current() {
+        return CURRENT.get();
+    }
+
+    /** Runs the task with the calling request's usage current, so its queries are counted for that request. */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        JdbcUsage usage = CURRENT.get();
+        if (usage == null) {
+            return task;
+        }
+        return () -> {
+            // Restore rather than clear: with CallerRunsPolicy the task may run on the request thread itself
+            JdbcUsage previous = CURRENT.get();
+            CURRENT.set(usage);
+            try {
+                return task.get();
+            } finally {
+                if (previous != null) {
+                    CURRENT.set(previous);
+                } else {
+                    CURRENT.remove();
+                }
+            }
+        };
+    }
+}
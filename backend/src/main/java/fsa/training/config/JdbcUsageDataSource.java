@@ -0,0 +1,97 @@
+package fsa.training.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Wraps the pool so that connections borrowed while a request is being served report to that
+ * request's JdbcUsage: the wait for the connection, how long it was held until close() returned it
+ * to the pool, and every statement prepared on it. Connections borrowed by background work (outbox,
+ * schedulers, writer threads) are handed out unwrapped.
+ *
+ * Spring's DataSource unwrapping sees through DelegatingDataSource, so the Hikari pool metrics
+ * still find the HikariDataSource behind it.
+ */
+public class JdbcUsageDataSource extends DelegatingDataSource {
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+
+    public JdbcUsageDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return track(() -> obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return track(() -> obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection track(ConnectionSource source) throws SQLException {
+        JdbcUsage usage = JdbcUsage.current();
+        if (usage == null) {
+            return source.get();
+        }
+        long start = System.nanoTime();
+        Connection connection = source.get();
+        long acquired = System.nanoTime();
+        usage.connections.increment();
+        usage.acquireNanos.add(acquired - start);
+        return (Connection) Proxy.newProxyInstance(JdbcUsageDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, new TrackedConnection(connection, usage, acquired));
+    }
+
+    private static class TrackedConnection implements InvocationHandler {
+        private final Connection target;
+        private final JdbcUsage usage;
+        private final long acquiredAt;
+        private boolean closed;
+
+        TrackedConnection(Connection target, JdbcUsage usage, long acquiredAt) {
+            this.target = target;
+            this.usage = usage;
+            this.acquiredAt = acquiredAt;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "prepareStatement":
+                case "prepareCall":
+                case "createStatement":
+                    usage.statements.increment();
+                    break;
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        usage.heldNanos.add(System.nanoTime() - acquiredAt);
+                    }
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package fsa.training.config;
+
+import fsa.training.dao.RoleDao;
+import fsa.training.entity.Role;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Synthetic data for the loadtest profile (in-memory H2 in MySQL mode, see
+ * application-loadtest.properties): users with wallets, campaigns with tags, platforms and an image,
+ * applications, jobs with milestones and wallet transactions, in the volumes set by
+ * app.loadtest.seed.*.
+ *
+ * Ids are assigned here rather than by the database, so every foreign key is computed from the row
+ * number and nothing is read back. fsa.training.util.HttpLoadDriver relies on the same layout:
+ *
+ *   users 1..creators are creators, the rest receivers; every password is PASSWORD
+ *   wallet n belongs to user n
+ *   campaign c is owned by creator ((c - 1) % creators) + 1
+ *   job j is on campaign ((j - 1) % campaigns) + 1, so job u belongs to creator u
+ *
+ * Rows go in as multi-row INSERT ... VALUES (...), (...) statements of rows-per-statement rows,
+ * statements-per-batch statements per JDBC batch, on app.loadtest.seed.threads threads. The runner
+ * finishes before the application reports ready, so /actuator/health stays OUT_OF_SERVICE until
+ * the data is complete.
+ */
+@Component
+@Profile("loadtest")
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class LoadTestDataSeeder implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestDataSeeder.class);
+
+    public static final String PASSWORD = "loadtest";
+
+    private static final String[] TAGS = {"fashion", "beauty", "food", "travel", "tech", "fitness", "gaming", "lifestyle"};
+    private static final String[] PLATFORMS = {"TikTok", "Instagram", "YouTube", "Facebook"};
+    private static final String[] CAMPAIGN_STATUSES = {"Active", "Active", "Active", "Active", "Active", "Active",
+            "Đang tuyển", "Đang tuyển", "Closed", "Completed"};
+    private static final String[] APPLICATION_STATUSES = {"PENDING", "PENDING", "PENDING", "ACCEPTED", "REJECTED"};
+    private static final String[] TRANSACTION_TYPES = {"DEPOSIT", "DEPOSIT", "PAYMENT", "WITHDRAWAL", "ESCROW_HOLD"};
+
+    private static final int TAGS_PER_CAMPAIGN = 2;
+    private static final int PLATFORMS_PER_CAMPAIGN = 2;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RoleDao roleDao;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${app.loadtest.seed.users:1000000}")
+    private long users;
+
+    @Value("${app.loadtest.seed.creators:100000}")
+    private long creators;
+
+    @Value("${app.loadtest.seed.campaigns:1000000}")
+    private long campaigns;
+
+    @Value("${app.loadtest.seed.applications:2000000}")
+    private long applications;
+
+    @Value("${app.loadtest.seed.jobs:500000}")
+    private long jobs;
+
+    @Value("${app.loadtest.seed.milestones-per-job:3}")
+    private int milestonesPerJob;
+
+    @Value("${app.loadtest.seed.transactions:2000000}")
+    private long transactions;
+
+    @Value("${app.loadtest.seed.rows-per-statement:500}")
+    private int rowsPerStatement;
+
+    @Value("${app.loadtest.seed.statements-per-batch:20}")
+    private int statementsPerBatch;
+
+    @Value("${app.loadtest.seed.threads:4}")
+    private int threads;
+
+    private ExecutorService pool;
+
+    /** Values of row n (1-based) of a table, in column order. */
+    @FunctionalInterface
+    private interface Row {
+        Object[] values(long n);
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        if (existing != null && existing > 0) {
+            logger.info("Load-test seed skipped: users already holds {} rows", existing);
+            return;
+        }
+        if (creators <= 0 || creators >= users) {
+            throw new IllegalStateException("app.loadtest.seed.creators must be between 1 and users - 1");
+        }
+
+        long creatorRole = role("CREATOR");
+        long receiverRole = role("RECEIVER");
+        long receivers = users - creators;
+        // One hash for everyone: encoding a million BCrypt passwords would take longer than the rest of the seed
+        String hash = passwordEncoder.encode(PASSWORD);
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        LocalDate today = now.toLocalDate();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "loadtest-seed-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        long began = System.currentTimeMillis();
+        try {
+            insert("users", "id, name, email, password, role_id, avatar_url, bio, rating, rating_sum, rating_count, is_verified",
+                    users, n -> {
+                        boolean creator = n <= creators;
+                        return new Object[]{n, (creator ? "Creator " : "Receiver ") + n, email(n), hash,
+                                creator ? creatorRole : receiverRole, null, "Synthetic load-test user " + n,
+                                0.0, 0L, 0L, n % 5 == 0};
+                    });
+            insert("wallets", "id, user_id, balance, held_balance, version", users,
+                    n -> new Object[]{n, n, n <= creators ? 1_000_000_000.0 : (double) (n % 1000) * 10_000, 0.0, 0L});
+
+            insert("campaigns", "id, title, description, deadline, status, creator_id, layout_style", campaigns,
+                    n -> new Object[]{n, "Campaign " + n + " " + TAGS[(int) (n % TAGS.length)],
+                            "Looking for " + TAGS[(int) (n % TAGS.length)] + " creators on " + PLATFORMS[(int) (n % PLATFORMS.length)],
+                            today.plusDays(n % 90), CAMPAIGN_STATUSES[(int) (n % CAMPAIGN_STATUSES.length)],
+                            creatorOf(n), "MODERN"});
+            insert("campaign_tags", "campaign_id, tag", campaigns * TAGS_PER_CAMPAIGN, n -> {
+                long campaign = (n - 1) / TAGS_PER_CAMPAIGN + 1;
+                long k = (n - 1) % TAGS_PER_CAMPAIGN;
+                return new Object[]{campaign, TAGS[(int) ((campaign + k * 3) % TAGS.length)]};
+            });
+            insert("campaign_platforms", "campaign_id, platform", campaigns * PLATFORMS_PER_CAMPAIGN, n -> {
+                long campaign = (n - 1) / PLATFORMS_PER_CAMPAIGN + 1;
+                long k = (n - 1) % PLATFORMS_PER_CAMPAIGN;
+                return new Object[]{campaign, PLATFORMS[(int) ((campaign + k) % PLATFORMS.length)]};
+            });
+            insert("campaign_images", "campaign_id, image_url", campaigns,
+                    n -> new Object[]{n, "https://res.cloudinary.com/demo/image/upload/v1/loadtest/campaign-" + n + ".jpg"});
+
+            insert("applications", "id, campaign_id, user_id, status, message, created_at, bid_amount", applications,
+                    n -> new Object[]{n, (n - 1) % campaigns + 1, receiver(n * 7919, receivers),
+                            APPLICATION_STATUSES[(int) (n % APPLICATION_STATUSES.length)], "Synthetic application " + n,
+                            now.minusMinutes(n % 525_600), 1_000_000.0 + (n % 50) * 100_000});
+
+            insert("jobs", "id, campaign_id, influencer_id, description, price, status, created_at, completed_at", jobs, n -> {
+                boolean completed = n % 10 >= 7;
+                LocalDateTime created = now.minusMinutes(n % 525_600);
+                return new Object[]{n, (n - 1) % campaigns + 1, receiver(n * 104_729, receivers),
+                        "Synthetic job " + n, 2_000_000.0 + (n % 40) * 250_000,
+                        completed ? "COMPLETED" : "IN_PROGRESS", created, completed ? created.plusDays(14) : null};
+            });
+            insert("milestones", "id, job_id, title, description, deadline, status, version", jobs * milestonesPerJob, n -> {
+                long job = (n - 1) / milestonesPerJob + 1;
+                long k = (n - 1) % milestonesPerJob;
+                String status = job % 10 >= 7 ? "APPROVED" : k == 0 ? "SUBMITTED" : "PENDING";
+                return new Object[]{n, job, "Deliverable " + (k + 1), "Synthetic milestone " + (k + 1) + " of job " + job,
+                        now.plusDays(7 * (k + 1) - job % 30), status, 0L};
+            });
+
+            insert("transactions", "id, wallet_id, amount, type, status, description, created_at", transactions, n -> {
+                String type = TRANSACTION_TYPES[(int) (n % TRANSACTION_TYPES.length)];
+                return new Object[]{n, (n - 1) % users + 1, 100_000.0 + (n % 100) * 50_000, type,
+                        "WITHDRAWAL".equals(type) && n % 3 == 0 ? "PENDING" : "COMPLETED",
+                        "Synthetic " + type.toLowerCase() + " " + n, now.minusMinutes(n % 525_600)};
+            });
+        } finally {
+            pool.shutdownNow();
+        }
+
+        // Explicit ids leave the identity columns where they were; move them past the seeded rows
+        restartIdentity("users", users);
+        restartIdentity("wallets", users);
+        restartIdentity("campaigns", campaigns);
+        restartIdentity("applications", applications);
+        restartIdentity("jobs", jobs);
+        restartIdentity("milestones", jobs * milestonesPerJob);
+        restartIdentity("transactions", transactions);
+
+        logger.info("Load-test seed finished in {} s", (System.currentTimeMillis() - began) / 1000);
+    }
+
+    public static String email(long userId) {
+        return "user" + userId + "@loadtest.local";
+    }
+
+    private long creatorOf(long campaignId) {
+        return (campaignId - 1) % creators + 1;
+    }
+
+    private long receiver(long n, long receivers) {
+        return creators + 1 + Math.floorMod(n, receivers);
+    }
+
+    private long role(String name) {
+        Role role = roleDao.findByName(name);
+        if (role == null) {
+            role = new Role();
+            role.setName(name);
+            role = roleDao.save(role);
+        }
+        return role.getId();
+    }
+
+    private void insert(String table, String columns, long count, Row row) throws InterruptedException {
+        if (count <= 0) {
+            return;
+        }
+        long began = System.currentTimeMillis();
+        int width = columns.split(",").length;
+        String sql = statement(table, columns, width, rowsPerStatement);
+        long chunk = (long) rowsPerStatement * statementsPerBatch;
+
+        List<Future<?>> chunks = new ArrayList<>();
+        for (long start = 1; start <= count; start += chunk) {
+            long from = start;
+            long to = Math.min(count, start + chunk - 1);
+            chunks.add(pool.submit(() -> insertRange(table, columns, width, sql, from, to, row)));
+        }
+        for (Future<?> f : chunks) {
+            try {
+                f.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Seeding " + table + " failed", e.getCause());
+            }
+        }
+        long ms = Math.max(1, System.currentTimeMillis() - began);
+        logger.info("Seeded {} rows into {} in {} ms ({} rows/s)", count, table, ms, count * 1000 / ms);
+    }
+
+    private void insertRange(String table, String columns, int width, String sql, long from, long to, Row row) {
+        List<Object[]> batch = new ArrayList<>(statementsPerBatch);
+        long n = from;
+        while (to - n + 1 >= rowsPerStatement) {
+            batch.add(values(row, n, rowsPerStatement, width));
+            n += rowsPerStatement;
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+        if (n <= to) {
+            int rows = (int) (to - n + 1);
+            jdbcTemplate.update(statement(table, columns, width, rows), values(row, n, rows, width));
+        }
+    }
+
+    private static Object[] values(Row row, long first, int rows, int width) {
+        Object[] args = new Object[rows * width];
+        for (int r = 0; r < rows; r++) {
+            System.arraycopy(row.values(first + r), 0, args, r * width, width);
+        }
+        return args;
+    }
+
+    private static String statement(String table, String columns, int width, int rows) {
+        String tuple = "(" + String.join(", ", Collections.nCopies(width, "?")) + ")";
+        return "INSERT INTO " + table + " (" + columns + ") VALUES " + String.join(", ", Collections.nCopies(rows, tuple));
+    }
+
+    private void restartIdentity(String table, long seeded) {
+        // H2 syntax; this profile only ever runs on H2
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + (seeded + 1));
+    }
+}
@@ -0,0 +1,32 @@
+package fsa.training.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Metrics wiring that Spring Boot does not do on its own. The rest comes from the actuator
+ * auto-configuration once the Prometheus registry is on the classpath: JVM GC, memory and allocation
+ * (jvm.gc.*, jvm.memory.*), Hikari pool metrics (hikaricp.connections.*) and, with
+ * hibernate.generate_statistics on, Hibernate statistics (hibernate.*). Everything is served in
+ * Prometheus text format at /actuator/prometheus.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Static so it is registered before the DataSource is created
+    @Bean
+    public static BeanPostProcessor jdbcUsageDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof JdbcUsageDataSource)) {
+                    return new JdbcUsageDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -64,13 +64,21 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches only finish responses of requests already authorized (SSE streams)
+                        .dispatcherTypeMatchers(jakarta.servlet.DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/", "/home", "/api/login", "/api/logout", "/api/register", "/register", "/login", "/css/**",
                                 "/js/**", "/imgs/**",
                                 "/webjars/**", "/error", "/oauth2/**", "/api/users/role", "/api/auth/**", "/api/campaign/public") // Added /api/auth/** for token exchange
                                                                                           // permitAll for now or keep
                                                                                           // authenticated
                         .permitAll()
+                        // Variant lookups can schedule image processing; only the media blobs are public
+                        .requestMatchers("/api/media/variants").authenticated()
+                        .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/media/**").permitAll()
+                        .requestMatchers(org.springframework.http.HttpMethod.HEAD, "/api/media/**").permitAll()
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/api/creator/**").hasAnyRole("CREATOR", "ADMIN")
                         .requestMatchers("/api/receiver/**").hasAnyRole("RECEIVER", "ADMIN")
                         .anyRequest().authenticated())
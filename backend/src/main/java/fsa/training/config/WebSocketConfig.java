@@ -0,0 +1,33 @@
+package fsa.training.config;
+
+import fsa.training.controller.ChatSocketHandler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.standard.ServletServerContainerFactoryBean;
+
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    @Autowired
+    private ChatSocketHandler chatSocketHandler;
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(chatSocketHandler, "/ws/chat")
+                .setAllowedOrigins("http://localhost:5173"); // Vite dev server, as in SecurityConfig
+    }
+
+    @Bean
+    public ServletServerContainerFactoryBean createWebSocketContainer() {
+        // Frames are small JSON; a 2000 character message is at most ~8KB of UTF-8 plus envelope
+        ServletServerContainerFactoryBean container = new ServletServerContainerFactoryBean();
+        container.setMaxTextMessageBufferSize(16 * 1024);
+        container.setMaxBinaryMessageBufferSize(16 * 1024);
+        return container;
+    }
+}
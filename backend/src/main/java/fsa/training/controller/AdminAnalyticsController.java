@@ -0,0 +1,47 @@
+package fsa.training.controller;
+
+import fsa.training.entity.User;
+import fsa.training.service.AnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/analytics")
+public class AdminAnalyticsController {
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    private User getCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof User) {
+            return (User) auth.getPrincipal();
+        }
+        return null;
+    }
+
+    /**
+     * Platform KPIs from the latest rollup refresh (see refreshedAt); constant cost however much data there is.
+     */
+    @GetMapping
+    public ResponseEntity<?> kpis() {
+        if (getCurrentUser() == null) return ResponseEntity.status(401).body("Unauthorized");
+        return ResponseEntity.ok(analyticsService.dashboard());
+    }
+
+    /**
+     * Rebuilds all KPI rollups from the source tables, e.g. after rows were deleted or fixed by hand.
+     */
+    @PostMapping("/recompute")
+    public ResponseEntity<?> recompute() {
+        if (getCurrentUser() == null) return ResponseEntity.status(401).body("Unauthorized");
+        try {
+            return ResponseEntity.ok(analyticsService.recomputeAll());
+        } catch (AnalyticsService.BusyException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package fsa.training.controller;
+
+import fsa.training.entity.User;
+import fsa.training.service.VerificationQueueService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/verifications")
+public class AdminVerificationController {
+
+    @Autowired
+    private VerificationQueueService verificationQueueService;
+
+    private User getCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof User) {
+            return (User) auth.getPrincipal();
+        }
+        return null;
+    }
+
+    @GetMapping("/queue")
+    public ResponseEntity<?> queue(@RequestParam(required = false) String cursor,
+                                   @RequestParam(defaultValue = "20") int size) {
+        if (getCurrentUser() == null) return ResponseEntity.status(401).body("Unauthorized");
+        try {
+            VerificationQueueService.QueuePage page = verificationQueueService.getQueue(cursor, size);
+            Map<String, Object> response = new HashMap<>();
+            response.put("items", page.items);
+            response.put("nextCursor", page.nextCursor);
+            return ResponseEntity.ok(response);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            return ResponseEntity.badRequest().body("Invalid cursor");
+        }
+    }
+
+    @PostMapping("/claim")
+    public ResponseEntity<?> claim(@RequestParam(defaultValue = "20") int size) {
+        User admin = getCurrentUser();
+        if (admin == null) return ResponseEntity.status(401).body("Unauthorized");
+        return ResponseEntity.ok(verificationQueueService.claim(admin.getId(), size));
+    }
+
+    @GetMapping("/claimed")
+    public ResponseEntity<?> claimed() {
+        User admin = getCurrentUser();
+        if (admin == null) return ResponseEntity.status(401).body("Unauthorized");
+        return ResponseEntity.ok(verificationQueueService.getActiveClaims(admin.getId()));
+    }
+
+    @PostMapping("/release")
+    public ResponseEntity<?> release(@RequestBody Map<String, Object> payload) {
+        User admin = getCurrentUser();
+        if (admin == null) return ResponseEntity.status(401).body("Unauthorized");
+        List<Long> ids = parseIds(payload.get("ids"));
+        if (ids == null) return ResponseEntity.badRequest().body("ids must be a list of at most " + VerificationQueueService.MAX_BATCH + " ids");
+        return ResponseEntity.ok(Map.of("released", verificationQueueService.release(admin.getId(), ids)));
+    }
+
+    /**
+     * Body: {"ids": [1, 2, 3], "action": "APPROVE" | "REJECT", "note": "optional"}
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<?> bulk(@RequestBody Map<String, Object> payload) {
+        User admin = getCurrentUser();
+        if (admin == null) return ResponseEntity.status(401).body("Unauthorized");
+
+        List<Long> ids = parseIds(payload.get("ids"));
+        if (ids == null) return ResponseEntity.badRequest().body("ids must be a list of at most " + VerificationQueueService.MAX_BATCH + " ids");
+        String action = String.valueOf(payload.get("action"));
+        if (!"APPROVE".equals(action) && !"REJECT".equals(action)) {
+            return ResponseEntity.badRequest().body("action must be APPROVE or REJECT");
+        }
+        String note = payload.get("note") != null ? payload.get("note").toString() : null;
+
+        VerificationQueueService.BatchResult result =
+                verificationQueueService.decide(admin.getId(), ids, "APPROVE".equals(action), note);
+        Map<String, Object> response = new HashMap<>();
+        response.put("updated", result.updated);
+        response.put("skipped", result.skipped);
+        return ResponseEntity.ok(response);
+    }
+
+    private List<Long> parseIds(Object raw) {
+        if (!(raw instanceof List<?> list) || list.size() > VerificationQueueService.MAX_BATCH) {
+            return null;
+        }
+        List<Long> ids = new ArrayList<>(list.size());
+        for (Object o : list) {
+            try {
+                ids.add(Long.valueOf(o.toString()));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return ids;
+    }
+}
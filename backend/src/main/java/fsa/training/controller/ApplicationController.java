@@ -6,6 +6,8 @@ import fsa.training.dao.UserDao;
 import fsa.training.entity.Application;
 import fsa.training.entity.Campaign;
 import fsa.training.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -22,6 +24,8 @@ import java.util.Optional;
 @RequestMapping("/api/application")
 public class ApplicationController {
 
+    private static final Logger logger = LoggerFactory.getLogger(ApplicationController.class);
+
     @Autowired
     private ApplicationDao applicationDao;
 
@@ -35,7 +39,13 @@ public class ApplicationController {
     private fsa.training.dao.JobDao jobDao;
 
     @Autowired
-    private fsa.training.dao.MilestoneDao milestoneDao;
+    private fsa.training.service.JobTemplateService jobTemplateService;
+
+    @Autowired
+    private fsa.training.service.NotificationService notificationService;
+
+    @Autowired
+    private fsa.training.service.JobLifecycleService jobLifecycleService;
 
     private User getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -167,32 +177,45 @@ public class ApplicationController {
 
         String newStatus = payload.get("status");
         if (newStatus != null) {
-            app.setStatus(newStatus);
-            applicationDao.save(app);
-
-            // If ACCEPTED, create a Job and default Milestone
+            // If ACCEPTED, create a Job with the bid reserved in escrow, and its milestones from the creator's template.
+            // The job, the status change and the ApplicationAccepted event (which notifies the influencer) commit together.
             if ("ACCEPTED".equals(newStatus)) {
-                // Check if job already exists
-                if (!jobDao.existsByCampaignAndInfluencer(app.getCampaign(), app.getReceiver())) {
-                    fsa.training.entity.Job job = new fsa.training.entity.Job();
+                fsa.training.entity.Job job = null;
+                List<fsa.training.service.JobTemplateService.MilestoneSpec> milestones = null;
+                // Check if job already exists (a cancelled one is replaced by a new job with a fresh hold)
+                if (!jobDao.existsByCampaignAndInfluencerAndStatusNot(app.getCampaign(), app.getReceiver(), "CANCELLED")) {
+                    try {
+                        Long templateId = payload.get("templateId") != null ? Long.valueOf(payload.get("templateId")) : null;
+                        milestones = jobTemplateService.resolve(user.getId(), templateId,
+                                fsa.training.service.JobTemplateService.FINAL_DELIVERABLE);
+                    } catch (NumberFormatException | fsa.training.service.JobTemplateService.InvalidTemplateException e) {
+                        return ResponseEntity.badRequest().body("Invalid templateId");
+                    }
+
+                    job = new fsa.training.entity.Job();
                     job.setCampaign(app.getCampaign());
                     job.setInfluencer(app.getReceiver());
                     job.setDescription(app.getCampaign().getDescription());
+                    job.setPrice(app.getBidAmount());
                     job.setStatus("IN_PROGRESS");
                     job.setCreatedAt(LocalDateTime.now());
-                    
-                    job = jobDao.save(job);
-
-                    // Create default milestone
-                    fsa.training.entity.Milestone milestone = new fsa.training.entity.Milestone();
-                    milestone.setJob(job);
-                    milestone.setTitle("Final Deliverable");
-                    milestone.setDescription("Submit your work evidence here.");
-                    milestone.setStatus("PENDING");
-                    milestone.setDeadline(app.getCampaign().getDeadline().atStartOfDay()); 
-                    
-                    milestoneDao.save(milestone);
                 }
+
+                try {
+                    return ResponseEntity.ok(jobLifecycleService.accept(app, job, milestones));
+                } catch (fsa.training.service.EscrowService.InsufficientFundsException e) {
+                    return ResponseEntity.badRequest().body(e.getMessage());
+                }
+            }
+
+            // Moving away from ACCEPTED cancels the open job and refunds its escrow in the same transaction
+            String oldStatus = app.getStatus();
+            app = jobLifecycleService.changeStatus(app, newStatus);
+
+            if (!newStatus.equals(oldStatus)) {
+                notificationService.publish(app.getReceiver().getId(), fsa.training.service.NotificationService.APPLICATION_STATUS,
+                        "Cập nhật ứng tuyển",
+                        "Đơn ứng tuyển chiến dịch \"" + app.getCampaign().getTitle() + "\" của bạn đã chuyển sang trạng thái " + newStatus + ".");
             }
 
             return ResponseEntity.ok(app);
@@ -203,43 +226,41 @@ public class ApplicationController {
     @PostMapping("/sync-jobs")
     public ResponseEntity<?> syncJobs() {
         User user = getCurrentUser();
-        // Allow Creator or Admin or Receiver (to self-repair)
         if (user == null) return ResponseEntity.status(401).body("Unauthorized");
-        
+        // Opens jobs (and escrow holds) on other creators' wallets, so admins only
+        if (user.getRole() == null || !user.getRole().getName().equals("ADMIN")) {
+            return ResponseEntity.status(403).body("Access denied");
+        }
+
         List<Application> acceptedApps = applicationDao.findByStatus("ACCEPTED");
+        // Each job is opened with its escrow hold and milestones in its own transaction, so one
+        // creator's empty wallet or broken template doesn't stop the rest
         int count = 0;
+        List<Map<String, Object>> failures = new java.util.ArrayList<>();
         for (Application app : acceptedApps) {
             // Check if job already exists
-            if (!jobDao.existsByCampaignAndInfluencer(app.getCampaign(), app.getReceiver())) {
+            if (!jobDao.existsByCampaignAndInfluencerAndStatusNot(app.getCampaign(), app.getReceiver(), "CANCELLED")) {
                 try {
+                    List<fsa.training.service.JobTemplateService.MilestoneSpec> milestones = jobTemplateService.resolve(
+                            app.getCampaign().getCreator().getId(), null, fsa.training.service.JobTemplateService.FINAL_DELIVERABLE);
+
                     fsa.training.entity.Job job = new fsa.training.entity.Job();
                     job.setCampaign(app.getCampaign());
                     job.setInfluencer(app.getReceiver());
                     job.setDescription(app.getCampaign().getDescription());
+                    job.setPrice(app.getBidAmount());
                     job.setStatus("IN_PROGRESS");
                     job.setCreatedAt(LocalDateTime.now());
-                    
-                    job = jobDao.save(job);
-
-                    // Create default milestone
-                    fsa.training.entity.Milestone milestone = new fsa.training.entity.Milestone();
-                    milestone.setJob(job);
-                    milestone.setTitle("Final Deliverable");
-                    milestone.setDescription("Submit your work evidence here.");
-                    milestone.setStatus("PENDING");
-                     if (app.getCampaign().getDeadline() != null) {
-                        milestone.setDeadline(app.getCampaign().getDeadline().atStartOfDay());
-                    } else {
-                        milestone.setDeadline(LocalDateTime.now().plusDays(7));
-                    }
-                    
-                    milestoneDao.save(milestone);
+
+                    jobLifecycleService.open(job, milestones);
                     count++;
-                } catch (Exception e) {
-                   System.err.println("Failed to sync job for app " + app.getId() + ": " + e.getMessage());
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to sync job for application {}: {}", app.getId(), e.getMessage());
+                    failures.add(Map.of("applicationId", app.getId(), "error", String.valueOf(e.getMessage())));
                 }
             }
         }
-        return ResponseEntity.ok(Map.of("status", "success", "syncedCount", count));
+        return ResponseEntity.ok(Map.of("status", failures.isEmpty() ? "success" : "partial",
+                "syncedCount", count, "failures", failures));
     }
 }
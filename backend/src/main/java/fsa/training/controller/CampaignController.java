@@ -22,6 +22,12 @@ public class CampaignController {
     @Autowired
     private UserDao userDao;
 
+    @Autowired
+    private fsa.training.service.ImageVariantService imageVariantService;
+
+    @Autowired
+    private fsa.training.service.ProfileService profileService;
+
     private User getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth != null && auth.isAuthenticated() && !auth.getName().equals("anonymousUser")) {
@@ -58,6 +64,7 @@ public class CampaignController {
             }
 
             campaignDao.save(campaign);
+            profileService.evict(currentUser.getId());
             return ResponseEntity.ok(campaign);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Lỗi khi tạo chiến dịch: " + e.getMessage());
@@ -105,6 +112,9 @@ public class CampaignController {
             existingCampaign.setLayoutStyle(campaignRequest.getLayoutStyle());
 
             campaignDao.save(existingCampaign);
+            if (existingCampaign.getCreator() != null) {
+                profileService.evict(existingCampaign.getCreator().getId());
+            }
             return ResponseEntity.ok(existingCampaign);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Lỗi khi cập nhật chiến dịch: " + e.getMessage());
@@ -146,6 +156,7 @@ public class CampaignController {
         };
 
         org.springframework.data.domain.Page<Campaign> resultPage = campaignDao.findAll(spec, pageable);
+        attachImageVariants(resultPage.getContent());
         return ResponseEntity.ok(resultPage);
     }
     @GetMapping("/public")
@@ -157,7 +168,14 @@ public class CampaignController {
     ) {
         org.springframework.data.domain.Pageable pageable = org.springframework.data.domain.PageRequest.of(page, size, org.springframework.data.domain.Sort.by("id").descending());
 
-        org.springframework.data.jpa.domain.Specification<Campaign> spec = (root, query, cb) -> {
+        org.springframework.data.domain.Page<Campaign> resultPage = campaignDao.findAll(publicListing(search, platform), pageable);
+        attachImageVariants(resultPage.getContent());
+        return ResponseEntity.ok(resultPage);
+    }
+
+    // Open campaigns matching the optional title search and platform; public so the benchmarks can build it too
+    public static org.springframework.data.jpa.domain.Specification<Campaign> publicListing(String search, String platform) {
+        return (root, query, cb) -> {
             java.util.List<jakarta.persistence.criteria.Predicate> predicates = new java.util.ArrayList<>();
             
             // Filter by Status: Only "Active" or "Đang tuyển"
@@ -184,8 +202,23 @@ public class CampaignController {
 
             return cb.and(predicates.toArray(new jakarta.persistence.criteria.Predicate[0]));
         };
+    }
 
-        org.springframework.data.domain.Page<Campaign> resultPage = campaignDao.findAll(spec, pageable);
-        return ResponseEntity.ok(resultPage);
+    // One lookup for the whole page; images without variants map to their original URL
+    private void attachImageVariants(List<Campaign> campaigns) {
+        List<String> urls = new java.util.ArrayList<>();
+        for (Campaign c : campaigns) {
+            urls.addAll(c.getImages());
+        }
+        java.util.Map<String, java.util.Map<String, String>> variants = imageVariantService.variantsOf(urls);
+        for (Campaign c : campaigns) {
+            java.util.Map<String, java.util.Map<String, String>> own = new java.util.LinkedHashMap<>();
+            for (String url : c.getImages()) {
+                if (variants.get(url) != null) {
+                    own.put(url, variants.get(url));
+                }
+            }
+            c.setImageVariants(own);
+        }
     }
 }
@@ -0,0 +1,100 @@
+package fsa.training.controller;
+
+import fsa.training.entity.User;
+import fsa.training.service.ChatService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Chat history and conversation list. Messages themselves are sent over the chat socket
+ * (ChatSocketHandler, /ws/chat).
+ */
+@RestController
+@RequestMapping("/api/chat")
+public class ChatController {
+
+    @Autowired
+    private ChatService chatService;
+
+    private User getCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof User) {
+            return (User) auth.getPrincipal();
+        }
+        return null;
+    }
+
+    @GetMapping("/conversations")
+    public ResponseEntity<?> conversations() {
+        User user = getCurrentUser();
+        if (user == null) return ResponseEntity.status(401).body("Unauthorized");
+        return ResponseEntity.ok(chatService.conversations(user.getId()));
+    }
+
+    /**
+     * Body: one of {"applicationId": 1}, {"campaignApplicationId": 1} or {"jobId": 1}. Returns the
+     * conversation between the campaign's creator and the influencer, creating it if needed.
+     */
+    @PostMapping("/conversations")
+    public ResponseEntity<?> open(@RequestBody Map<String, Object> payload) {
+        User user = getCurrentUser();
+        if (user == null) return ResponseEntity.status(401).body("Unauthorized");
+        try {
+            return ResponseEntity.ok(chatService.open(user, longOf(payload.get("applicationId")),
+                    longOf(payload.get("campaignApplicationId")), longOf(payload.get("jobId"))));
+        } catch (IllegalArgumentException e) {
+            // Also NumberFormatException
+            return ResponseEntity.badRequest().body("applicationId, campaignApplicationId or jobId is required");
+        } catch (ChatService.NotParticipantException e) {
+            return ResponseEntity.status(404).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/conversations/{id}/messages")
+    public ResponseEntity<?> messages(@PathVariable Long id,
+                                      @RequestParam(required = false) Long cursor,
+                                      @RequestParam(defaultValue = "50") int size) {
+        User user = getCurrentUser();
+        if (user == null) return ResponseEntity.status(401).body("Unauthorized");
+        try {
+            ChatService.MessagePage page = chatService.history(user.getId(), id, cursor, size);
+            Map<String, Object> response = new HashMap<>();
+            response.put("items", page.items);
+            response.put("nextCursor", page.nextCursor);
+            return ResponseEntity.ok(response);
+        } catch (ChatService.NotParticipantException e) {
+            return ResponseEntity.status(404).body(e.getMessage());
+        }
+    }
+
+    /**
+     * Body: {"upToId": 123} marks that message and all older ones in the conversation as read.
+     */
+    @PostMapping("/conversations/{id}/read")
+    public ResponseEntity<?> markRead(@PathVariable Long id, @RequestBody Map<String, Object> payload) {
+        User user = getCurrentUser();
+        if (user == null) return ResponseEntity.status(401).body("Unauthorized");
+        Long upToId;
+        try {
+            upToId = longOf(payload.get("upToId"));
+        } catch (NumberFormatException e) {
+            upToId = null;
+        }
+        if (upToId == null) return ResponseEntity.badRequest().body("upToId is required");
+        try {
+            return ResponseEntity.ok(Map.of("unread", chatService.markRead(user.getId(), id, upToId)));
+        } catch (ChatService.NotParticipantException e) {
+            return ResponseEntity.status(404).body(e.getMessage());
+        }
+    }
+
+    private Long longOf(Object value) {
+        return value != null ? Long.valueOf(String.valueOf(value)) : null;
+    }
+}
@@ -0,0 +1,92 @@
+package fsa.training.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fsa.training.entity.User;
+import fsa.training.service.ChatService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.Map;
+
+/**
+ * Chat socket at /ws/chat. Browsers cannot set headers on a WebSocket, so the token is passed as
+ * ?access_token=. Frames are JSON:
+ *
+ *   {"type":"send", "conversationId":1, "content":"...", "clientId":"c-42"}  -> "ack" (or "error") with the same clientId
+ *   {"type":"read", "conversationId":1, "upToId":123}                         -> "read" to the other participant
+ *
+ * Pushed to the client: "ready", "message", "ack", "read", "error" and "resync" (reload history).
+ */
+@Component
+public class ChatSocketHandler extends TextWebSocketHandler {
+
+    @Autowired
+    private ChatService chatService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long userId(WebSocketSession session) {
+        if (session.getPrincipal() instanceof Authentication auth && auth.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        Long userId = userId(session);
+        if (userId == null) {
+            session.close(CloseStatus.POLICY_VIOLATION.withReason("Unauthorized"));
+            return;
+        }
+        chatService.connect(userId, session);
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        Map<?, ?> frame;
+        try {
+            frame = objectMapper.readValue(message.getPayload(), Map.class);
+        } catch (JsonProcessingException e) {
+            chatService.error(session, null, "Invalid frame");
+            return;
+        }
+        String clientId = frame.get("clientId") != null ? String.valueOf(frame.get("clientId")) : null;
+        Long conversationId = frame.get("conversationId") instanceof Number n ? n.longValue() : null;
+        if (conversationId == null) {
+            chatService.error(session, clientId, "conversationId is required");
+            return;
+        }
+
+        String type = String.valueOf(frame.get("type"));
+        if ("send".equals(type)) {
+            Object content = frame.get("content");
+            chatService.send(session, conversationId, content != null ? content.toString() : null, clientId);
+        } else if ("read".equals(type) && frame.get("upToId") instanceof Number upToId) {
+            try {
+                chatService.markRead(userId(session), conversationId, upToId.longValue());
+            } catch (ChatService.NotParticipantException e) {
+                chatService.error(session, clientId, e.getMessage());
+            }
+        } else {
+            chatService.error(session, clientId, "Unknown frame type " + type);
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        chatService.disconnect(session);
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        chatService.disconnect(session);
+    }
+}
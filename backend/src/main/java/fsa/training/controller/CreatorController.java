@@ -7,9 +7,8 @@ import fsa.training.entity.Campaign;
 import fsa.training.entity.CampaignApplication;
 import fsa.training.entity.CampaignApplication;
 import fsa.training.entity.Job;
-import fsa.training.entity.Milestone;
 import fsa.training.entity.User;
-import fsa.training.dao.JobDao;
+import fsa.training.service.JobTemplateService;
 import java.time.LocalDateTime;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -37,7 +36,13 @@ public class CreatorController {
     private CampaignApplicationDao campaignApplicationDao;
 
     @Autowired
-    private JobDao jobDao;
+    private JobTemplateService jobTemplateService;
+
+    @Autowired
+    private fsa.training.service.CreatorDashboardService creatorDashboardService;
+
+    @Autowired
+    private fsa.training.service.JobLifecycleService jobLifecycleService;
 
     private User getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -61,12 +66,9 @@ public class CreatorController {
             return ResponseEntity.status(401).body("Unauthorized");
         }
 
-        // Return dashboard stats
-        List<Campaign> campaigns = campaignDao.findByCreator(currentUser);
-        Map<String, Object> response = new HashMap<>();
+        // Counts and the newest campaigns come from aggregate queries run concurrently by the dashboard service
+        Map<String, Object> response = new HashMap<>(creatorDashboardService.build(currentUser.getId()));
         response.put("currentUser", currentUser);
-        response.put("campaignCount", campaigns.size());
-        response.put("recentCampaigns", campaigns.stream().limit(5).toList());
 
         return ResponseEntity.ok(response);
     }
@@ -137,9 +139,6 @@ public class CreatorController {
             return ResponseEntity.status(403).body("Bạn không có quyền phê duyệt!");
         }
 
-        application.setStatus("APPROVED");
-        campaignApplicationDao.save(application);
-
         // Create Job
         Job job = new Job();
         job.setCampaign(campaign);
@@ -148,33 +147,10 @@ public class CreatorController {
         job.setStatus("IN_PROGRESS");
         job.setDescription("Hợp đồng hợp tác cho chiến dịch: " + campaign.getTitle());
 
-        // Default Milestones
-        Milestone m1 = new Milestone();
-        m1.setJob(job);
-        m1.setTitle("Lên kế hoạch nội dung");
-        m1.setDescription("Gửi kịch bản hoặc kế hoạch chi tiết.");
-        m1.setDeadline(LocalDateTime.now().plusDays(3));
-        m1.setStatus("PENDING");
-
-        Milestone m2 = new Milestone();
-        m2.setJob(job);
-        m2.setTitle("Bản nháp (Draft)");
-        m2.setDescription("Gửi video/bài viết nháp để duyệt.");
-        m2.setDeadline(LocalDateTime.now().plusDays(7));
-        m2.setStatus("PENDING");
-
-        Milestone m3 = new Milestone();
-        m3.setJob(job);
-        m3.setTitle("Đăng bài hoàn thiện");
-        m3.setDescription("Đăng bài lên mạng xã hội và gửi link báo cáo.");
-        m3.setDeadline(LocalDateTime.now().plusDays(10));
-        m3.setStatus("PENDING");
-
-        job.getMilestones().add(m1);
-        job.getMilestones().add(m2);
-        job.getMilestones().add(m3);
-
-        jobDao.save(job);
+        // Milestones from the creator's default template, or the standard content plan; the approval,
+        // the job and its milestones commit together
+        jobLifecycleService.approve(application, job,
+                jobTemplateService.resolve(currentUser.getId(), null, JobTemplateService.CONTENT_PLAN));
 
         return ResponseEntity.ok("Đã phê duyệt ứng viên thành công!");
     }
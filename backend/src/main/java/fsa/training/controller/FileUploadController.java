@@ -1,35 +1,69 @@
 package fsa.training.controller;
 
-import fsa.training.service.CloudinaryService;
+import fsa.training.service.MediaService;
+import fsa.training.service.UploadLimits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api/upload")
 public class FileUploadController {
 
+    private static final Logger logger = LoggerFactory.getLogger(FileUploadController.class);
+
     @Autowired
-    private CloudinaryService cloudinaryService;
+    private MediaService mediaService;
+
+    @org.springframework.beans.factory.annotation.Value("${app.upload.batch.max-files:20}")
+    private int maxBatchFiles;
 
     @PostMapping
     public ResponseEntity<Map<String, String>> uploadFile(@RequestParam("file") MultipartFile file) {
         try {
-            System.out.println("Uploading file: " + file.getOriginalFilename());
-            String url = cloudinaryService.uploadFile(file);
-            System.out.println("Upload success: " + url);
+            logger.debug("Uploading file {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+            String url = mediaService.upload(file);
+            logger.debug("Upload success: {}", url);
             Map<String, String> response = new HashMap<>();
             response.put("url", url);
             return ResponseEntity.ok(response);
+        } catch (UploadLimits.FileTooLargeException e) {
+            return ResponseEntity.status(413).body(Map.of("error", e.getMessage()));
+        } catch (fsa.training.service.ExternalCallGuard.CallNotPermittedException e) {
+            // Storage is degraded; fail fast so the client can retry later
+            return ResponseEntity.status(503).header("Retry-After", "30").body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
-            System.err.println("UPLOAD ERROR: " + e.getMessage());
-            e.printStackTrace();
+            logger.error("Upload of {} failed", file.getOriginalFilename(), e);
             return ResponseEntity.internalServerError().body(null);
         }
     }
+
+    /**
+     * Uploads several files in one request ("files" parts). Always answers with one result per
+     * file ({index, filename, status, url, error}); callers retry only the failed ones.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> uploadFiles(@RequestParam("files") List<MultipartFile> files) {
+        if (files.isEmpty()) {
+            return ResponseEntity.badRequest().body("No files");
+        }
+        if (files.size() > maxBatchFiles) {
+            return ResponseEntity.badRequest().body("At most " + maxBatchFiles + " files per request");
+        }
+
+        List<MediaService.UploadResult> results = mediaService.uploadAll(files);
+        long failed = results.stream().filter(r -> r.status != 200).count();
+        Map<String, Object> response = new HashMap<>();
+        response.put("results", results);
+        response.put("succeeded", results.size() - failed);
+        response.put("failed", failed);
+        return ResponseEntity.ok(response);
+    }
 }
@@ -28,22 +28,28 @@ public class JobController {
     private MilestoneDao milestoneDao;
 
     @Autowired
-    private fsa.training.dao.MilestoneHistoryDao milestoneHistoryDao;
+    private UserDao userDao;
 
     @Autowired
-    private UserDao userDao;
+    private fsa.training.service.JobLifecycleService jobLifecycleService;
+
+    @Autowired
+    private fsa.training.service.JobCardService jobCardService;
 
     @Autowired
-    private fsa.training.dao.WalletDao walletDao;
+    private fsa.training.service.JobWorkspaceService jobWorkspaceService;
 
     @Autowired
-    private fsa.training.dao.TransactionDao transactionDao;
+    private fsa.training.service.MilestoneWorkflowService milestoneWorkflowService;
 
     @Autowired
-    private fsa.training.dao.CampaignDao campaignDao;
+    private fsa.training.service.NotificationService notificationService;
 
     @Autowired
-    private fsa.training.dao.ApplicationDao applicationDao;
+    private fsa.training.service.ReviewService reviewService;
+
+    @Autowired
+    private fsa.training.service.ProfileService profileService;
 
     private User getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -82,6 +88,32 @@ public class JobController {
         return ResponseEntity.ok(job);
     }
 
+    @GetMapping("/{id}/workspace")
+    public ResponseEntity<?> getWorkspace(@PathVariable Long id) {
+        User currentUser = getCurrentUser();
+        if (currentUser == null) return ResponseEntity.status(401).body("Unauthorized");
+
+        Optional<fsa.training.dao.JobDao.WorkspaceHeader> headerOpt = jobWorkspaceService.findHeader(id);
+        if (headerOpt.isEmpty()) return ResponseEntity.notFound().build();
+
+        fsa.training.dao.JobDao.WorkspaceHeader header = headerOpt.get();
+
+        // Check permission: Creator, Influencer, or Admin
+        boolean isCreator = header.getCreatorId().equals(currentUser.getId());
+        boolean isInfluencer = header.getInfluencerId().equals(currentUser.getId());
+        boolean isAdmin = currentUser.getRole() != null && currentUser.getRole().getName().equals("ADMIN");
+
+        if (!isCreator && !isInfluencer && !isAdmin) {
+            return ResponseEntity.status(403).body("Access denied");
+        }
+
+        return ResponseEntity.ok(jobWorkspaceService.assemble(header));
+    }
+
+    /**
+     * Full job entities, kept for older clients; the dashboards page through /cards. Admins get the
+     * newest JobCardService.MAX_PAGE_SIZE jobs instead of the whole table.
+     */
     @GetMapping("/my-jobs")
     public ResponseEntity<?> getMyJobs() {
         User currentUser = getCurrentUser();
@@ -93,7 +125,8 @@ public class JobController {
         } else if (currentUser.getRole().getName().equals("CREATOR")) {
             jobs = jobDao.findByCampaign_Creator(currentUser);
         } else if (currentUser.getRole().getName().equals("ADMIN")) {
-            jobs = jobDao.findAll();
+            jobs = jobDao.findAll(org.springframework.data.domain.PageRequest.of(0, fsa.training.service.JobCardService.MAX_PAGE_SIZE,
+                    org.springframework.data.domain.Sort.by(org.springframework.data.domain.Sort.Direction.DESC, "id"))).getContent();
         } else {
             jobs = java.util.Collections.emptyList();
         }
@@ -101,6 +134,23 @@ public class JobController {
         return ResponseEntity.ok(jobs);
     }
 
+    @GetMapping("/cards")
+    public ResponseEntity<?> getMyJobCards(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        User currentUser = getCurrentUser();
+        if (currentUser == null) return ResponseEntity.status(401).body("Unauthorized");
+
+        fsa.training.service.JobCardService.CardPage page = jobCardService.getCards(currentUser, status, cursor, size);
+
+        Map<String, Object> response = new java.util.HashMap<>();
+        response.put("items", page.items);
+        response.put("nextCursor", page.nextCursor);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/{jobId}/milestone")
     public ResponseEntity<?> createMilestone(@PathVariable Long jobId, @RequestBody Map<String, Object> payload) {
         User currentUser = getCurrentUser();
@@ -155,69 +205,69 @@ public class JobController {
             return ResponseEntity.status(403).body("Only the campaign creator can complete the job");
         }
         
-        // 1. Financial Transaction
-        User creator = currentUser;
-        User influencer = job.getInfluencer();
-        Double amount = job.getPrice() != null ? job.getPrice() : 0.0;
-        
-        if (amount > 0) {
-            fsa.training.entity.Wallet creatorWallet = walletDao.findByUser(creator).orElseThrow(() -> new RuntimeException("Creator wallet not found"));
-            fsa.training.entity.Wallet influencerWallet = walletDao.findByUser(influencer).orElseThrow(() -> new RuntimeException("Influencer wallet not found"));
-            
-            if (creatorWallet.getBalance() < amount) {
-                return ResponseEntity.badRequest().body("Insufficient funds in wallet");
-            }
-            
-            // Transfer
-            creatorWallet.setBalance(creatorWallet.getBalance() - amount);
-            influencerWallet.setBalance(influencerWallet.getBalance() + amount);
-            
-            walletDao.save(creatorWallet);
-            walletDao.save(influencerWallet);
-            
-            // Log Transactions
-            fsa.training.entity.Transaction debit = new fsa.training.entity.Transaction();
-            debit.setWallet(creatorWallet);
-            debit.setAmount(amount);
-            debit.setType("PAYMENT");
-            debit.setStatus("COMPLETED");
-            debit.setDescription("Payment for Job #" + job.getId() + ": " + job.getCampaign().getTitle());
-            transactionDao.save(debit);
-            
-            fsa.training.entity.Transaction credit = new fsa.training.entity.Transaction();
-            credit.setWallet(influencerWallet);
-            credit.setAmount(amount);
-            credit.setType("DEPOSIT");
-            credit.setStatus("COMPLETED");
-            credit.setDescription("Payment received for Job #" + job.getId());
-            transactionDao.save(credit);
+        if ("COMPLETED".equals(job.getStatus())) {
+            return ResponseEntity.badRequest().body("Job is already completed");
         }
 
-        // 2. Update Job Status
-        job.setStatus("COMPLETED");
-        job.setCompletedAt(LocalDateTime.now());
-        jobDao.save(job);
-        
-        // 3. Close Campaign
-        fsa.training.entity.Campaign campaign = job.getCampaign();
-        campaign.setStatus("COMPLETED"); 
-        campaignDao.save(campaign);
-
-        // 4. Update Application Status to COMPLETED
-        // Find the application corresponding to this job (same campaign and influencer)
-        java.util.List<fsa.training.entity.Application> apps = applicationDao.findByReceiver(job.getInfluencer());
-        // Simple filter (better if we had findByCampaignAndReceiver)
-        for(fsa.training.entity.Application app : apps) {
-            if(app.getCampaign().getId().equals(campaign.getId())) {
-                app.setStatus("COMPLETED");
-                applicationDao.save(app);
-                break;
-            }
+        // Release the escrow reserved at acceptance and mark the job completed; closing the campaign and
+        // application and notifying the influencer follow from the JobCompleted event
+        try {
+            job = jobLifecycleService.complete(job);
+        } catch (fsa.training.service.EscrowService.InsufficientFundsException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
         }
-        
+
         return ResponseEntity.ok(job);
     }
 
+    @PostMapping("/{jobId}/cancel")
+    public ResponseEntity<?> cancelJob(@PathVariable Long jobId) {
+        User currentUser = getCurrentUser();
+        if (currentUser == null) return ResponseEntity.status(401).body("Unauthorized");
+
+        Optional<Job> jobOpt = jobDao.findById(jobId);
+        if (jobOpt.isEmpty()) return ResponseEntity.notFound().build();
+        Job job = jobOpt.get();
+
+        // Only Creator can cancel job
+        if (!job.getCampaign().getCreator().getId().equals(currentUser.getId())) {
+            return ResponseEntity.status(403).body("Only the campaign creator can cancel the job");
+        }
+
+        // Returns the escrow reserved at acceptance to the creator's available balance
+        try {
+            job = jobLifecycleService.cancel(job);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
+        }
+
+        notificationService.publish(job.getInfluencer().getId(), fsa.training.service.NotificationService.JOB_CANCELLED,
+                "Công việc đã bị hủy",
+                "Công việc cho chiến dịch \"" + job.getCampaign().getTitle() + "\" đã bị nhà sáng tạo hủy.");
+
+        return ResponseEntity.ok(job);
+    }
+
+    /**
+     * Body: {"rating": 1-5, "comment": "..."}. The creator reviews the influencer and vice versa, once per completed job.
+     */
+    @PostMapping("/{jobId}/review")
+    public ResponseEntity<?> reviewJob(@PathVariable Long jobId, @RequestBody Map<String, Object> payload) {
+        User currentUser = getCurrentUser();
+        if (currentUser == null) return ResponseEntity.status(401).body("Unauthorized");
+
+        Integer rating = payload.get("rating") instanceof Number n ? n.intValue() : null;
+        Object comment = payload.get("comment");
+
+        try {
+            return ResponseEntity.ok(reviewService.post(currentUser, jobId, rating, comment != null ? comment.toString() : null));
+        } catch (fsa.training.service.ReviewService.ReviewException e) {
+            return ResponseEntity.status(e.getStatus()).body(e.getMessage());
+        }
+    }
+
     @PostMapping("/{jobId}/milestone/{milestoneId}/submit")
     public ResponseEntity<?> submitMilestone(@PathVariable Long jobId, @PathVariable Long milestoneId, @RequestBody Map<String, String> payload) {
         User currentUser = getCurrentUser();
@@ -239,18 +289,11 @@ public class JobController {
         
         if (evidenceUrl == null || evidenceUrl.isEmpty()) return ResponseEntity.badRequest().body("Evidence URL is required");
 
-        milestone.setEvidenceUrl(evidenceUrl);
-        milestone.setSubmissionDescription(description);
-        milestone.setStatus("SUBMITTED");
-        milestoneDao.save(milestone);
-
-        // Record History
-        fsa.training.entity.MilestoneHistory history = new fsa.training.entity.MilestoneHistory();
-        history.setMilestone(milestone);
-        history.setAction("SUBMITTED");
-        history.setDescription(description);
-        history.setEvidenceUrl(evidenceUrl);
-        milestoneHistoryDao.save(history);
+        try {
+            milestone = milestoneWorkflowService.submit(milestoneId, evidenceUrl, description);
+        } catch (fsa.training.service.MilestoneWorkflowService.TransitionException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
+        }
 
         return ResponseEntity.ok(milestone);
     }
@@ -278,16 +321,21 @@ public class JobController {
             return ResponseEntity.badRequest().body("Invalid status. Must be APPROVED or REJECTED");
         }
 
-        milestone.setStatus(status);
-        milestone.setCreatorFeedback(feedback);
-        milestoneDao.save(milestone);
-        
-        // Record History
-        fsa.training.entity.MilestoneHistory history = new fsa.training.entity.MilestoneHistory();
-        history.setMilestone(milestone);
-        history.setAction(status); // APPROVED or REJECTED
-        history.setDescription(feedback);
-        milestoneHistoryDao.save(history);
+        try {
+            milestone = milestoneWorkflowService.review(milestoneId, status, feedback);
+        } catch (fsa.training.service.MilestoneWorkflowService.TransitionException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
+        }
+
+        if ("APPROVED".equals(status)) {
+            // Approvals feed the on-time ratio of the public profile
+            profileService.evict(milestone.getJob().getInfluencer().getId());
+        }
+
+        notificationService.publish(milestone.getJob().getInfluencer().getId(), fsa.training.service.NotificationService.MILESTONE_REVIEWED,
+                "APPROVED".equals(status) ? "Mốc công việc được duyệt" : "Mốc công việc bị từ chối",
+                "Mốc \"" + milestone.getTitle() + "\"" + ("APPROVED".equals(status) ? " đã được duyệt." : " bị từ chối.")
+                        + (feedback != null && !feedback.isBlank() ? " Phản hồi: " + feedback : ""));
 
         return ResponseEntity.ok(milestone);
     }
@@ -0,0 +1,104 @@
+package fsa.training.controller;
+
+import fsa.training.dao.JobTemplateDao;
+import fsa.training.dao.UserDao;
+import fsa.training.entity.JobTemplate;
+import fsa.training.entity.User;
+import fsa.training.service.JobTemplateService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/creator/job-templates")
+public class JobTemplateController {
+
+    @Autowired
+    private JobTemplateService jobTemplateService;
+
+    @Autowired
+    private JobTemplateDao jobTemplateDao;
+
+    @Autowired
+    private UserDao userDao;
+
+    private User getCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.isAuthenticated() && !auth.getName().equals("anonymousUser")) {
+            Object principal = auth.getPrincipal();
+            if (principal instanceof User) {
+                User user = (User) principal;
+                return userDao.findById(user.getId()).orElse(user);
+            } else if (principal instanceof UserDetails) {
+                String email = ((UserDetails) principal).getUsername();
+                return userDao.findByEmail(email);
+            }
+        }
+        return null;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> list() {
+        User user = getCurrentUser();
+        if (user == null) return ResponseEntity.status(401).body("Unauthorized");
+        return ResponseEntity.ok(jobTemplateService.findByCreator(user.getId()));
+    }
+
+    @PostMapping
+    public ResponseEntity<?> create(@RequestBody JobTemplate request) {
+        User user = getCurrentUser();
+        if (user == null) return ResponseEntity.status(401).body("Unauthorized");
+
+        request.setId(null);
+        request.setCreator(user);
+        try {
+            return ResponseEntity.ok(jobTemplateService.save(request));
+        } catch (JobTemplateService.InvalidTemplateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<?> update(@PathVariable Long id, @RequestBody JobTemplate request) {
+        User user = getCurrentUser();
+        if (user == null) return ResponseEntity.status(401).body("Unauthorized");
+
+        JobTemplate template = jobTemplateDao.findById(id).orElse(null);
+        if (template == null) return ResponseEntity.notFound().build();
+        if (!template.getCreator().getId().equals(user.getId())) {
+            return ResponseEntity.status(403).body("Access denied");
+        }
+
+        template.setName(request.getName());
+        template.setDefaultTemplate(request.isDefaultTemplate());
+        template.getMilestones().clear();
+        if (request.getMilestones() != null) {
+            template.getMilestones().addAll(request.getMilestones());
+        }
+        try {
+            return ResponseEntity.ok(jobTemplateService.save(template));
+        } catch (JobTemplateService.InvalidTemplateException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<?> delete(@PathVariable Long id) {
+        User user = getCurrentUser();
+        if (user == null) return ResponseEntity.status(401).body("Unauthorized");
+
+        JobTemplate template = jobTemplateDao.findById(id).orElse(null);
+        if (template == null) return ResponseEntity.notFound().build();
+        if (!template.getCreator().getId().equals(user.getId())) {
+            return ResponseEntity.status(403).body("Access denied");
+        }
+
+        jobTemplateService.delete(template);
+        return ResponseEntity.ok(Map.of("status", "success"));
+    }
+}
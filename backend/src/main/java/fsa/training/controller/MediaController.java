@@ -0,0 +1,136 @@
+package fsa.training.controller;
+
+import fsa.training.service.LocalMediaStorage;
+import fsa.training.service.ImageVariantService;
+import fsa.training.service.MediaStorage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Serves media kept by a local storage backend. Blobs are content addressed and never change, so
+ * they are cached forever and the name doubles as ETag. Single byte ranges are supported (video
+ * seeking); the body goes out through Tomcat's sendfile, i.e. FileChannel.transferTo straight to
+ * the socket, or through transferTo on the response stream when sendfile is unavailable.
+ */
+@RestController
+@RequestMapping("/api/media")
+public class MediaController {
+
+    @Autowired
+    private MediaStorage mediaStorage;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    /** Variant URLs (thumbnail, card, full) of an image, e.g. an avatar. */
+    @GetMapping("/variants")
+    public ResponseEntity<?> variants(@RequestParam String url) {
+        return ResponseEntity.ok(imageVariantService.variantsOf(List.of(url)).get(url));
+    }
+
+    @GetMapping("/{name}")
+    public void download(@PathVariable String name, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = mediaStorage.resolve(name);
+        if (file == null) {
+            response.setStatus(404);
+            return;
+        }
+
+        long length = Files.size(file);
+        String etag = "\"" + name + "\"";
+        response.setHeader("ETag", etag);
+        response.setHeader("Accept-Ranges", "bytes");
+        response.setHeader("Cache-Control", "public, max-age=31536000, immutable");
+        if (etag.equals(request.getHeader("If-None-Match"))) {
+            response.setStatus(304);
+            return;
+        }
+
+        long start = 0;
+        long end = length - 1;
+        String range = request.getHeader("Range");
+        String ifRange = request.getHeader("If-Range");
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            long[] parsed = parseRange(range, length);
+            if (parsed == null) {
+                response.setStatus(416);
+                response.setHeader("Content-Range", "bytes */" + length);
+                return;
+            }
+            if (parsed.length == 2) {
+                start = parsed[0];
+                end = parsed[1];
+                response.setStatus(206);
+                response.setHeader("Content-Range", "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentType(LocalMediaStorage.contentTypeOf(name));
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+            request.setAttribute("org.apache.tomcat.sendfile.filename", file.toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", start);
+            request.setAttribute("org.apache.tomcat.sendfile.end", end + 1);
+            return;
+        }
+        try (FileChannel in = FileChannel.open(file);
+             WritableByteChannel out = Channels.newChannel(response.getOutputStream())) {
+            while (count > 0) {
+                long sent = in.transferTo(start, count, out);
+                start += sent;
+                count -= sent;
+            }
+        }
+    }
+
+    /**
+     * Returns {start, end} for a satisfiable single range, an empty array when the header should be
+     * ignored (malformed or multiple ranges: the full body is sent) and null when unsatisfiable.
+     */
+    private long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return new long[0];
+        }
+        String spec = header.substring(6).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return new long[0];
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // Suffix range: the last n bytes
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0 || length == 0) {
+                    return null;
+                }
+                return new long[] { Math.max(0, length - suffix), length - 1 };
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? length - 1 : Math.min(Long.parseLong(last), length - 1);
+            if (start >= length) {
+                return null;
+            }
+            return start <= end ? new long[] { start, end } : new long[0];
+        } catch (NumberFormatException e) {
+            return new long[0];
+        }
+    }
+}
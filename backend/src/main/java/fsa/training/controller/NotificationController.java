@@ -0,0 +1,80 @@
+package fsa.training.controller;
+
+import fsa.training.entity.User;
+import fsa.training.service.NotificationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/notifications")
+public class NotificationController {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    private User getCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getPrincipal() instanceof User) {
+            return (User) auth.getPrincipal();
+        }
+        return null;
+    }
+
+    /**
+     * Server-sent events: "notification" for each new notification (id = notification id),
+     * "resync" when events were dropped for a slow client, and a comment ping as keep-alive.
+     * EventSource cannot send headers, so the token may be passed as ?access_token=.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream() {
+        User user = getCurrentUser();
+        if (user == null) return ResponseEntity.status(401).build();
+        return ResponseEntity.ok()
+                .header("X-Accel-Buffering", "no")
+                .body(notificationService.subscribe(user.getId()));
+    }
+
+    @GetMapping
+    public ResponseEntity<?> list(@RequestParam(required = false) Long cursor,
+                                  @RequestParam(defaultValue = "20") int size) {
+        User user = getCurrentUser();
+        if (user == null) return ResponseEntity.status(401).body("Unauthorized");
+        NotificationService.NotificationPage page = notificationService.list(user.getId(), cursor, size);
+        Map<String, Object> response = new HashMap<>();
+        response.put("items", page.items);
+        response.put("nextCursor", page.nextCursor);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<?> unreadCount() {
+        User user = getCurrentUser();
+        if (user == null) return ResponseEntity.status(401).body("Unauthorized");
+        return ResponseEntity.ok(Map.of("unread", notificationService.unreadCount(user.getId())));
+    }
+
+    /**
+     * Body: {"upToId": 123} marks that notification and all older ones as read.
+     */
+    @PostMapping("/read")
+    public ResponseEntity<?> markRead(@RequestBody Map<String, Object> payload) {
+        User user = getCurrentUser();
+        if (user == null) return ResponseEntity.status(401).body("Unauthorized");
+        Long upToId;
+        try {
+            upToId = Long.valueOf(String.valueOf(payload.get("upToId")));
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().body("upToId is required");
+        }
+        int updated = notificationService.markReadUpTo(user.getId(), upToId);
+        return ResponseEntity.ok(Map.of("updated", updated, "unread", notificationService.unreadCount(user.getId())));
+    }
+}
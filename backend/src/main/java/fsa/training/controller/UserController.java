@@ -26,6 +26,12 @@ public class UserController {
     @Autowired
     private RoleDao roleDao;
 
+    @Autowired
+    private fsa.training.service.ReviewService reviewService;
+
+    @Autowired
+    private fsa.training.service.ProfileService profileService;
+
     @PostMapping("/role")
     public ResponseEntity<?> updateRole(@RequestBody Map<String, String> payload, Authentication authentication) {
         if (authentication == null) {
@@ -67,6 +73,7 @@ public class UserController {
 
         user.setRole(role);
         userDao.save(user);
+        profileService.evict(user.getId());
 
         return ResponseEntity.ok(user);
     }
@@ -115,19 +122,29 @@ public class UserController {
         }
 
         userDao.save(user);
+        profileService.evict(user.getId());
         return ResponseEntity.ok(user);
     }
 
+    /**
+     * Public profile with portfolio stats. Served from ProfileService's cache; never exposes the User entity.
+     */
     @org.springframework.web.bind.annotation.GetMapping("/{id}/public")
     public ResponseEntity<?> getPublicProfile(@org.springframework.web.bind.annotation.PathVariable Long id) {
-        User user = userDao.findById(id).orElse(null);
-        if (user == null) return ResponseEntity.notFound().build();
-        
-        // Return a DTO or a sanitized view ideally, but for now returning User entity 
-        // implies we should be careful. Since JSON ignore properties (like password) 
-        // might not be set, we trust Jackson config or User entity definition (password is field, hopefully ignored or DTO used).
-        // For rapid dev phase 3, we return User but Frontend should only show public fields.
-        // SECURITY NOTE: In prod, use a DTO.
-        return ResponseEntity.ok(user);
+        fsa.training.dto.PublicProfile profile = profileService.get(id);
+        if (profile == null) return ResponseEntity.notFound().build();
+        return ResponseEntity.ok(profile);
+    }
+
+    @org.springframework.web.bind.annotation.GetMapping("/{id}/reviews")
+    public ResponseEntity<?> getReviews(@org.springframework.web.bind.annotation.PathVariable Long id,
+                                        @org.springframework.web.bind.annotation.RequestParam(required = false) Long cursor,
+                                        @org.springframework.web.bind.annotation.RequestParam(defaultValue = "10") int size) {
+        fsa.training.service.ReviewService.ReviewPage page = reviewService.received(id, cursor, size);
+
+        Map<String, Object> response = new java.util.HashMap<>();
+        response.put("items", page.items);
+        response.put("nextCursor", page.nextCursor);
+        return ResponseEntity.ok(response);
     }
 }
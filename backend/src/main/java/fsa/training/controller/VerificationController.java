@@ -25,7 +25,10 @@ public class VerificationController {
     private UserDao userDao;
     
     @Autowired
-    private fsa.training.service.AIService aiService;
+    private fsa.training.service.VerificationWorker verificationWorker;
+
+    @Autowired
+    private fsa.training.service.VerificationQueueService verificationQueueService;
 
     private User getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -48,7 +51,7 @@ public class VerificationController {
         if (user == null) return ResponseEntity.status(401).body("Unauthorized");
 
         // Check if pending exists
-        if (verificationDao.findByUserAndStatus(user, "PENDING").isPresent()) {
+        if (verificationDao.existsByUserAndStatusIn(user, List.of("PENDING", fsa.training.service.VerificationWorker.PENDING_AI))) {
             return ResponseEntity.badRequest().body("You already have a pending verification request.");
         }
 
@@ -56,29 +59,19 @@ public class VerificationController {
         req.setUser(user);
         req.setDocumentType(payload.get("documentType"));
         req.setDocumentUrl(payload.get("documentUrl"));
+        req.setPriorityKey(verificationQueueService.priorityKey(req.getDocumentType(), null, req.getCreatedAt()));
         
         // AI AUTO-VERIFICATION LOGIC
-        // Only apply for ID_CARD (CCCD) as Business License AI is harder to verify
+        // Only apply for ID_CARD (CCCD) as Business License AI is harder to verify.
+        // The check runs in the background; the client polls /my-status and gets a notification.
         if ("ID_CARD".equals(payload.get("documentType"))) {
-            fsa.training.service.AIService.AIResult aiResult = aiService.validateIdCard(payload.get("documentUrl"));
-            
-            if (aiResult.isValid && aiResult.confidence > 0.9) {
-                // Auto Approve
-                req.setStatus("APPROVED");
-                req.setAdminNote("AUTO-APPROVED BY AI SYSTEM. Confidence: " + (aiResult.confidence * 100) + "%");
-                
-                // Update User immediately
-                user.setVerified(true);
-                userDao.save(user);
-            } else {
-                // Flag for manual review
-                req.setStatus("PENDING");
-                req.setAdminNote("AI Analysis: " + aiResult.message + " (" + (aiResult.confidence * 100) + "%)");
-            }
-        } else {
-             req.setStatus("PENDING");
+            req.setStatus(fsa.training.service.VerificationWorker.PENDING_AI);
+            req = verificationDao.save(req);
+            verificationWorker.enqueue(req.getId());
+            return ResponseEntity.accepted().body(req);
         }
-        
+
+        req.setStatus("PENDING");
         verificationDao.save(req);
         return ResponseEntity.ok(req);
     }
@@ -98,7 +91,8 @@ public class VerificationController {
         if (user == null || !user.getRole().getName().equals("ADMIN")) {
             return ResponseEntity.status(403).body("Access Denied");
         }
-        return ResponseEntity.ok(verificationDao.findByStatus("PENDING"));
+        // First page of the review queue; the full queue is paged at /api/admin/verifications/queue
+        return ResponseEntity.ok(verificationDao.findTop100ByStatusOrderByPriorityKeyDescIdDesc("PENDING"));
     }
 
     @PostMapping("/{id}/approve")
@@ -111,13 +105,8 @@ public class VerificationController {
         VerificationRequest req = verificationDao.findById(id).orElse(null);
         if (req == null) return ResponseEntity.notFound().build();
 
-        req.setStatus("APPROVED");
-        verificationDao.save(req);
-
-        // Update User
-        User user = req.getUser();
-        user.setVerified(true);
-        userDao.save(user);
+        // The user is verified and notified by the VerificationApproved handler
+        verificationQueueService.approve(req);
 
         return ResponseEntity.ok("Approved");
     }
@@ -6,6 +6,8 @@ import fsa.training.dao.WalletDao;
 import fsa.training.entity.Transaction;
 import fsa.training.entity.User;
 import fsa.training.entity.Wallet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -13,7 +15,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +24,8 @@ import java.util.Optional;
 @RequestMapping("/api/wallet")
 public class WalletController {
 
+    private static final Logger logger = LoggerFactory.getLogger(WalletController.class);
+
     @Autowired
     private WalletDao walletDao;
 
@@ -32,6 +35,9 @@ public class WalletController {
     @Autowired
     private UserDao userDao;
 
+    @Autowired
+    private fsa.training.service.WalletService walletService;
+
     private User getCurrentUser() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth != null && auth.isAuthenticated() && !auth.getName().equals("anonymousUser")) {
@@ -70,6 +76,7 @@ public class WalletController {
 
         Map<String, Object> response = new HashMap<>();
         response.put("balance", wallet.getBalance());
+        response.put("heldBalance", wallet.getHeldBalance());
         response.put("transactions", recentTransactions);
 
         return ResponseEntity.ok(response);
@@ -82,34 +89,30 @@ public class WalletController {
             return ResponseEntity.status(401).body("Unauthorized");
         }
 
+        Object rawAmount = payload.get("amount");
+        if (rawAmount == null) {
+            return ResponseEntity.badRequest().body("Amount is required");
+        }
+
+        // Only bad input is answered 400. Idempotency-Key retries replay a 4xx, so anything a retry
+        // could get past (a concurrent wallet write, a database error) must be a 409 / 5xx instead.
         try {
-            Double amount = Double.valueOf(payload.get("amount").toString());
+            Double amount = Double.valueOf(rawAmount.toString());
             if (amount <= 0) {
                 return ResponseEntity.badRequest().body("Amount must be positive");
             }
             // Add other mock payment fields if necessary
 
-            Wallet wallet = getOrCreateWallet(user);
-            
-            // Update Balance
-            wallet.setBalance(wallet.getBalance() + amount);
-            walletDao.save(wallet);
-
-            // Create Transaction Record
-            Transaction tx = new Transaction();
-            tx.setWallet(wallet);
-            tx.setAmount(amount);
-            tx.setType("DEPOSIT");
-            tx.setStatus("COMPLETED");
-            tx.setDescription("Deposit via Simulated Gateway");
-            transactionDao.save(tx);
-
-            return ResponseEntity.ok(wallet);
+            // Balance update and ledger row commit together
+            return ResponseEntity.ok(walletService.deposit(user, amount));
 
         } catch (NumberFormatException e) {
             return ResponseEntity.badRequest().body("Invalid amount format");
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body("Deposit failed: " + e.getMessage());
+        } catch (org.springframework.dao.OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body("Wallet was modified concurrently, please retry");
+        } catch (RuntimeException e) {
+            logger.error("Deposit failed for user {}", user.getId(), e);
+            return ResponseEntity.status(500).body("Deposit failed, please retry");
         }
     }
 
@@ -120,37 +123,30 @@ public class WalletController {
             return ResponseEntity.status(401).body("Unauthorized");
         }
 
+        Object rawAmount = payload.get("amount");
+        if (rawAmount == null) {
+            return ResponseEntity.badRequest().body("Amount is required");
+        }
+
+        // As for deposits, only bad input and insufficient funds are a 400
         try {
-            Double amount = Double.valueOf(payload.get("amount").toString());
+            Double amount = Double.valueOf(rawAmount.toString());
             if (amount <= 0) {
                 return ResponseEntity.badRequest().body("Amount must be positive");
             }
 
-            Wallet wallet = getOrCreateWallet(user);
-            
-            if (wallet.getBalance() < amount) {
-                return ResponseEntity.badRequest().body("Insufficient funds");
-            }
-
-            // Update Balance
-            wallet.setBalance(wallet.getBalance() - amount);
-            walletDao.save(wallet);
-
-            // Create Transaction Record
-            Transaction tx = new Transaction();
-            tx.setWallet(wallet);
-            tx.setAmount(amount);
-            tx.setType("WITHDRAWAL");
-            tx.setStatus("PENDING"); // Simulate manual processing or instant
-            tx.setDescription("Withdrawal Request");
-            transactionDao.save(tx);
-
-            return ResponseEntity.ok(wallet);
+            // The debit only applies while the available balance covers it
+            return ResponseEntity.ok(walletService.withdraw(user, amount));
 
         } catch (NumberFormatException e) {
             return ResponseEntity.badRequest().body("Invalid amount format");
-        } catch (Exception e) {
-            return ResponseEntity.badRequest().body("Withdrawal failed: " + e.getMessage());
+        } catch (fsa.training.service.EscrowService.InsufficientFundsException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (org.springframework.dao.OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).body("Wallet was modified concurrently, please retry");
+        } catch (RuntimeException e) {
+            logger.error("Withdrawal failed for user {}", user.getId(), e);
+            return ResponseEntity.status(500).body("Withdrawal failed, please retry");
         }
     }
 }
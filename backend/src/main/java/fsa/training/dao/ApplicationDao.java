@@ -15,4 +15,14 @@ public interface ApplicationDao extends JpaRepository<Application, Long>, JpaSpe
     List<Application> findByCampaign_Creator(User creator);
     List<Application> findByStatus(String status);
     Optional<Application> findByCampaignAndReceiver(Campaign campaign, User receiver);
+
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("UPDATE Application a SET a.status = :status " +
+            "WHERE a.campaign.id = :campaignId AND a.receiver.id = :receiverId")
+    int updateStatusByCampaignAndReceiver(@org.springframework.data.repository.query.Param("campaignId") Long campaignId,
+                                          @org.springframework.data.repository.query.Param("receiverId") Long receiverId,
+                                          @org.springframework.data.repository.query.Param("status") String status);
+
+    long countByCampaign_Creator_IdAndStatus(Long creatorId, String status);
 }
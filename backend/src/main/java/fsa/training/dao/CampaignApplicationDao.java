@@ -13,4 +13,6 @@ public interface CampaignApplicationDao extends JpaRepository<CampaignApplicatio
     List<CampaignApplication> findByCampaign(Campaign campaign);
     List<CampaignApplication> findByReceiver(User receiver);
     boolean existsByCampaignAndReceiver(Campaign campaign, User receiver);
+
+    long countByCampaign_Creator_IdAndStatus(Long creatorId, String status);
 }
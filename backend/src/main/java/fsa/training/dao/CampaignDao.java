@@ -3,8 +3,11 @@ package fsa.training.dao;
 import fsa.training.entity.Campaign;
 import fsa.training.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
@@ -13,4 +16,46 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 public interface CampaignDao extends JpaRepository<Campaign, Long>, JpaSpecificationExecutor<Campaign> {
     List<Campaign> findByCreator(User creator);
     List<Campaign> findByStatus(String status);
+
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Modifying
+    @Query("UPDATE Campaign c SET c.status = :status WHERE c.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") String status);
+
+    interface ImageRow {
+        Long getCampaignId();
+        String getImageUrl();
+    }
+
+    // One cover per campaign. campaign_images has no order column, so the lowest URL is taken to keep it stable
+    @Query("SELECT c.id AS campaignId, MIN(i) AS imageUrl FROM Campaign c JOIN c.images i WHERE c.id IN :ids GROUP BY c.id")
+    List<ImageRow> findCoverImagesByCampaignIds(@Param("ids") Collection<Long> ids);
+
+    // Newest campaigns of a creator, shaped like JobDao.RecentCampaign
+    @Query("SELECT c.id AS campaignId, c.title AS title, c.status AS status FROM Campaign c " +
+           "WHERE c.creator.id = :creatorId ORDER BY c.id DESC")
+    List<JobDao.RecentCampaign> findRecentByCreator(@Param("creatorId") Long creatorId, org.springframework.data.domain.Pageable pageable);
+
+    long countByCreator_Id(Long creatorId);
+
+    interface StatusCount {
+        String getStatus();
+        Long getTotal();
+    }
+
+    @Query("SELECT c.status AS status, COUNT(c) AS total FROM Campaign c WHERE c.creator.id = :creatorId GROUP BY c.status")
+    List<StatusCount> countByStatusForCreator(@Param("creatorId") Long creatorId);
+
+    interface CampaignSummary {
+        Long getId();
+        String getTitle();
+        String getStatus();
+        java.time.LocalDate getDeadline();
+        Integer getApplicantCount();
+    }
+
+    // Scalar projection: no images/videos/tags/platforms collections are loaded
+    @Query("SELECT c.id AS id, c.title AS title, c.status AS status, c.deadline AS deadline, c.applicantCount AS applicantCount " +
+           "FROM Campaign c WHERE c.creator.id = :creatorId ORDER BY c.id DESC")
+    List<CampaignSummary> findSummariesByCreator(@Param("creatorId") Long creatorId, org.springframework.data.domain.Pageable pageable);
 }
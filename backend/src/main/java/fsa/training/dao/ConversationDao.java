@@ -0,0 +1,41 @@
+package fsa.training.dao;
+
+import fsa.training.entity.Conversation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ConversationDao extends JpaRepository<Conversation, Long> {
+
+    Optional<Conversation> findByCampaign_IdAndInfluencer_Id(Long campaignId, Long influencerId);
+
+    interface Row {
+        Long getId();
+        Long getCampaignId();
+        String getCampaignTitle();
+        Long getCreatorId();
+        String getCreatorName();
+        Long getInfluencerId();
+        String getInfluencerName();
+        Long getCreatorReadId();
+        Long getInfluencerReadId();
+    }
+
+    String ROW = "SELECT c.id AS id, c.campaign.id AS campaignId, c.campaign.title AS campaignTitle, " +
+                 "c.creator.id AS creatorId, c.creator.name AS creatorName, " +
+                 "c.influencer.id AS influencerId, c.influencer.name AS influencerName, " +
+                 "c.creatorReadId AS creatorReadId, c.influencerReadId AS influencerReadId FROM Conversation c ";
+
+    @Query(ROW + "WHERE c.id IN :ids")
+    List<Row> findRows(@Param("ids") Collection<Long> ids);
+
+    @Query(ROW + "WHERE c.creator.id = :userId OR c.influencer.id = :userId ORDER BY c.id DESC")
+    List<Row> findRowsForUser(@Param("userId") Long userId, Pageable pageable);
+}
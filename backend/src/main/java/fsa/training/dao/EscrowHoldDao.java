@@ -0,0 +1,25 @@
+package fsa.training.dao;
+
+import fsa.training.entity.EscrowHold;
+import fsa.training.entity.Job;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface EscrowHoldDao extends JpaRepository<EscrowHold, Long> {
+    Optional<EscrowHold> findByJobAndStatus(Job job, String status);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE EscrowHold h SET h.status = 'RELEASED', h.settledAt = :now WHERE h.id = :id AND h.status = 'HELD'")
+    int release(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE EscrowHold h SET h.status = 'REFUNDED', h.settledAt = :now WHERE h.id = :id AND h.status = 'HELD'")
+    int refund(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,13 @@
+package fsa.training.dao;
+
+import fsa.training.entity.ImageVariant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ImageVariantDao extends JpaRepository<ImageVariant, Long> {
+    List<ImageVariant> findBySourceKeyIn(Collection<String> sourceKeys);
+}
@@ -1,14 +1,104 @@
 package fsa.training.dao;
 
+import fsa.training.dto.JobCard;
 import fsa.training.entity.Campaign;
 import fsa.training.entity.Job;
 import fsa.training.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface JobDao extends JpaRepository<Job, Long> {
     List<Job> findByInfluencer(User influencer);
     List<Job> findByCampaign(Campaign campaign);
-    boolean existsByCampaignAndInfluencer(Campaign campaign, User influencer);
+    boolean existsByCampaignAndInfluencerAndStatusNot(Campaign campaign, User influencer, String status);
+    List<Job> findByCampaignAndInfluencerAndStatus(Campaign campaign, User influencer, String status);
     List<Job> findByCampaign_Creator(User creator);
+
+    // Conditional status claims: the caller that gets 1 owns the transition and settles or refunds the escrow
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE jobs SET status = 'COMPLETED', completed_at = :now " +
+                   "WHERE id = :id AND status NOT IN ('COMPLETED', 'CANCELLED')", nativeQuery = true)
+    int claimCompletion(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE jobs SET status = 'CANCELLED' " +
+                   "WHERE id = :id AND status NOT IN ('COMPLETED', 'CANCELLED')", nativeQuery = true)
+    int claimCancellation(@Param("id") Long id);
+
+    // Keyset page of job cards, newest first. Null filters are ignored; cursor is the last id of the previous page.
+    @Query("SELECT new fsa.training.dto.JobCard(j.id, j.status, j.price, j.createdAt, j.completedAt, " +
+           "c.id, c.title, c.deadline, cr.id, cr.name, inf.id, inf.name, inf.avatarUrl) " +
+           "FROM Job j JOIN j.campaign c JOIN c.creator cr JOIN j.influencer inf " +
+           "WHERE (:influencerId IS NULL OR inf.id = :influencerId) " +
+           "AND (:creatorId IS NULL OR cr.id = :creatorId) " +
+           "AND (:status IS NULL OR j.status = :status) " +
+           "AND (:cursor IS NULL OR j.id < :cursor) " +
+           "ORDER BY j.id DESC")
+    List<JobCard> findCards(@Param("influencerId") Long influencerId,
+                            @Param("creatorId") Long creatorId,
+                            @Param("status") String status,
+                            @Param("cursor") Long cursor,
+                            Pageable pageable);
+
+    interface WorkspaceHeader {
+        Long getId();
+        String getStatus();
+        Double getPrice();
+        String getDescription();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getCompletedAt();
+        Long getCampaignId();
+        String getCampaignTitle();
+        String getCampaignDescription();
+        LocalDate getCampaignDeadline();
+        Long getCreatorId();
+        String getCreatorName();
+        String getCreatorAvatarUrl();
+        Long getInfluencerId();
+        String getInfluencerName();
+        String getInfluencerAvatarUrl();
+    }
+
+    // Scalar projection: loading Job entities would cascade EAGER Campaign/User/socialLinks selects
+    @Query("SELECT j.id AS id, j.status AS status, j.price AS price, j.description AS description, " +
+           "j.createdAt AS createdAt, j.completedAt AS completedAt, " +
+           "c.id AS campaignId, c.title AS campaignTitle, c.description AS campaignDescription, c.deadline AS campaignDeadline, " +
+           "cr.id AS creatorId, cr.name AS creatorName, cr.avatarUrl AS creatorAvatarUrl, " +
+           "inf.id AS influencerId, inf.name AS influencerName, inf.avatarUrl AS influencerAvatarUrl " +
+           "FROM Job j JOIN j.campaign c JOIN c.creator cr JOIN j.influencer inf WHERE j.id = :id")
+    Optional<WorkspaceHeader> findWorkspaceHeader(@Param("id") Long id);
+
+    interface CompletedStats {
+        Long getCompleted();
+        Double getTotal();
+    }
+
+    @Query("SELECT COUNT(j) AS completed, COALESCE(SUM(j.price), 0) AS total FROM Job j " +
+           "WHERE j.influencer.id = :userId AND j.status = 'COMPLETED'")
+    CompletedStats completedStatsForInfluencer(@Param("userId") Long userId);
+
+    @Query("SELECT COUNT(j) AS completed, COALESCE(SUM(j.price), 0) AS total FROM Job j " +
+           "WHERE j.campaign.creator.id = :userId AND j.status = 'COMPLETED'")
+    CompletedStats completedStatsForCreator(@Param("userId") Long userId);
+
+    interface RecentCampaign {
+        Long getCampaignId();
+        String getTitle();
+        String getStatus();
+    }
+
+    // Campaigns the influencer most recently got a job for, newest job first
+    @Query("SELECT c.id AS campaignId, c.title AS title, j.status AS status FROM Job j JOIN j.campaign c " +
+           "WHERE j.influencer.id = :userId ORDER BY j.id DESC")
+    List<RecentCampaign> findRecentCampaignsForInfluencer(@Param("userId") Long userId, Pageable pageable);
+
+    long countByCampaign_Creator_IdAndStatus(Long creatorId, String status);
 }
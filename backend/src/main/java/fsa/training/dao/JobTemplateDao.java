@@ -0,0 +1,19 @@
+package fsa.training.dao;
+
+import fsa.training.entity.JobTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface JobTemplateDao extends JpaRepository<JobTemplate, Long> {
+    List<JobTemplate> findByCreator_IdOrderByIdAsc(Long creatorId);
+
+    @Modifying
+    @Query("UPDATE JobTemplate t SET t.defaultTemplate = false WHERE t.creator.id = :creatorId AND t.id <> :keepId")
+    int clearOtherDefaults(@Param("creatorId") Long creatorId, @Param("keepId") Long keepId);
+}
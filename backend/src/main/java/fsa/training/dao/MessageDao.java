@@ -0,0 +1,42 @@
+package fsa.training.dao;
+
+import fsa.training.dto.ChatMessage;
+import fsa.training.entity.Message;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface MessageDao extends JpaRepository<Message, Long> {
+
+    // Newest first, keyset on id (index conversation_id, id)
+    @Query("SELECT new fsa.training.dto.ChatMessage(m.id, m.conversationId, m.senderId, m.content, m.createdAt) " +
+           "FROM Message m WHERE m.conversationId = :conversationId AND (:beforeId IS NULL OR m.id < :beforeId) ORDER BY m.id DESC")
+    List<ChatMessage> findPage(@Param("conversationId") Long conversationId, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    // Newest message of each conversation
+    @Query("SELECT new fsa.training.dto.ChatMessage(m.id, m.conversationId, m.senderId, m.content, m.createdAt) " +
+           "FROM Message m WHERE m.id IN (SELECT MAX(m2.id) FROM Message m2 WHERE m2.conversationId IN :ids GROUP BY m2.conversationId)")
+    List<ChatMessage> findLatest(@Param("ids") Collection<Long> ids);
+
+    interface UnreadRow {
+        Long getConversationId();
+        Long getSenderId();
+        Long getUnread();
+    }
+
+    // Per conversation and sender: messages newer than the other participant's read cursor
+    @Query("SELECT m.conversationId AS conversationId, m.senderId AS senderId, COUNT(m) AS unread " +
+           "FROM Message m JOIN Conversation c ON c.id = m.conversationId WHERE c.id IN :ids AND m.id > " +
+           "CASE WHEN m.senderId = c.creator.id THEN COALESCE(c.influencerReadId, 0) ELSE COALESCE(c.creatorReadId, 0) END " +
+           "GROUP BY m.conversationId, m.senderId")
+    List<UnreadRow> countUnread(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT COUNT(m) FROM Message m WHERE m.conversationId = :conversationId AND m.senderId <> :readerId AND m.id > :afterId")
+    long countUnreadAfter(@Param("conversationId") Long conversationId, @Param("readerId") Long readerId, @Param("afterId") Long afterId);
+}
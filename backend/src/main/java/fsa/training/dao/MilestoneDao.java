@@ -3,8 +3,73 @@ package fsa.training.dao;
 import fsa.training.entity.Job;
 import fsa.training.entity.Milestone;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface MilestoneDao extends JpaRepository<Milestone, Long> {
     List<Milestone> findByJob(Job job);
+
+    // Workflow transitions: only apply if the row is still in the expected status and version
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Milestone m SET m.status = 'SUBMITTED', m.evidenceUrl = :evidenceUrl, " +
+           "m.submissionDescription = :description, m.version = m.version + 1 " +
+           "WHERE m.id = :id AND m.status = :fromStatus AND m.version = :version")
+    int submit(@Param("id") Long id, @Param("fromStatus") String fromStatus, @Param("version") Long version,
+               @Param("evidenceUrl") String evidenceUrl, @Param("description") String description);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Milestone m SET m.status = :toStatus, m.creatorFeedback = :feedback, m.version = m.version + 1 " +
+           "WHERE m.id = :id AND m.status = :fromStatus AND m.version = :version")
+    int review(@Param("id") Long id, @Param("fromStatus") String fromStatus, @Param("version") Long version,
+               @Param("toStatus") String toStatus, @Param("feedback") String feedback);
+
+    interface ProgressRow {
+        Long getJobId();
+        Long getTotal();
+        Long getApproved();
+        Long getSubmitted();
+        LocalDateTime getNextDeadline();
+    }
+
+    // Milestone progress for a page of jobs in one grouped query
+    @Query("SELECT m.job.id AS jobId, COUNT(m) AS total, " +
+           "SUM(CASE WHEN m.status = 'APPROVED' THEN 1 ELSE 0 END) AS approved, " +
+           "SUM(CASE WHEN m.status = 'SUBMITTED' THEN 1 ELSE 0 END) AS submitted, " +
+           "MIN(CASE WHEN m.status <> 'APPROVED' THEN m.deadline END) AS nextDeadline " +
+           "FROM Milestone m WHERE m.job.id IN :jobIds GROUP BY m.job.id")
+    List<ProgressRow> summarizeByJobIds(@Param("jobIds") Collection<Long> jobIds);
+
+    interface MilestoneView {
+        Long getId();
+        String getTitle();
+        String getDescription();
+        LocalDateTime getDeadline();
+        String getStatus();
+        String getEvidenceUrl();
+        String getCreatorFeedback();
+        String getSubmissionDescription();
+    }
+
+    @Query("SELECT m.id AS id, m.title AS title, m.description AS description, m.deadline AS deadline, " +
+           "m.status AS status, m.evidenceUrl AS evidenceUrl, m.creatorFeedback AS creatorFeedback, " +
+           "m.submissionDescription AS submissionDescription " +
+           "FROM Milestone m WHERE m.job.id = :jobId ORDER BY m.id")
+    List<MilestoneView> findViewsByJobId(@Param("jobId") Long jobId);
+
+    interface OnTimeRow {
+        Long getApproved();
+        Long getOnTime();
+    }
+
+    // Approved milestones of the influencer, and how many of them were first submitted by their deadline
+    @Query("SELECT COUNT(m) AS approved, " +
+           "SUM(CASE WHEN m.deadline IS NULL OR (SELECT MIN(h.createdAt) FROM MilestoneHistory h " +
+           "WHERE h.milestone = m AND h.action = 'SUBMITTED') <= m.deadline THEN 1 ELSE 0 END) AS onTime " +
+           "FROM Milestone m WHERE m.job.influencer.id = :influencerId AND m.status = 'APPROVED'")
+    OnTimeRow countOnTime(@Param("influencerId") Long influencerId);
 }
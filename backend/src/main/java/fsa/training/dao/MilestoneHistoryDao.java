@@ -2,11 +2,34 @@ package fsa.training.dao;
 
 import fsa.training.entity.MilestoneHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface MilestoneHistoryDao extends JpaRepository<MilestoneHistory, Long> {
     List<MilestoneHistory> findByMilestone_IdOrderByCreatedAtDesc(Long milestoneId);
+
+    interface HistoryView {
+        Long getId();
+        Long getMilestoneId();
+        String getAction();
+        String getDescription();
+        String getEvidenceUrl();
+        LocalDateTime getCreatedAt();
+        Long getTotal(); // history rows the milestone has in total, not just the ones returned
+    }
+
+    // The newest :perMilestone entries of every milestone of a job, in one windowed query
+    @Query(value = "SELECT t.id AS id, t.milestone_id AS milestoneId, t.action AS action, t.description AS description, " +
+                   "t.evidence_url AS evidenceUrl, t.created_at AS createdAt, t.total AS total FROM (" +
+                   "  SELECT h.*, ROW_NUMBER() OVER (PARTITION BY h.milestone_id ORDER BY h.created_at DESC, h.id DESC) AS rn, " +
+                   "         COUNT(*) OVER (PARTITION BY h.milestone_id) AS total " +
+                   "  FROM milestone_history h JOIN milestones m ON m.id = h.milestone_id WHERE m.job_id = :jobId" +
+                   ") t WHERE t.rn <= :perMilestone ORDER BY t.milestone_id, t.rn",
+           nativeQuery = true)
+    List<HistoryView> findRecentByJobId(@Param("jobId") Long jobId, @Param("perMilestone") int perMilestone);
 }
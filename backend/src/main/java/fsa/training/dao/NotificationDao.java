@@ -0,0 +1,37 @@
+package fsa.training.dao;
+
+import fsa.training.dto.NotificationItem;
+import fsa.training.entity.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface NotificationDao extends JpaRepository<Notification, Long> {
+
+    // Newest first, keyset on id (index user_id, id)
+    @Query("SELECT new fsa.training.dto.NotificationItem(n.id, n.type, n.title, n.content, n.createdAt, n.isRead) " +
+           "FROM Notification n WHERE n.user.id = :userId AND (:beforeId IS NULL OR n.id < :beforeId) ORDER BY n.id DESC")
+    List<NotificationItem> findPage(@Param("userId") Long userId, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    interface UnreadStats {
+        Long getUnread();
+        Long getMaxId();
+    }
+
+    // Unread count plus the newest id it covers, for rebuilding a counter
+    @Query("SELECT COALESCE(SUM(CASE WHEN n.isRead = false THEN 1 ELSE 0 END), 0) AS unread, MAX(n.id) AS maxId " +
+           "FROM Notification n WHERE n.user.id = :userId")
+    UnreadStats findUnreadStats(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.id <= :upToId AND n.isRead = false")
+    int markReadUpTo(@Param("userId") Long userId, @Param("upToId") Long upToId);
+}
@@ -0,0 +1,22 @@
+package fsa.training.dao;
+
+import fsa.training.entity.OcrResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface OcrResultDao extends JpaRepository<OcrResult, Long> {
+    Optional<OcrResult> findByCacheKey(String cacheKey);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OcrResult r WHERE r.expiresAt < :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,44 @@
+package fsa.training.dao;
+
+import fsa.training.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventDao extends JpaRepository<OutboxEvent, Long> {
+
+    @Query("SELECT e.id FROM OutboxEvent e WHERE e.status = 'PENDING' AND e.availableAt <= :now " +
+           "AND (e.lockedUntil IS NULL OR e.lockedUntil < :now) ORDER BY e.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Leases the events to one dispatcher; events leased elsewhere in the meantime are skipped
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.lockToken = :token, e.lockedUntil = :lockedUntil " +
+           "WHERE e.id IN :ids AND e.status = 'PENDING' AND (e.lockedUntil IS NULL OR e.lockedUntil < :now)")
+    int claim(@Param("ids") Collection<Long> ids, @Param("token") String token,
+              @Param("lockedUntil") LocalDateTime lockedUntil, @Param("now") LocalDateTime now);
+
+    List<OutboxEvent> findByLockTokenOrderByIdAsc(String lockToken);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.id = :id AND e.lockToken = :token")
+    int deleteHandled(@Param("id") Long id, @Param("token") String token);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.status = :status, e.availableAt = :availableAt, " +
+           "e.lastError = :error, e.lockToken = NULL, e.lockedUntil = NULL WHERE e.id = :id AND e.lockToken = :token")
+    int reschedule(@Param("id") Long id, @Param("token") String token, @Param("status") String status,
+                   @Param("availableAt") LocalDateTime availableAt, @Param("error") String error);
+}
@@ -0,0 +1,23 @@
+package fsa.training.dao;
+
+import fsa.training.dto.ReviewItem;
+import fsa.training.entity.Review;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReviewDao extends JpaRepository<Review, Long> {
+
+    boolean existsByJob_IdAndReviewer_Id(Long jobId, Long reviewerId);
+
+    // Keyset page of a user's received reviews, newest first (index reviewee_id, id)
+    @Query("SELECT new fsa.training.dto.ReviewItem(r.id, j.id, c.title, rv.id, rv.name, rv.avatarUrl, r.rating, r.comment, r.createdAt) " +
+           "FROM Review r JOIN r.job j JOIN j.campaign c JOIN r.reviewer rv " +
+           "WHERE r.reviewee.id = :revieweeId AND (:cursor IS NULL OR r.id < :cursor) ORDER BY r.id DESC")
+    List<ReviewItem> findPage(@Param("revieweeId") Long revieweeId, @Param("cursor") Long cursor, Pageable pageable);
+}
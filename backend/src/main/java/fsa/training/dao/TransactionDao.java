@@ -5,9 +5,16 @@ import fsa.training.entity.Wallet;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.List;
 
 public interface TransactionDao extends JpaRepository<Transaction, Long> {
     List<Transaction> findByWalletOrderByCreatedAtDesc(Wallet wallet);
     Page<Transaction> findByWalletOrderByCreatedAtDesc(Wallet wallet, Pageable pageable);
+
+    // Completed payments out of the user's wallet since the given time
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t " +
+           "WHERE t.wallet.user.id = :userId AND t.type = 'PAYMENT' AND t.status = 'COMPLETED' AND t.createdAt >= :from")
+    Double sumPaymentsSince(@Param("userId") Long userId, @Param("from") java.time.LocalDateTime from);
 }
@@ -8,4 +8,39 @@ import org.springframework.stereotype.Repository;
 public interface UserDao extends JpaRepository<User, Long> {
     User findByEmail(String email);
     boolean existsByEmail(String email);
+
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("UPDATE User u SET u.isVerified = true WHERE u.id = :id AND (u.isVerified IS NULL OR u.isVerified = false)")
+    int markVerified(@org.springframework.data.repository.query.Param("id") Long id);
+
+    // Adds one review to the running aggregates. rating is assigned first so that it is computed from the old
+    // sum and count on MySQL too, which applies single-table SET assignments left to right.
+    @org.springframework.data.jpa.repository.Modifying(flushAutomatically = true)
+    @org.springframework.data.jpa.repository.Query(value = "UPDATE users SET " +
+            "rating = (COALESCE(rating_sum, 0) + :rating) / (COALESCE(rating_count, 0) + 1.0), " +
+            "rating_sum = COALESCE(rating_sum, 0) + :rating, rating_count = COALESCE(rating_count, 0) + 1 " +
+            "WHERE id = :id", nativeQuery = true)
+    int addRating(@org.springframework.data.repository.query.Param("id") Long id,
+                  @org.springframework.data.repository.query.Param("rating") int rating);
+
+    interface PublicHeader {
+        Long getId();
+        String getName();
+        String getAvatarUrl();
+        String getBio();
+        String getRoleName();
+        Boolean getVerified();
+        Double getRating();
+        Long getRatingCount();
+    }
+
+    // Public fields only; loading the entity would also pull the password hash and the EAGER socialLinks
+    @org.springframework.data.jpa.repository.Query("SELECT u.id AS id, u.name AS name, u.avatarUrl AS avatarUrl, u.bio AS bio, " +
+            "r.name AS roleName, u.isVerified AS verified, u.rating AS rating, u.ratingCount AS ratingCount " +
+            "FROM User u LEFT JOIN u.role r WHERE u.id = :id")
+    java.util.Optional<PublicHeader> findPublicHeader(@org.springframework.data.repository.query.Param("id") Long id);
+
+    @org.springframework.data.jpa.repository.Query("SELECT l FROM User u JOIN u.socialLinks l WHERE u.id = :id")
+    java.util.List<String> findSocialLinks(@org.springframework.data.repository.query.Param("id") Long id);
 }
@@ -1,9 +1,17 @@
 package fsa.training.dao;
 
+import fsa.training.dto.VerificationQueueItem;
 import fsa.training.entity.User;
 import fsa.training.entity.VerificationRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +20,92 @@ public interface VerificationDao extends JpaRepository<VerificationRequest, Long
     List<VerificationRequest> findByStatus(String status);
     Optional<VerificationRequest> findByUserAndStatus(User user, String status);
     List<VerificationRequest> findByUser(User user);
+
+    boolean existsByUserAndStatusIn(User user, Collection<String> statuses);
+
+    List<VerificationRequest> findTop100ByStatusOrderByIdAsc(String status);
+
+    @EntityGraph(attributePaths = {"user", "user.role"})
+    List<VerificationRequest> findTop100ByStatusOrderByPriorityKeyDescIdDesc(String status);
+
+    // Only the first writer leaves PENDING_AI, so a request is never decided twice
+    @Modifying
+    @Query("UPDATE VerificationRequest v SET v.status = :status, v.adminNote = :note, v.aiConfidence = :confidence, " +
+           "v.priorityKey = :priorityKey WHERE v.id = :id AND v.status = 'PENDING_AI'")
+    int completeAiCheck(@Param("id") Long id, @Param("status") String status, @Param("note") String note,
+                        @Param("confidence") Float confidence, @Param("priorityKey") Double priorityKey);
+
+    // ---- Admin review queue ----
+
+    String QUEUE_ITEM = "SELECT new fsa.training.dto.VerificationQueueItem(v.id, u.id, u.name, u.email, r.name, " +
+            "v.documentType, v.documentUrl, v.adminNote, v.aiConfidence, v.createdAt, v.priorityKey, " +
+            "v.claimedBy, v.claimExpiresAt) " +
+            "FROM VerificationRequest v JOIN v.user u LEFT JOIN u.role r ";
+
+    @Query(QUEUE_ITEM + "WHERE v.status = 'PENDING' " +
+           "AND (:cursorKey IS NULL OR v.priorityKey < :cursorKey OR (v.priorityKey = :cursorKey AND v.id < :cursorId)) " +
+           "ORDER BY v.priorityKey DESC, v.id DESC")
+    List<VerificationQueueItem> findQueuePage(@Param("cursorKey") Double cursorKey, @Param("cursorId") Long cursorId,
+                                              Pageable pageable);
+
+    @Query(QUEUE_ITEM + "WHERE v.claimToken = :token ORDER BY v.priorityKey DESC, v.id DESC")
+    List<VerificationQueueItem> findQueueItemsByClaimToken(@Param("token") String token);
+
+    @Query(QUEUE_ITEM + "WHERE v.status = 'PENDING' AND v.claimedBy = :adminId AND v.claimExpiresAt > :now " +
+           "ORDER BY v.priorityKey DESC, v.id DESC")
+    List<VerificationQueueItem> findActiveClaims(@Param("adminId") Long adminId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT v.id FROM VerificationRequest v WHERE v.status = 'PENDING' " +
+           "AND (v.claimedBy IS NULL OR v.claimExpiresAt < :now) ORDER BY v.priorityKey DESC, v.id DESC")
+    List<Long> findClaimableIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE VerificationRequest v SET v.claimedBy = :adminId, v.claimToken = :token, v.claimExpiresAt = :expiresAt " +
+           "WHERE v.id IN :ids AND v.status = 'PENDING' AND (v.claimedBy IS NULL OR v.claimExpiresAt < :now)")
+    int claim(@Param("ids") Collection<Long> ids, @Param("adminId") Long adminId, @Param("token") String token,
+              @Param("expiresAt") LocalDateTime expiresAt, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE VerificationRequest v SET v.claimedBy = NULL, v.claimToken = NULL, v.claimExpiresAt = NULL " +
+           "WHERE v.id IN :ids AND v.claimedBy = :adminId AND v.status = 'PENDING'")
+    int release(@Param("ids") Collection<Long> ids, @Param("adminId") Long adminId);
+
+    /** Decides every listed request that is still PENDING and not leased to another admin, stamping them with token. */
+    @Modifying
+    @Query("UPDATE VerificationRequest v SET v.status = :status, " +
+           "v.claimedBy = :adminId, v.claimToken = :token, v.claimExpiresAt = NULL, v.reviewedAt = :now " +
+           "WHERE v.id IN :ids AND v.status = 'PENDING' " +
+           "AND (v.claimedBy IS NULL OR v.claimedBy = :adminId OR v.claimExpiresAt < :now)")
+    int decide(@Param("ids") Collection<Long> ids, @Param("status") String status, @Param("adminId") Long adminId, @Param("token") String token, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE VerificationRequest v SET v.adminNote = :note WHERE v.claimToken = :token")
+    int setNoteForBatch(@Param("token") String token, @Param("note") String note);
+
+    @Query("SELECT v.id FROM VerificationRequest v WHERE v.claimToken = :token")
+    List<Long> findIdsByClaimToken(@Param("token") String token);
+
+    @Query("SELECT v.id AS id, v.user.id AS userId FROM VerificationRequest v WHERE v.claimToken = :token AND v.status = 'APPROVED'")
+    List<ApprovedRow> findApprovedByClaimToken(@Param("token") String token);
+
+    @Modifying
+    @Query("UPDATE User u SET u.isVerified = true " +
+           "WHERE u.id IN (SELECT v.user.id FROM VerificationRequest v WHERE v.claimToken = :token AND v.status = 'APPROVED')")
+    int verifyUsersOfBatch(@Param("token") String token);
+
+    interface ApprovedRow {
+        Long getId();
+        Long getUserId();
+    }
+
+    interface ScoreInput {
+        Long getId();
+        String getDocumentType();
+        String getAdminNote();
+        LocalDateTime getCreatedAt();
+    }
+
+    @Query("SELECT v.id AS id, v.documentType AS documentType, v.adminNote AS adminNote, v.createdAt AS createdAt " +
+           "FROM VerificationRequest v WHERE v.status = 'PENDING' AND v.id > :afterId ORDER BY v.id")
+    List<ScoreInput> findPendingScoreInputs(@Param("afterId") Long afterId, Pageable pageable);
 }
@@ -3,8 +3,37 @@ package fsa.training.dao;
 import fsa.training.entity.User;
 import fsa.training.entity.Wallet;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.Optional;
 
 public interface WalletDao extends JpaRepository<Wallet, Long> {
     Optional<Wallet> findByUser(User user);
+
+    // Conditional balance updates (native SQL): each returns 0 instead of letting a balance go negative
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE wallets SET balance = balance - :amount, held_balance = held_balance + :amount, version = version + 1 " +
+                   "WHERE id = :walletId AND balance >= :amount", nativeQuery = true)
+    int hold(@Param("walletId") Long walletId, @Param("amount") Double amount);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE wallets SET held_balance = held_balance - :amount, version = version + 1 " +
+                   "WHERE id = :walletId AND held_balance >= :amount", nativeQuery = true)
+    int releaseHeld(@Param("walletId") Long walletId, @Param("amount") Double amount);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE wallets SET balance = balance + :amount, held_balance = held_balance - :amount, version = version + 1 " +
+                   "WHERE id = :walletId AND held_balance >= :amount", nativeQuery = true)
+    int returnHeld(@Param("walletId") Long walletId, @Param("amount") Double amount);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE wallets SET balance = balance - :amount, version = version + 1 " +
+                   "WHERE id = :walletId AND balance >= :amount", nativeQuery = true)
+    int debit(@Param("walletId") Long walletId, @Param("amount") Double amount);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE wallets SET balance = balance + :amount, version = version + 1 WHERE id = :walletId", nativeQuery = true)
+    int credit(@Param("walletId") Long walletId, @Param("amount") Double amount);
 }
@@ -0,0 +1,28 @@
+package fsa.training.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A stored chat message, as returned by history reads and pushed over the chat socket.
+ */
+public class ChatMessage {
+    private Long id;
+    private Long conversationId;
+    private Long senderId;
+    private String content;
+    private LocalDateTime createdAt;
+
+    public ChatMessage(Long id, Long conversationId, Long senderId, String content, LocalDateTime createdAt) {
+        this.id = id;
+        this.conversationId = conversationId;
+        this.senderId = senderId;
+        this.content = content;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+    public Long getConversationId() { return conversationId; }
+    public Long getSenderId() { return senderId; }
+    public String getContent() { return content; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
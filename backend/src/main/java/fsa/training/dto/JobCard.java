@@ -0,0 +1,92 @@
+package fsa.training.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, read-only view of a Job for list pages. Built from a single projection query
+ * instead of serializing the Job -> Campaign -> User -> Milestone entity graph.
+ */
+public class JobCard {
+    private Long id;
+    private String status;
+    private Double price;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    private Long campaignId;
+    private String campaignTitle;
+    private LocalDate campaignDeadline;
+    private String coverImage;
+
+    private Long creatorId;
+    private String creatorName;
+
+    private Long influencerId;
+    private String influencerName;
+    private String influencerAvatarUrl;
+
+    private MilestoneProgress milestones = new MilestoneProgress(0, 0, 0, null);
+
+    public JobCard(Long id, String status, Double price, LocalDateTime createdAt, LocalDateTime completedAt,
+                   Long campaignId, String campaignTitle, LocalDate campaignDeadline,
+                   Long creatorId, String creatorName,
+                   Long influencerId, String influencerName, String influencerAvatarUrl) {
+        this.id = id;
+        this.status = status;
+        this.price = price;
+        this.createdAt = createdAt;
+        this.completedAt = completedAt;
+        this.campaignId = campaignId;
+        this.campaignTitle = campaignTitle;
+        this.campaignDeadline = campaignDeadline;
+        this.creatorId = creatorId;
+        this.creatorName = creatorName;
+        this.influencerId = influencerId;
+        this.influencerName = influencerName;
+        this.influencerAvatarUrl = influencerAvatarUrl;
+    }
+
+    public static class MilestoneProgress {
+        private final long total;
+        private final long approved;
+        private final long submitted;
+        private final LocalDateTime nextDeadline; // earliest deadline among milestones not yet approved
+
+        public MilestoneProgress(long total, long approved, long submitted, LocalDateTime nextDeadline) {
+            this.total = total;
+            this.approved = approved;
+            this.submitted = submitted;
+            this.nextDeadline = nextDeadline;
+        }
+
+        public long getTotal() { return total; }
+        public long getApproved() { return approved; }
+        public long getSubmitted() { return submitted; }
+        public LocalDateTime getNextDeadline() { return nextDeadline; }
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public String getStatus() { return status; }
+    public Double getPrice() { return price; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getCompletedAt() { return completedAt; }
+
+    public Long getCampaignId() { return campaignId; }
+    public String getCampaignTitle() { return campaignTitle; }
+    public LocalDate getCampaignDeadline() { return campaignDeadline; }
+
+    public String getCoverImage() { return coverImage; }
+    public void setCoverImage(String coverImage) { this.coverImage = coverImage; }
+
+    public Long getCreatorId() { return creatorId; }
+    public String getCreatorName() { return creatorName; }
+
+    public Long getInfluencerId() { return influencerId; }
+    public String getInfluencerName() { return influencerName; }
+    public String getInfluencerAvatarUrl() { return influencerAvatarUrl; }
+
+    public MilestoneProgress getMilestones() { return milestones; }
+    public void setMilestones(MilestoneProgress milestones) { this.milestones = milestones; }
+}
@@ -0,0 +1,31 @@
+package fsa.training.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of a user's notification list, projected without loading the User entity.
+ */
+public class NotificationItem {
+    private Long id;
+    private String type;
+    private String title;
+    private String content;
+    private LocalDateTime createdAt;
+    private boolean read;
+
+    public NotificationItem(Long id, String type, String title, String content, LocalDateTime createdAt, boolean read) {
+        this.id = id;
+        this.type = type;
+        this.title = title;
+        this.content = content;
+        this.createdAt = createdAt;
+        this.read = read;
+    }
+
+    public Long getId() { return id; }
+    public String getType() { return type; }
+    public String getTitle() { return title; }
+    public String getContent() { return content; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public boolean isRead() { return read; }
+}
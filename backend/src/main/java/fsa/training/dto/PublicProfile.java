@@ -0,0 +1,72 @@
+package fsa.training.dto;
+
+import java.util.List;
+
+/**
+ * Public view of a user: profile fields plus precomputed portfolio stats. Immutable, so a cached
+ * instance can be handed to any number of requests.
+ */
+public class PublicProfile {
+
+    public static class RecentCampaign {
+        private final Long id;
+        private final String title;
+        private final String status;
+
+        public RecentCampaign(Long id, String title, String status) {
+            this.id = id;
+            this.title = title;
+            this.status = status;
+        }
+
+        public Long getId() { return id; }
+        public String getTitle() { return title; }
+        public String getStatus() { return status; }
+    }
+
+    private final Long id;
+    private final String name;
+    private final String avatarUrl;
+    private final String bio;
+    private final String role;
+    private final boolean verified;
+    private final List<String> socialLinks;
+    private final double rating;
+    private final long ratingCount;
+    private final long completedJobs;
+    private final Double onTimeMilestoneRatio; // null until the influencer has an approved milestone
+    private final String earningsBucket;
+    private final List<RecentCampaign> recentCampaigns;
+
+    public PublicProfile(Long id, String name, String avatarUrl, String bio, String role, boolean verified,
+                         List<String> socialLinks, double rating, long ratingCount, long completedJobs,
+                         Double onTimeMilestoneRatio, String earningsBucket, List<RecentCampaign> recentCampaigns) {
+        this.id = id;
+        this.name = name;
+        this.avatarUrl = avatarUrl;
+        this.bio = bio;
+        this.role = role;
+        this.verified = verified;
+        this.socialLinks = List.copyOf(socialLinks);
+        this.rating = rating;
+        this.ratingCount = ratingCount;
+        this.completedJobs = completedJobs;
+        this.onTimeMilestoneRatio = onTimeMilestoneRatio;
+        this.earningsBucket = earningsBucket;
+        this.recentCampaigns = List.copyOf(recentCampaigns);
+    }
+
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getAvatarUrl() { return avatarUrl; }
+    public String getBio() { return bio; }
+    public String getRole() { return role; }
+    public boolean isVerified() { return verified; }
+    public List<String> getSocialLinks() { return socialLinks; }
+    public double getRating() { return rating; }
+    public long getRatingCount() { return ratingCount; }
+    public long getCompletedJobs() { return completedJobs; }
+    public Double getOnTimeMilestoneRatio() { return onTimeMilestoneRatio; }
+    public String getEarningsBucket() { return earningsBucket; }
+    public List<RecentCampaign> getRecentCampaigns() { return recentCampaigns; }
+}
@@ -0,0 +1,41 @@
+package fsa.training.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A review as listed on a public profile.
+ */
+public class ReviewItem {
+    private Long id;
+    private Long jobId;
+    private String campaignTitle;
+    private Long reviewerId;
+    private String reviewerName;
+    private String reviewerAvatarUrl;
+    private Integer rating;
+    private String comment;
+    private LocalDateTime createdAt;
+
+    public ReviewItem(Long id, Long jobId, String campaignTitle, Long reviewerId, String reviewerName,
+                      String reviewerAvatarUrl, Integer rating, String comment, LocalDateTime createdAt) {
+        this.id = id;
+        this.jobId = jobId;
+        this.campaignTitle = campaignTitle;
+        this.reviewerId = reviewerId;
+        this.reviewerName = reviewerName;
+        this.reviewerAvatarUrl = reviewerAvatarUrl;
+        this.rating = rating;
+        this.comment = comment;
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+    public Long getJobId() { return jobId; }
+    public String getCampaignTitle() { return campaignTitle; }
+    public Long getReviewerId() { return reviewerId; }
+    public String getReviewerName() { return reviewerName; }
+    public String getReviewerAvatarUrl() { return reviewerAvatarUrl; }
+    public Integer getRating() { return rating; }
+    public String getComment() { return comment; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
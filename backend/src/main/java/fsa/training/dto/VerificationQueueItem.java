@@ -0,0 +1,60 @@
+package fsa.training.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Row of the admin verification review queue, projected without loading the User entity graph.
+ */
+public class VerificationQueueItem {
+    private Long id;
+    private Long userId;
+    private String userName;
+    private String userEmail;
+    private String roleName;
+    private String documentType;
+    private String documentUrl;
+    private String adminNote;
+    private Float aiConfidence;
+    private LocalDateTime createdAt;
+    private Double priorityKey;
+    private Long claimedBy;
+    private LocalDateTime claimExpiresAt;
+
+    // Priority as of now (priorityKey plus the age term), filled in by the service
+    private double priority;
+
+    public VerificationQueueItem(Long id, Long userId, String userName, String userEmail, String roleName,
+                                 String documentType, String documentUrl, String adminNote, Float aiConfidence,
+                                 LocalDateTime createdAt, Double priorityKey, Long claimedBy, LocalDateTime claimExpiresAt) {
+        this.id = id;
+        this.userId = userId;
+        this.userName = userName;
+        this.userEmail = userEmail;
+        this.roleName = roleName;
+        this.documentType = documentType;
+        this.documentUrl = documentUrl;
+        this.adminNote = adminNote;
+        this.aiConfidence = aiConfidence;
+        this.createdAt = createdAt;
+        this.priorityKey = priorityKey;
+        this.claimedBy = claimedBy;
+        this.claimExpiresAt = claimExpiresAt;
+    }
+
+    public Long getId() { return id; }
+    public Long getUserId() { return userId; }
+    public String getUserName() { return userName; }
+    public String getUserEmail() { return userEmail; }
+    public String getRoleName() { return roleName; }
+    public String getDocumentType() { return documentType; }
+    public String getDocumentUrl() { return documentUrl; }
+    public String getAdminNote() { return adminNote; }
+    public Float getAiConfidence() { return aiConfidence; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public Double getPriorityKey() { return priorityKey; }
+    public Long getClaimedBy() { return claimedBy; }
+    public LocalDateTime getClaimExpiresAt() { return claimExpiresAt; }
+
+    public double getPriority() { return priority; }
+    public void setPriority(double priority) { this.priority = priority; }
+}
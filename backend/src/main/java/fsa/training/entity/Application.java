@@ -4,7 +4,7 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "applications")
+@Table(name = "applications", indexes = @Index(name = "idx_applications_updated_at", columnList = "updated_at"))
 public class Application {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,6 +31,11 @@ public class Application {
     // Optional: Proposed rate if negotiation is allowed
     private Double bidAmount;
 
+    // Bumped by the database on every change (see Campaign.updatedAt)
+    @Column(name = "updated_at", insertable = false, updatable = false,
+            columnDefinition = "TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)")
+    private LocalDateTime updatedAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -96,4 +101,6 @@ public class Application {
     public void setBidAmount(Double bidAmount) {
         this.bidAmount = bidAmount;
     }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
 }
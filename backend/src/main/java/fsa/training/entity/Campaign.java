@@ -7,7 +7,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "campaigns")
+@Table(name = "campaigns", indexes = @Index(name = "idx_campaigns_updated_at", columnList = "updated_at"))
 public class Campaign {
     
     @Id
@@ -54,6 +54,15 @@ public class Campaign {
     
     private String layoutStyle; // "CLASSIC", "MODERN", "MINIMAL"
 
+    // Maintained by the database on every update, bulk JPQL updates included; drives AnalyticsService's incremental refresh
+    @Column(name = "updated_at", insertable = false, updatable = false,
+            columnDefinition = "TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)")
+    private java.time.LocalDateTime updatedAt;
+
+    // Original image URL -> {thumbnail, card, full} URLs; filled in for listing responses
+    @Transient
+    private java.util.Map<String, java.util.Map<String, String>> imageVariants;
+
     @org.hibernate.annotations.Formula("(SELECT count(a.id) FROM applications a WHERE a.campaign_id = id)")
     private int applicantCount;
 
@@ -153,4 +162,14 @@ public class Campaign {
     public void setLayoutStyle(String layoutStyle) {
         this.layoutStyle = layoutStyle;
     }
+
+    public java.util.Map<String, java.util.Map<String, String>> getImageVariants() {
+        return imageVariants;
+    }
+
+    public void setImageVariants(java.util.Map<String, java.util.Map<String, String>> imageVariants) {
+        this.imageVariants = imageVariants;
+    }
+
+    public java.time.LocalDateTime getUpdatedAt() { return updatedAt; }
 }
@@ -5,7 +5,7 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "campaign_applications")
+@Table(name = "campaign_applications", indexes = @Index(name = "idx_campaign_applications_updated_at", columnList = "updated_at"))
 public class CampaignApplication {
     
     @Id
@@ -26,6 +26,11 @@ public class CampaignApplication {
     private LocalDateTime appliedAt;
     
     private String status; // PENDING, APPROVED, REJECTED
+
+    // Bumped by the database on every change, like Campaign.updatedAt
+    @Column(name = "updated_at", insertable = false, updatable = false,
+            columnDefinition = "TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)")
+    private LocalDateTime updatedAt;
     
     // Getters and Setters
     public Long getId() {
@@ -75,4 +80,6 @@ public class CampaignApplication {
     public void setStatus(String status) {
         this.status = status;
     }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
 }
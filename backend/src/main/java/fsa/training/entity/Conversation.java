@@ -0,0 +1,74 @@
+package fsa.training.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Chat between a campaign's creator and one influencer. The same conversation serves the
+ * application and, once accepted, the job, since both are keyed by campaign and influencer.
+ */
+@Entity
+@Table(name = "conversations",
+       uniqueConstraints = @UniqueConstraint(name = "uk_conversations_campaign_influencer", columnNames = {"campaign_id", "influencer_id"}),
+       indexes = {
+               @Index(name = "idx_conversations_creator_id", columnList = "creator_id"),
+               @Index(name = "idx_conversations_influencer_id", columnList = "influencer_id")
+       })
+public class Conversation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "campaign_id", nullable = false)
+    private Campaign campaign;
+
+    @ManyToOne
+    @JoinColumn(name = "creator_id", nullable = false)
+    private User creator;
+
+    @ManyToOne
+    @JoinColumn(name = "influencer_id", nullable = false)
+    private User influencer;
+
+    // Newest message id each side has read; written back from ChatService's in-memory cursors
+    @Column(name = "creator_read_id")
+    private Long creatorReadId;
+
+    @Column(name = "influencer_read_id")
+    private Long influencerReadId;
+
+    private LocalDateTime createdAt;
+
+    public Conversation() {}
+
+    public Conversation(Campaign campaign, User influencer) {
+        this.campaign = campaign;
+        this.creator = campaign.getCreator();
+        this.influencer = influencer;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Campaign getCampaign() { return campaign; }
+    public void setCampaign(Campaign campaign) { this.campaign = campaign; }
+
+    public User getCreator() { return creator; }
+    public void setCreator(User creator) { this.creator = creator; }
+
+    public User getInfluencer() { return influencer; }
+    public void setInfluencer(User influencer) { this.influencer = influencer; }
+
+    public Long getCreatorReadId() { return creatorReadId; }
+    public void setCreatorReadId(Long creatorReadId) { this.creatorReadId = creatorReadId; }
+
+    public Long getInfluencerReadId() { return influencerReadId; }
+    public void setInfluencerReadId(Long influencerReadId) { this.influencerReadId = influencerReadId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,64 @@
+package fsa.training.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "image_variants",
+       uniqueConstraints = @UniqueConstraint(name = "uk_image_variants_source_variant", columnNames = {"source_key", "variant"}))
+public class ImageVariant {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // SHA-256 (hex) of the original image URL
+    @Column(name = "source_key", nullable = false, length = 64)
+    private String sourceKey;
+
+    // thumbnail, card or full
+    @Column(nullable = false, length = 16)
+    private String variant;
+
+    @Column(nullable = false, length = 512)
+    private String url;
+
+    private int width;
+
+    private int height;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    public ImageVariant() {
+    }
+
+    public ImageVariant(String sourceKey, String variant, String url, int width, int height) {
+        this.sourceKey = sourceKey;
+        this.variant = variant;
+        this.url = url;
+        this.width = width;
+        this.height = height;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getSourceKey() { return sourceKey; }
+    public void setSourceKey(String sourceKey) { this.sourceKey = sourceKey; }
+
+    public String getVariant() { return variant; }
+    public void setVariant(String variant) { this.variant = variant; }
+
+    public String getUrl() { return url; }
+    public void setUrl(String url) { this.url = url; }
+
+    public int getWidth() { return width; }
+    public void setWidth(int width) { this.width = width; }
+
+    public int getHeight() { return height; }
+    public void setHeight(int height) { this.height = height; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
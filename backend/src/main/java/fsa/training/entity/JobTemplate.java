@@ -0,0 +1,58 @@
+package fsa.training.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Entity
+@Table(name = "job_templates")
+public class JobTemplate {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "creator_id", nullable = false)
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private User creator;
+
+    @Column(nullable = false)
+    private String name;
+
+    // Used for new jobs of this creator when no template is picked explicitly
+    private boolean defaultTemplate;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "job_template_milestones",
+                     joinColumns = @JoinColumn(name = "template_id", nullable = false))
+    @OrderColumn(name = "position")
+    private List<MilestoneTemplate> milestones = new ArrayList<>();
+
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public User getCreator() { return creator; }
+    public void setCreator(User creator) { this.creator = creator; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public boolean isDefaultTemplate() { return defaultTemplate; }
+    public void setDefaultTemplate(boolean defaultTemplate) { this.defaultTemplate = defaultTemplate; }
+
+    public List<MilestoneTemplate> getMilestones() { return milestones; }
+    public void setMilestones(List<MilestoneTemplate> milestones) { this.milestones = milestones; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,52 @@
+package fsa.training.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Partial aggregate of one admin KPI: the rows of the metric's source table with ids in one bucket
+ * (id / app.analytics.bucket-size) and one dimension value, typically a status. Written only by
+ * AnalyticsService, which replaces whole buckets; the dashboard sums these rows.
+ */
+@Entity
+@Table(name = "kpi_rollups",
+       uniqueConstraints = @UniqueConstraint(name = "uk_kpi_rollups_metric_bucket_dimension",
+                                             columnNames = {"metric", "bucket", "dimension"}))
+public class KpiRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 64)
+    private String metric;
+
+    @Column(nullable = false)
+    private Long bucket;
+
+    @Column(nullable = false, length = 64)
+    private String dimension;
+
+    @Column(name = "row_count", nullable = false)
+    private Long rowCount;
+
+    @Column(nullable = false)
+    private Double total;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getMetric() { return metric; }
+    public void setMetric(String metric) { this.metric = metric; }
+
+    public Long getBucket() { return bucket; }
+    public void setBucket(Long bucket) { this.bucket = bucket; }
+
+    public String getDimension() { return dimension; }
+    public void setDimension(String dimension) { this.dimension = dimension; }
+
+    public Long getRowCount() { return rowCount; }
+    public void setRowCount(Long rowCount) { this.rowCount = rowCount; }
+
+    public Double getTotal() { return total; }
+    public void setTotal(Double total) { this.total = total; }
+}
@@ -0,0 +1,26 @@
+package fsa.training.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Database time up to which a KPI metric's rollups include every change of its source table.
+ */
+@Entity
+@Table(name = "kpi_watermarks")
+public class KpiWatermark {
+
+    @Id
+    @Column(length = 64)
+    private String metric;
+
+    @Column(nullable = false)
+    private LocalDateTime watermark;
+
+    public String getMetric() { return metric; }
+    public void setMetric(String metric) { this.metric = metric; }
+
+    public LocalDateTime getWatermark() { return watermark; }
+    public void setWatermark(LocalDateTime watermark) { this.watermark = watermark; }
+}
@@ -0,0 +1,48 @@
+package fsa.training.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Chat message. The table is append-only: rows are inserted in JDBC batches by ChatService and
+ * never updated or deleted. Conversation and sender are plain ids so that neither the writes nor
+ * the (conversation_id, id) keyset reads touch other tables.
+ */
+@Entity
+@Immutable
+@Table(name = "messages",
+       indexes = @Index(name = "idx_messages_conversation_id_id", columnList = "conversation_id, id"))
+public class Message {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "conversation_id", nullable = false)
+    private Long conversationId;
+
+    @Column(name = "sender_id", nullable = false)
+    private Long senderId;
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String content;
+
+    private LocalDateTime createdAt;
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getConversationId() { return conversationId; }
+    public void setConversationId(Long conversationId) { this.conversationId = conversationId; }
+
+    public Long getSenderId() { return senderId; }
+    public void setSenderId(Long senderId) { this.senderId = senderId; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
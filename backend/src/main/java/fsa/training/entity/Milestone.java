@@ -33,6 +33,11 @@ public class Milestone {
     @Column(columnDefinition = "TEXT")
     private String submissionDescription; // Context from influencer
 
+    // Bumped by every workflow transition (see MilestoneWorkflowService)
+    @Version
+    @org.hibernate.annotations.ColumnDefault("0")
+    private Long version = 0L;
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -61,6 +66,9 @@ public class Milestone {
     public String getSubmissionDescription() { return submissionDescription; }
     public void setSubmissionDescription(String submissionDescription) { this.submissionDescription = submissionDescription; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     @OneToMany(mappedBy = "milestone", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @OrderBy("createdAt DESC")
     private java.util.List<MilestoneHistory> history;
@@ -0,0 +1,34 @@
+package fsa.training.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+@Embeddable
+public class MilestoneTemplate {
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    // Deadline relative to job creation; null means the campaign deadline
+    private Integer offsetDays;
+
+    public MilestoneTemplate() {}
+
+    public MilestoneTemplate(String title, String description, Integer offsetDays) {
+        this.title = title;
+        this.description = description;
+        this.offsetDays = offsetDays;
+    }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public Integer getOffsetDays() { return offsetDays; }
+    public void setOffsetDays(Integer offsetDays) { this.offsetDays = offsetDays; }
+}
@@ -5,7 +5,8 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications",
+       indexes = @Index(name = "idx_notifications_user_id_id", columnList = "user_id, id"))
 public class Notification {
     
     @Id
@@ -16,6 +17,10 @@ public class Notification {
     @JoinColumn(name = "user_id")
     private User user;
     
+    // NotificationService.APPLICATION_STATUS, MILESTONE_REVIEWED, ...
+    @Column(length = 32)
+    private String type;
+
     @Column(nullable = false)
     private String title;
     
@@ -25,4 +30,35 @@ public class Notification {
     private LocalDateTime createdAt;
     
     private boolean isRead;
+
+    public Notification() {}
+
+    public Notification(User user, String title, String content) {
+        this.user = user;
+        this.title = title;
+        this.content = content;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public User getUser() { return user; }
+    public void setUser(User user) { this.user = user; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getContent() { return content; }
+    public void setContent(String content) { this.content = content; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public boolean isRead() { return isRead; }
+    public void setRead(boolean read) { isRead = read; }
 }
@@ -0,0 +1,73 @@
+package fsa.training.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Review one participant of a completed job leaves for the other: the creator reviews the
+ * influencer and the influencer the creator, once each. Reviews are never edited; the reviewee's
+ * rating aggregates in users are updated in the same transaction as the insert (see ReviewService).
+ */
+@Entity
+@Table(name = "reviews",
+       uniqueConstraints = @UniqueConstraint(name = "uk_reviews_job_reviewer", columnNames = {"job_id", "reviewer_id"}),
+       indexes = @Index(name = "idx_reviews_reviewee_id_id", columnList = "reviewee_id, id"))
+public class Review {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "job_id", nullable = false)
+    private Job job;
+
+    @ManyToOne
+    @JoinColumn(name = "reviewer_id", nullable = false)
+    private User reviewer;
+
+    @ManyToOne
+    @JoinColumn(name = "reviewee_id", nullable = false)
+    private User reviewee;
+
+    @Column(nullable = false)
+    private Integer rating; // 1 to 5
+
+    @Column(columnDefinition = "TEXT")
+    private String comment;
+
+    private LocalDateTime createdAt;
+
+    public Review() {}
+
+    public Review(Job job, User reviewer, User reviewee, Integer rating, String comment) {
+        this.job = job;
+        this.reviewer = reviewer;
+        this.reviewee = reviewee;
+        this.rating = rating;
+        this.comment = comment;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Job getJob() { return job; }
+    public void setJob(Job job) { this.job = job; }
+
+    public User getReviewer() { return reviewer; }
+    public void setReviewer(User reviewer) { this.reviewer = reviewer; }
+
+    public User getReviewee() { return reviewee; }
+    public void setReviewee(User reviewee) { this.reviewee = reviewee; }
+
+    public Integer getRating() { return rating; }
+    public void setRating(Integer rating) { this.rating = rating; }
+
+    public String getComment() { return comment; }
+    public void setComment(String comment) { this.comment = comment; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -41,7 +41,20 @@ public class User implements UserDetails {
     @Column(name = "link")
     private Collection<String> socialLinks;
     
+    // Average of the received reviews, kept in step with ratingSum / ratingCount. Read-only for the
+    // entity: only UserDao.addRating and ReviewService's repair write these columns, so saving a
+    // stale User can't undo a concurrent review
+    @Column(insertable = false, updatable = false)
+    @org.hibernate.annotations.ColumnDefault("0")
     private Double rating = 0.0;
+
+    @Column(insertable = false, updatable = false)
+    @org.hibernate.annotations.ColumnDefault("0")
+    private Long ratingSum = 0L;
+
+    @Column(insertable = false, updatable = false)
+    @org.hibernate.annotations.ColumnDefault("0")
+    private Long ratingCount = 0L;
     
     @Column(columnDefinition = "boolean default false")
     private Boolean isVerified = false;
@@ -162,6 +175,22 @@ public class User implements UserDetails {
         this.rating = rating;
     }
 
+    public Long getRatingSum() {
+        return ratingSum;
+    }
+
+    public void setRatingSum(Long ratingSum) {
+        this.ratingSum = ratingSum;
+    }
+
+    public Long getRatingCount() {
+        return ratingCount;
+    }
+
+    public void setRatingCount(Long ratingCount) {
+        this.ratingCount = ratingCount;
+    }
+
     public Boolean getVerified() {
         return isVerified;
     }
@@ -4,7 +4,11 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "verification_requests")
+@Table(name = "verification_requests",
+       indexes = {
+               @Index(name = "idx_verification_queue", columnList = "status, priority_key, id"),
+               @Index(name = "idx_verification_requests_updated_at", columnList = "updated_at")
+       })
 public class VerificationRequest {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,6 +30,31 @@ public class VerificationRequest {
 
     private LocalDateTime createdAt = LocalDateTime.now();
 
+    // AI confidence (0..1) taken from the AI analysis note, null when there was no AI check
+    private Float aiConfidence;
+
+    // Review-queue order, higher first; see VerificationQueueService
+    @Column(name = "priority_key")
+    private Double priorityKey;
+
+    // Review lease: the admin working this request and until when
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private Long claimedBy;
+
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    @Column(length = 36)
+    private String claimToken;
+
+    @com.fasterxml.jackson.annotation.JsonIgnore
+    private LocalDateTime claimExpiresAt;
+
+    private LocalDateTime reviewedAt;
+
+    // Database-maintained change time, read by AnalyticsService
+    @Column(name = "updated_at", insertable = false, updatable = false,
+            columnDefinition = "TIMESTAMP(6) DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6)")
+    private LocalDateTime updatedAt;
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -47,4 +76,24 @@ public class VerificationRequest {
 
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public Float getAiConfidence() { return aiConfidence; }
+    public void setAiConfidence(Float aiConfidence) { this.aiConfidence = aiConfidence; }
+
+    public Double getPriorityKey() { return priorityKey; }
+    public void setPriorityKey(Double priorityKey) { this.priorityKey = priorityKey; }
+
+    public Long getClaimedBy() { return claimedBy; }
+    public void setClaimedBy(Long claimedBy) { this.claimedBy = claimedBy; }
+
+    public String getClaimToken() { return claimToken; }
+    public void setClaimToken(String claimToken) { this.claimToken = claimToken; }
+
+    public LocalDateTime getClaimExpiresAt() { return claimExpiresAt; }
+    public void setClaimExpiresAt(LocalDateTime claimExpiresAt) { this.claimExpiresAt = claimExpiresAt; }
+
+    public LocalDateTime getReviewedAt() { return reviewedAt; }
+    public void setReviewedAt(LocalDateTime reviewedAt) { this.reviewedAt = reviewedAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
 }
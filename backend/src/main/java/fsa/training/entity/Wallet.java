@@ -9,9 +9,19 @@ public class Wallet {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Available (spendable) balance
     @Column(nullable = false)
     private Double balance = 0.0;
 
+    // Funds reserved in escrow for accepted jobs, not part of the available balance
+    @org.hibernate.annotations.ColumnDefault("0")
+    private Double heldBalance = 0.0;
+
+    // Bulk balance updates in WalletDao bump this too, so stale entity saves fail instead of clobbering them
+    @Version
+    @org.hibernate.annotations.ColumnDefault("0")
+    private Long version = 0L;
+
     @OneToOne
     @JoinColumn(name = "user_id", referencedColumnName = "id", nullable = false)
     private User user;
@@ -39,6 +49,22 @@ public class Wallet {
         this.balance = balance;
     }
 
+    public Double getHeldBalance() {
+        return heldBalance;
+    }
+
+    public void setHeldBalance(Double heldBalance) {
+        this.heldBalance = heldBalance;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public User getUser() {
         return user;
     }
@@ -0,0 +1,7 @@
+package fsa.training.event;
+
+/**
+ * A creator accepted an application; the job and its escrow reservation exist.
+ */
+public record ApplicationAccepted(Long applicationId, Long jobId, Long campaignId, String campaignTitle, Long receiverId) {
+}
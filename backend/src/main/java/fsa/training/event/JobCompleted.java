@@ -0,0 +1,8 @@
+package fsa.training.event;
+
+/**
+ * A job was completed and its escrow released to the influencer.
+ */
+public record JobCompleted(Long jobId, Long campaignId, String campaignTitle, Long influencerId, Double amount,
+                           Long creatorId) {
+}
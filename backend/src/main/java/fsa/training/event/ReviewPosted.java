@@ -0,0 +1,8 @@
+package fsa.training.event;
+
+/**
+ * A participant of a completed job reviewed the other one.
+ */
+public record ReviewPosted(Long reviewId, Long jobId, String campaignTitle, Long reviewerId, String reviewerName,
+                           Long revieweeId, Integer rating) {
+}
@@ -0,0 +1,7 @@
+package fsa.training.event;
+
+/**
+ * A verification request was approved, by an admin or automatically by the AI check.
+ */
+public record VerificationApproved(Long requestId, Long userId, boolean automatic) {
+}
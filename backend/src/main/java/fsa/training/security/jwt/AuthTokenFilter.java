@@ -60,6 +60,16 @@ public class AuthTokenFilter extends OncePerRequestFilter {
             return headerAuth.substring(7);
         }
 
+        // EventSource and WebSocket cannot set headers; accept the token as a parameter for the notification stream
+        // and the chat socket only
+        String uri = request.getRequestURI();
+        if ("/api/notifications/stream".equals(uri) || "/ws/chat".equals(uri)) {
+            String param = request.getParameter("access_token");
+            if (StringUtils.hasText(param)) {
+                return param;
+            }
+        }
+
         return null;
     }
 }
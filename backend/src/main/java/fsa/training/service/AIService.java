@@ -1,20 +1,61 @@
 package fsa.training.service;
 
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.http.*;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.util.Map;
 import java.util.List;
 
 @Service
 public class AIService {
 
+    private static final Logger logger = LoggerFactory.getLogger(AIService.class);
+
     @Value("${fpt.ai.api-key:}") // Default to empty if not set
     private String apiKey;
 
+    @Value("${fpt.ai.url:https://api.fpt.ai/vision/idr/vnm}")
+    private String apiUrl;
+
+    @Value("${fpt.ai.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${fpt.ai.read-timeout-ms:8000}")
+    private long readTimeoutMs;
+
+    @Autowired
+    private OcrResultCache ocrResultCache;
+
+    @Autowired
+    private ExternalCallGuards externalCallGuards;
+
+    private ExternalCallGuard fptGuard;
+
+    // Shared by all calls so connections to FPT.AI are pooled and kept alive
+    private RestTemplate restTemplate;
+
+    @PostConstruct
+    void init() {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        restTemplate = new RestTemplate(requestFactory);
+        fptGuard = externalCallGuards.get("fpt-ai");
+    }
+
     public static class AIResult {
         public boolean isValid;
         public float confidence;
@@ -31,50 +72,59 @@ public class AIService {
      * Validates ID Card using FPT.AI Vision API (IDR).
      */
     public AIResult validateIdCard(String documentUrl) {
-        System.out.println("Validating ID Card: " + documentUrl);
+        logger.debug("Validating ID Card: {}", documentUrl);
 
         // 1. If no API Key is configured, fallback to MOCK mode (for Demo/Dev)
         if (apiKey == null || apiKey.isEmpty() || "YOUR_FPT_API_KEY".equals(apiKey)) {
-            System.out.println("No FPT.AI API Key found. Using MOCK mode.");
+            logger.debug("No FPT.AI API Key found. Using MOCK mode.");
             if (documentUrl != null && documentUrl.toLowerCase().contains("invalid")) {
                  return new AIResult(false, 0.45f, "Phát hiện dấu hiệu chỉnh sửa (Mock)");
             }
             return new AIResult(true, 0.98f, "Hợp lệ (Mock Verified)");
         }
 
-        // 2. Real API Call to FPT.AI
+        // 2. Real API Call to FPT.AI, answered from the result cache when this document was seen before
         try {
-            String apiUrl = "https://api.fpt.ai/vision/idr/vnm";
-            
-            RestTemplate restTemplate = new RestTemplate();
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("api_key", apiKey);
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            body.add("image_url", documentUrl);
-
-            HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
-
-            ResponseEntity<Map> response = restTemplate.postForEntity(apiUrl, requestEntity, Map.class);
-            Map<String, Object> respBody = response.getBody();
-
-            if (respBody != null && Integer.valueOf(0).equals(respBody.get("errorCode"))) {
-                List<Map<String, Object>> dataList = (List<Map<String, Object>>) respBody.get("data");
-                if (dataList != null && !dataList.isEmpty()) {
-                    // Start with high confidence, verify specific fields if needed
-                    // For simplicity, if FPT returns data (errorCode=0), we consider it a valid card structure.
-                    // You can parse "id", "name" fields to match with User data for stricter check.
-                    
-                    return new AIResult(true, 0.95f, "Đã xác thực bởi FPT.AI");
-                }
-            }
-            
-            return new AIResult(false, 0.0f, "Không nhận diện được CMND/CCCD (FPT Error: " + respBody.get("errorMessage") + ")");
-
+            return ocrResultCache.get(documentUrl, () -> fptGuard.call(() -> callFptAi(documentUrl)));
+        } catch (ExternalCallGuard.CallNotPermittedException e) {
+            // FPT.AI is degraded: don't wait on it, leave the request for manual review
+            return new AIResult(false, 0.0f, "AI Service tạm thời không khả dụng, chuyển sang duyệt thủ công");
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.warn("FPT.AI call failed for {}: {}", documentUrl, e.getMessage());
             return new AIResult(false, 0.0f, "Lỗi gọi AI Service: " + e.getMessage());
         }
     }
+
+    /**
+     * One IDR round trip. Throws on transport and HTTP errors so they are not cached.
+     */
+    private AIResult callFptAi(String documentUrl) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("api_key", apiKey);
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+
+        MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+        body.add("image_url", documentUrl);
+
+        HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
+
+        ResponseEntity<Map> response = restTemplate.postForEntity(apiUrl, requestEntity, Map.class);
+        Map<String, Object> respBody = response.getBody();
+        if (respBody == null) {
+            throw new IllegalStateException("Empty response from FPT.AI");
+        }
+
+        if (Integer.valueOf(0).equals(respBody.get("errorCode"))) {
+            List<Map<String, Object>> dataList = (List<Map<String, Object>>) respBody.get("data");
+            if (dataList != null && !dataList.isEmpty()) {
+                // Start with high confidence, verify specific fields if needed
+                // For simplicity, if FPT returns data (errorCode=0), we consider it a valid card structure.
+                // You can parse "id", "name" fields to match with User data for stricter check.
+
+                return new AIResult(true, 0.95f, "Đã xác thực bởi FPT.AI");
+            }
+        }
+
+        return new AIResult(false, 0.0f, "Không nhận diện được CMND/CCCD (FPT Error: " + respBody.get("errorMessage") + ")");
+    }
 }
@@ -0,0 +1,361 @@
+package fsa.training.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Platform KPIs for the admin dashboard: GMV, campaigns by status, both application funnels and the
+ * verification backlog.
+ *
+ * Each metric is kept in kpi_rollups as partial aggregates per (id bucket, dimension) of its source
+ * table, where a bucket holds app.analytics.bucket-size consecutive ids. Every source table has a
+ * database-maintained updated_at column; the scheduled refresh reads which buckets contain rows
+ * changed since the metric's watermark and recomputes only those, replacing them in one transaction
+ * together with the new watermark. The window reaches app.analytics.watermark-overlap-seconds back
+ * so that rows committed late with an earlier timestamp are still seen; recomputing a bucket twice
+ * is harmless. Deleted source rows are only dropped by a full recompute.
+ *
+ * The full recompute (on demand, or for a metric without a watermark) splits the id range into
+ * bucket ranges on a fork/join pool of app.analytics.parallelism workers, each running one grouped
+ * query per app.analytics.chunk-buckets buckets.
+ *
+ * After each refresh the rollups are summed into an immutable snapshot, which is what the dashboard
+ * returns: a dashboard load never queries the database.
+ */
+@Service
+public class AnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsService.class);
+
+    // Campaign statuses that do not count as active; anything else (e.g. "Đang tuyển") does
+    public static final Set<String> CLOSED_CAMPAIGN_STATUSES = Set.of("COMPLETED", "CANCELLED", "CLOSED");
+
+    private static final String INSERT_ROLLUP =
+            "INSERT INTO kpi_rollups (metric, bucket, dimension, row_count, total) VALUES (?, ?, ?, ?, ?)";
+
+    /**
+     * A KPI source: rows of table matching filter, grouped by dimension, counted and summed over total.
+     * All parts are fixed SQL fragments.
+     */
+    private record Metric(String name, String table, String dimension, String total, String filter) {}
+
+    private static final List<Metric> METRICS = List.of(
+            new Metric("gmv", "transactions", "type", "amount", "type = 'PAYMENT' AND status = 'COMPLETED'"),
+            new Metric("campaigns", "campaigns", "COALESCE(status, 'UNKNOWN')", "0", null),
+            new Metric("applications", "applications", "status", "COALESCE(bid_amount, 0)", null),
+            new Metric("campaign_applications", "campaign_applications", "COALESCE(status, 'UNKNOWN')", "0", null),
+            new Metric("verifications", "verification_requests", "COALESCE(status, 'UNKNOWN')", "0", null));
+
+    private record Row(long bucket, String dimension, long count, double total) {}
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.analytics.bucket-size:10000}")
+    private int bucketSize;
+
+    @Value("${app.analytics.chunk-buckets:4}")
+    private int chunkBuckets;
+
+    @Value("${app.analytics.parallelism:4}")
+    private int parallelism;
+
+    @Value("${app.analytics.watermark-overlap-seconds:120}")
+    private long overlapSeconds;
+
+    private TransactionTemplate transactionTemplate;
+
+    private ForkJoinPool pool;
+
+    // Refresh and recompute both rewrite rollups; only one of them runs at a time
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Map<String, Object> snapshot;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /** Thrown when a recompute is requested while a refresh or another recompute is running. */
+    public static class BusyException extends RuntimeException {
+        public BusyException() {
+            super("KPI refresh already running, try again later");
+        }
+    }
+
+    /** Latest KPI snapshot, as of its refreshedAt. */
+    public Map<String, Object> dashboard() {
+        Map<String, Object> current = snapshot;
+        if (current == null) {
+            // First call before the first scheduled refresh: sum whatever rollups are stored
+            current = rebuildSnapshot();
+        }
+        return current;
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.refresh-interval-ms:60000}",
+               initialDelayString = "${app.analytics.initial-delay-ms:30000}")
+    public void refresh() {
+        if (!lock.tryLock()) {
+            return;
+        }
+        try {
+            long start = System.currentTimeMillis();
+            int buckets = 0;
+            for (Metric metric : METRICS) {
+                try {
+                    buckets += refreshMetric(metric);
+                } catch (RuntimeException e) {
+                    logger.error("KPI refresh of {} failed, will retry on next run", metric.name(), e);
+                }
+            }
+            rebuildSnapshot();
+            logger.debug("KPI refresh recomputed {} buckets in {} ms", buckets, System.currentTimeMillis() - start);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Rebuilds every metric from its whole source table in parallel. Returns the rollup row count
+     * per metric.
+     */
+    public Map<String, Object> recomputeAll() {
+        if (!lock.tryLock()) {
+            throw new BusyException();
+        }
+        try {
+            long start = System.currentTimeMillis();
+            Map<String, Object> result = new LinkedHashMap<>();
+            for (Metric metric : METRICS) {
+                result.put(metric.name(), recompute(metric, dbNow()));
+            }
+            rebuildSnapshot();
+            result.put("elapsedMs", System.currentTimeMillis() - start);
+            logger.info("KPI recompute finished: {}", result);
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Recomputes the buckets changed since the metric's watermark; returns how many. */
+    private int refreshMetric(Metric metric) {
+        LocalDateTime now = dbNow();
+        List<LocalDateTime> stored = jdbcTemplate.queryForList(
+                "SELECT watermark FROM kpi_watermarks WHERE metric = ?", LocalDateTime.class, metric.name());
+        if (stored.isEmpty()) {
+            recompute(metric, now);
+            return 0;
+        }
+
+        List<Long> touched = jdbcTemplate.queryForList(
+                "SELECT DISTINCT FLOOR(id / " + bucketSize + ") FROM " + metric.table() + " WHERE updated_at >= ?",
+                Long.class, Timestamp.valueOf(stored.get(0).minusSeconds(overlapSeconds)));
+        List<Row> rows = new ArrayList<>();
+        for (Long bucket : touched) {
+            rows.addAll(aggregate(metric, bucket, bucket));
+        }
+        transactionTemplate.executeWithoutResult(tx -> {
+            List<Object[]> deletes = new ArrayList<>(touched.size());
+            for (Long bucket : touched) {
+                deletes.add(new Object[]{metric.name(), bucket});
+            }
+            if (!deletes.isEmpty()) {
+                jdbcTemplate.batchUpdate("DELETE FROM kpi_rollups WHERE metric = ? AND bucket = ?", deletes);
+            }
+            insert(metric, rows);
+            writeWatermark(metric, now);
+        });
+        return touched.size();
+    }
+
+    /** Replaces all rollups of the metric with a parallel full aggregation; returns the rollup row count. */
+    private int recompute(Metric metric, LocalDateTime now) {
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS lo, MAX(id) AS hi FROM " + metric.table());
+        List<Row> rows = bounds.get("lo") == null ? List.of()
+                : pool.invoke(new BucketRangeTask(metric,
+                        ((Number) bounds.get("lo")).longValue() / bucketSize,
+                        ((Number) bounds.get("hi")).longValue() / bucketSize));
+        transactionTemplate.executeWithoutResult(tx -> {
+            jdbcTemplate.update("DELETE FROM kpi_rollups WHERE metric = ?", metric.name());
+            insert(metric, rows);
+            writeWatermark(metric, now);
+        });
+        return rows.size();
+    }
+
+    private class BucketRangeTask extends RecursiveTask<List<Row>> {
+        private final Metric metric;
+        private final long fromBucket;
+        private final long toBucket;
+
+        BucketRangeTask(Metric metric, long fromBucket, long toBucket) {
+            this.metric = metric;
+            this.fromBucket = fromBucket;
+            this.toBucket = toBucket;
+        }
+
+        @Override
+        protected List<Row> compute() {
+            if (toBucket - fromBucket + 1 <= chunkBuckets) {
+                return aggregate(metric, fromBucket, toBucket);
+            }
+            long mid = fromBucket + (toBucket - fromBucket) / 2;
+            BucketRangeTask left = new BucketRangeTask(metric, fromBucket, mid);
+            left.fork();
+            List<Row> rows = new ArrayList<>(new BucketRangeTask(metric, mid + 1, toBucket).compute());
+            rows.addAll(left.join());
+            return rows;
+        }
+    }
+
+    /** Grouped partial aggregates of the metric for the ids of buckets fromBucket..toBucket. */
+    private List<Row> aggregate(Metric metric, long fromBucket, long toBucket) {
+        String bucket = "FLOOR(id / " + bucketSize + ")";
+        String sql = "SELECT " + bucket + ", " + metric.dimension() + ", COUNT(*), COALESCE(SUM(" + metric.total() + "), 0) " +
+                     "FROM " + metric.table() + " WHERE id BETWEEN ? AND ?" +
+                     (metric.filter() != null ? " AND " + metric.filter() : "") +
+                     " GROUP BY " + bucket + ", " + metric.dimension();
+        return jdbcTemplate.query(sql,
+                (rs, i) -> new Row(rs.getLong(1), rs.getString(2), rs.getLong(3), rs.getDouble(4)),
+                fromBucket * bucketSize, (toBucket + 1) * bucketSize - 1);
+    }
+
+    private void insert(Metric metric, List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            args.add(new Object[]{metric.name(), row.bucket(), row.dimension(), row.count(), row.total()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_ROLLUP, args);
+    }
+
+    private void writeWatermark(Metric metric, LocalDateTime watermark) {
+        Timestamp ts = Timestamp.valueOf(watermark);
+        if (jdbcTemplate.update("UPDATE kpi_watermarks SET watermark = ? WHERE metric = ?", ts, metric.name()) == 0) {
+            jdbcTemplate.update("INSERT INTO kpi_watermarks (metric, watermark) VALUES (?, ?)", metric.name(), ts);
+        }
+    }
+
+    // Watermarks are compared with updated_at, which the database sets, so both come from its clock
+    private LocalDateTime dbNow() {
+        return jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP", Timestamp.class).toLocalDateTime();
+    }
+
+    private Map<String, Object> rebuildSnapshot() {
+        // metric -> dimension -> {count, total}
+        Map<String, Map<String, double[]>> sums = new HashMap<>();
+        jdbcTemplate.query("SELECT metric, dimension, SUM(row_count), SUM(total) FROM kpi_rollups GROUP BY metric, dimension",
+                (RowCallbackHandler) rs -> sums.computeIfAbsent(rs.getString(1), k -> new TreeMap<>())
+                        .put(rs.getString(2), new double[]{rs.getLong(3), rs.getDouble(4)}));
+
+        Map<String, double[]> gmv = sums.getOrDefault("gmv", Map.of());
+        Map<String, double[]> campaigns = sums.getOrDefault("campaigns", Map.of());
+        Map<String, double[]> applications = sums.getOrDefault("applications", Map.of());
+        Map<String, double[]> campaignApplications = sums.getOrDefault("campaign_applications", Map.of());
+        Map<String, double[]> verifications = sums.getOrDefault("verifications", Map.of());
+
+        long activeCampaigns = 0;
+        for (Map.Entry<String, double[]> e : campaigns.entrySet()) {
+            if (!CLOSED_CAMPAIGN_STATUSES.contains(e.getKey())) {
+                activeCampaigns += (long) e.getValue()[0];
+            }
+        }
+
+        long submitted = totalCount(applications);
+        long accepted = count(applications, "ACCEPTED") + count(applications, "COMPLETED");
+        long completed = count(applications, "COMPLETED");
+        Map<String, Object> funnel = new LinkedHashMap<>();
+        funnel.put("submitted", submitted);
+        funnel.put("pending", count(applications, "PENDING"));
+        funnel.put("rejected", count(applications, "REJECTED"));
+        funnel.put("accepted", accepted);
+        funnel.put("completed", completed);
+        funnel.put("acceptanceRate", ratio(accepted, submitted));
+        funnel.put("completionRate", ratio(completed, accepted));
+
+        long directSubmitted = totalCount(campaignApplications);
+        long directApproved = count(campaignApplications, "APPROVED");
+        Map<String, Object> directFunnel = new LinkedHashMap<>();
+        directFunnel.put("submitted", directSubmitted);
+        directFunnel.put("pending", count(campaignApplications, "PENDING"));
+        directFunnel.put("rejected", count(campaignApplications, "REJECTED"));
+        directFunnel.put("approved", directApproved);
+        directFunnel.put("approvalRate", ratio(directApproved, directSubmitted));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("refreshedAt", LocalDateTime.now());
+        result.put("gmv", gmv.values().stream().mapToDouble(v -> v[1]).sum());
+        result.put("payments", totalCount(gmv));
+        result.put("activeCampaigns", activeCampaigns);
+        result.put("campaignsByStatus", counts(campaigns));
+        result.put("applicationFunnel", funnel);
+        result.put("campaignApplicationFunnel", directFunnel);
+        result.put("verificationBacklog", count(verifications, "PENDING") + count(verifications, VerificationWorker.PENDING_AI));
+        result.put("verificationsByStatus", counts(verifications));
+
+        Map<String, Object> built = Collections.unmodifiableMap(result);
+        snapshot = built;
+        return built;
+    }
+
+    private static long count(Map<String, double[]> byDimension, String dimension) {
+        double[] v = byDimension.get(dimension);
+        return v != null ? (long) v[0] : 0;
+    }
+
+    private static long totalCount(Map<String, double[]> byDimension) {
+        long total = 0;
+        for (double[] v : byDimension.values()) {
+            total += (long) v[0];
+        }
+        return total;
+    }
+
+    private static Map<String, Long> counts(Map<String, double[]> byDimension) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        byDimension.forEach((dimension, v) -> result.put(dimension, (long) v[0]));
+        return result;
+    }
+
+    private static double ratio(long part, long whole) {
+        return whole == 0 ? 0.0 : (double) part / whole;
+    }
+}
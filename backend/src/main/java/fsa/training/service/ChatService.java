@@ -0,0 +1,711 @@
+package fsa.training.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fsa.training.dao.ApplicationDao;
+import fsa.training.dao.CampaignApplicationDao;
+import fsa.training.dao.ConversationDao;
+import fsa.training.dao.JobDao;
+import fsa.training.dao.MessageDao;
+import fsa.training.dto.ChatMessage;
+import fsa.training.entity.Campaign;
+import fsa.training.entity.Conversation;
+import fsa.training.entity.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creator-influencer chat.
+ *
+ * Messages arrive over the chat socket (ChatSocketHandler) and are only queued here. A single
+ * writer thread takes them off the queue and stores them in the append-only messages table as one
+ * JDBC batch: it writes as soon as a message is waiting, lingering at most app.chat.flush-linger-ms
+ * for more, so under load batches grow while a lone message is stored almost immediately. Once a
+ * batch has its ids the sender gets an "ack" and every other open socket of both participants the
+ * "message"; a message is never acknowledged before it is stored.
+ *
+ * Each socket has its own bounded queue and sender (a virtual thread), as notification streams do:
+ * a slow client never holds up the writer, and on overflow it gets a "resync" frame telling it to
+ * reload history instead.
+ *
+ * The last message and both participants' read cursors and unread counts are kept per conversation
+ * in memory, built on first use from the tables and then updated by every write and read. Read
+ * cursors are written back to the conversations table every app.chat.cursor-flush-ms; idle state
+ * is dropped after app.chat.state-ttl-minutes.
+ */
+@Service
+public class ChatService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatService.class);
+
+    private static final String INSERT =
+            "INSERT INTO messages (conversation_id, sender_id, content, created_at) VALUES (?, ?, ?, ?)";
+
+    private static final String UPDATE_CURSORS =
+            "UPDATE conversations SET creator_read_id = ?, influencer_read_id = ? WHERE id = ?";
+
+    private static final String RESYNC = "{\"type\":\"resync\",\"reason\":\"overflow\"}";
+
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_CONVERSATIONS = 200;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ConversationDao conversationDao;
+
+    @Autowired
+    private MessageDao messageDao;
+
+    @Autowired
+    private ApplicationDao applicationDao;
+
+    @Autowired
+    private CampaignApplicationDao campaignApplicationDao;
+
+    @Autowired
+    private JobDao jobDao;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${app.chat.max-message-length:2000}")
+    private int maxMessageLength;
+
+    @Value("${app.chat.queue-capacity:20000}")
+    private int queueCapacity;
+
+    @Value("${app.chat.max-batch:500}")
+    private int maxBatch;
+
+    @Value("${app.chat.flush-linger-ms:5}")
+    private long flushLingerMs;
+
+    @Value("${app.chat.session-queue-capacity:256}")
+    private int sessionQueueCapacity;
+
+    @Value("${app.chat.max-sessions-per-user:5}")
+    private int maxSessionsPerUser;
+
+    @Value("${app.chat.heartbeat-ms:25000}")
+    private long heartbeatMs;
+
+    @Value("${app.chat.state-ttl-minutes:30}")
+    private long stateTtlMinutes;
+
+    private BlockingQueue<PendingMessage> pending;
+
+    private Thread writer;
+
+    private volatile boolean stopping;
+
+    private final Map<Long, ConversationState> states = new ConcurrentHashMap<>();
+
+    private final Map<Long, Set<ChatSession>> sessionsByUser = new ConcurrentHashMap<>();
+
+    private final Map<String, ChatSession> sessionsById = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        pending = new ArrayBlockingQueue<>(queueCapacity);
+        writer = new Thread(this::runWriter, "chat-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /** Thrown when the conversation does not exist or the user is not one of its participants. */
+    public static class NotParticipantException extends RuntimeException {
+        public NotParticipantException() {
+            super("Conversation not found");
+        }
+    }
+
+    public static class ConversationSummary {
+        public final Long id;
+        public final Long campaignId;
+        public final String campaignTitle;
+        public final Long creatorId;
+        public final String creatorName;
+        public final Long influencerId;
+        public final String influencerName;
+        public final ChatMessage lastMessage;
+        public final long unread;
+
+        ConversationSummary(ConversationDao.Row row, ChatMessage lastMessage, long unread) {
+            this.id = row.getId();
+            this.campaignId = row.getCampaignId();
+            this.campaignTitle = row.getCampaignTitle();
+            this.creatorId = row.getCreatorId();
+            this.creatorName = row.getCreatorName();
+            this.influencerId = row.getInfluencerId();
+            this.influencerName = row.getInfluencerName();
+            this.lastMessage = lastMessage;
+            this.unread = unread;
+        }
+    }
+
+    public static class MessagePage {
+        public final List<ChatMessage> items;
+        public final Long nextCursor;
+
+        MessagePage(List<ChatMessage> items, Long nextCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+        }
+    }
+
+    private static class PendingMessage {
+        final ChatSession origin;
+        final String clientId;
+        final Long conversationId;
+        final Long senderId;
+        final Long recipientId;
+        final String content;
+        final LocalDateTime createdAt = LocalDateTime.now();
+
+        PendingMessage(ChatSession origin, String clientId, Long conversationId, Long senderId, Long recipientId, String content) {
+            this.origin = origin;
+            this.clientId = clientId;
+            this.conversationId = conversationId;
+            this.senderId = senderId;
+            this.recipientId = recipientId;
+            this.content = content;
+        }
+    }
+
+    private static class ConversationState {
+        final Long id;
+        final Long creatorId;
+        final Long influencerId;
+        private ChatMessage last;
+        private long creatorReadId;
+        private long influencerReadId;
+        private long creatorUnread;
+        private long influencerUnread;
+        private boolean dirty;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        ConversationState(ConversationDao.Row row) {
+            this.id = row.getId();
+            this.creatorId = row.getCreatorId();
+            this.influencerId = row.getInfluencerId();
+            this.creatorReadId = row.getCreatorReadId() != null ? row.getCreatorReadId() : 0;
+            this.influencerReadId = row.getInfluencerReadId() != null ? row.getInfluencerReadId() : 0;
+        }
+
+        boolean isParticipant(Long userId) { return creatorId.equals(userId) || influencerId.equals(userId); }
+
+        Long otherParticipant(Long userId) { return creatorId.equals(userId) ? influencerId : creatorId; }
+
+        void touch() { lastUsed = System.currentTimeMillis(); }
+
+        synchronized ChatMessage last() { return last; }
+
+        synchronized long lastId() { return last != null ? last.getId() : 0; }
+
+        synchronized long unreadFor(Long userId) { return creatorId.equals(userId) ? creatorUnread : influencerUnread; }
+
+        synchronized void loaded(ChatMessage last, long creatorUnread, long influencerUnread) {
+            this.last = last;
+            this.creatorUnread = creatorUnread;
+            this.influencerUnread = influencerUnread;
+        }
+
+        synchronized void appended(ChatMessage message) {
+            if (last == null || message.getId() > last.getId()) {
+                last = message;
+            }
+            if (creatorId.equals(message.getSenderId())) {
+                influencerUnread++;
+            } else {
+                creatorUnread++;
+            }
+        }
+
+        /** Moves the user's cursor forward; returns false if it already was at or past upToId. */
+        synchronized boolean read(Long userId, long upToId) {
+            long target = Math.min(upToId, lastId());
+            boolean creator = creatorId.equals(userId);
+            if (target <= (creator ? creatorReadId : influencerReadId)) {
+                return false;
+            }
+            if (creator) {
+                creatorReadId = target;
+                if (target == lastId()) creatorUnread = 0;
+            } else {
+                influencerReadId = target;
+                if (target == lastId()) influencerUnread = 0;
+            }
+            dirty = true;
+            return true;
+        }
+
+        synchronized void setUnread(Long userId, long unread) {
+            if (creatorId.equals(userId)) creatorUnread = unread; else influencerUnread = unread;
+        }
+
+        synchronized long readIdFor(Long userId) { return creatorId.equals(userId) ? creatorReadId : influencerReadId; }
+
+        /** Cursors to write back, or null if nothing changed since the last call. */
+        synchronized Object[] takeDirtyCursors() {
+            if (!dirty) return null;
+            dirty = false;
+            return new Object[]{creatorReadId, influencerReadId, id};
+        }
+
+        synchronized void markDirty() { dirty = true; }
+
+        synchronized boolean isIdle(long ttlMs) { return !dirty && System.currentTimeMillis() - lastUsed > ttlMs; }
+    }
+
+    private class ChatSession {
+        final Long userId;
+        final WebSocketSession socket;
+        final BlockingQueue<String> queue = new ArrayBlockingQueue<>(sessionQueueCapacity);
+        volatile boolean closed;
+
+        ChatSession(Long userId, WebSocketSession socket) {
+            this.userId = userId;
+            this.socket = socket;
+        }
+
+        void offer(String frame) {
+            if (!queue.offer(frame)) {
+                queue.clear();
+                queue.offer(RESYNC);
+            }
+        }
+
+        void pump() {
+            try {
+                offer(json(Map.of("type", "ready", "userId", userId)));
+                while (!closed && socket.isOpen()) {
+                    String frame = queue.poll(heartbeatMs, TimeUnit.MILLISECONDS);
+                    if (frame == null) {
+                        socket.sendMessage(new PingMessage());
+                    } else {
+                        socket.sendMessage(new TextMessage(frame));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close(CloseStatus.NORMAL);
+            }
+        }
+
+        void close(CloseStatus status) {
+            closed = true;
+            sessionsById.remove(socket.getId());
+            Set<ChatSession> own = sessionsByUser.get(userId);
+            if (own != null) {
+                own.remove(this);
+                sessionsByUser.computeIfPresent(userId, (k, set) -> set.isEmpty() ? null : set);
+            }
+            try {
+                if (socket.isOpen()) {
+                    socket.close(status);
+                }
+            } catch (IOException e) {
+                // Already gone
+            }
+        }
+    }
+
+    /**
+     * Registers an open chat socket. Beyond app.chat.max-sessions-per-user (e.g. many tabs) the
+     * oldest socket of the user is closed.
+     */
+    public void connect(Long userId, WebSocketSession socket) {
+        ChatSession session = new ChatSession(userId, socket);
+        sessionsById.put(socket.getId(), session);
+        Set<ChatSession> own = sessionsByUser.computeIfAbsent(userId, k -> new CopyOnWriteArraySet<>());
+        own.add(session);
+        Iterator<ChatSession> oldest = own.iterator();
+        while (own.size() > maxSessionsPerUser && oldest.hasNext()) {
+            oldest.next().close(CloseStatus.POLICY_VIOLATION.withReason("Too many chat connections"));
+        }
+        Thread.ofVirtual().name("chat-socket-" + userId).start(session::pump);
+    }
+
+    public void disconnect(WebSocketSession socket) {
+        ChatSession session = sessionsById.get(socket.getId());
+        if (session != null) {
+            session.close(CloseStatus.NORMAL);
+        }
+    }
+
+    /**
+     * Queues a message from the socket's user. The sender gets an "ack" with the stored message,
+     * or an "error" with the same clientId if it was refused.
+     */
+    public void send(WebSocketSession socket, Long conversationId, String content, String clientId) {
+        ChatSession origin = sessionsById.get(socket.getId());
+        if (origin == null) {
+            return;
+        }
+        if (content == null || content.isBlank()) {
+            error(origin, clientId, "Message is empty");
+            return;
+        }
+        if (content.length() > maxMessageLength) {
+            error(origin, clientId, "Message is longer than " + maxMessageLength + " characters");
+            return;
+        }
+        ConversationState state;
+        try {
+            state = participantState(origin.userId, conversationId);
+        } catch (NotParticipantException e) {
+            error(origin, clientId, e.getMessage());
+            return;
+        }
+        PendingMessage message = new PendingMessage(origin, clientId, conversationId, origin.userId,
+                state.otherParticipant(origin.userId), content);
+        if (!pending.offer(message)) {
+            // Writer is behind; the client retries later
+            error(origin, clientId, "Busy, try again");
+        }
+    }
+
+    /** Error frame for a request the socket handler could not parse. */
+    public void error(WebSocketSession socket, String clientId, String message) {
+        ChatSession session = sessionsById.get(socket.getId());
+        if (session != null) {
+            error(session, clientId, message);
+        }
+    }
+
+    private void error(ChatSession session, String clientId, String message) {
+        Map<String, Object> frame = new HashMap<>();
+        frame.put("type", "error");
+        frame.put("clientId", clientId);
+        frame.put("message", message);
+        session.offer(json(frame));
+    }
+
+    private void runWriter() {
+        List<PendingMessage> batch = new ArrayList<>(Math.min(maxBatch, 64));
+        while (!stopping) {
+            try {
+                PendingMessage first = pending.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushLingerMs);
+                while (batch.size() < maxBatch) {
+                    if (pending.drainTo(batch, maxBatch - batch.size()) > 0) {
+                        continue;
+                    }
+                    long left = deadline - System.nanoTime();
+                    PendingMessage next = left > 0 ? pending.poll(left, TimeUnit.NANOSECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Chat writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingMessage> batch) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        try {
+            jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            PendingMessage m = batch.get(i);
+                            ps.setLong(1, m.conversationId);
+                            ps.setLong(2, m.senderId);
+                            ps.setString(3, m.content);
+                            ps.setTimestamp(4, Timestamp.valueOf(m.createdAt));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    }, keys);
+        } catch (RuntimeException e) {
+            logger.error("Could not store {} chat messages", batch.size(), e);
+            for (PendingMessage m : batch) {
+                error(m.origin, m.clientId, "Message could not be stored, try again");
+            }
+            return;
+        }
+
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        for (int i = 0; i < batch.size() && i < keyList.size(); i++) {
+            PendingMessage m = batch.get(i);
+            Long id = ((Number) keyList.get(i).values().iterator().next()).longValue();
+            ChatMessage message = new ChatMessage(id, m.conversationId, m.senderId, m.content, m.createdAt);
+
+            ConversationState state = states.get(m.conversationId);
+            if (state != null) {
+                state.appended(message);
+                state.touch();
+            }
+
+            // Serialized once per message, shared by every recipient
+            String pushed = json(Map.of("type", "message", "message", message));
+            Map<String, Object> ack = new HashMap<>();
+            ack.put("type", "ack");
+            ack.put("clientId", m.clientId);
+            ack.put("message", message);
+            m.origin.offer(json(ack));
+            push(m.senderId, pushed, m.origin);
+            push(m.recipientId, pushed, null);
+        }
+    }
+
+    private void push(Long userId, String frame, ChatSession except) {
+        Set<ChatSession> own = sessionsByUser.get(userId);
+        if (own != null) {
+            for (ChatSession session : own) {
+                if (session != except) {
+                    session.offer(frame);
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves the user's read cursor in the conversation up to upToId (capped at the newest message)
+     * and tells the other participant's sockets. Returns the user's remaining unread count.
+     */
+    public long markRead(Long userId, Long conversationId, long upToId) {
+        ConversationState state = participantState(userId, conversationId);
+        if (state.read(userId, upToId)) {
+            long readId = state.readIdFor(userId);
+            if (readId < state.lastId()) {
+                // Read part way: count what is left instead of guessing
+                state.setUnread(userId, messageDao.countUnreadAfter(conversationId, userId, readId));
+            }
+            push(state.otherParticipant(userId),
+                    json(Map.of("type", "read", "conversationId", conversationId, "userId", userId, "upToId", readId)), null);
+        }
+        return state.unreadFor(userId);
+    }
+
+    /** Newest first; pass the returned nextCursor to get older messages. */
+    public MessagePage history(Long userId, Long conversationId, Long cursor, int size) {
+        participantState(userId, conversationId);
+        size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<ChatMessage> rows = messageDao.findPage(conversationId, cursor, PageRequest.of(0, size + 1));
+        Long nextCursor = null;
+        if (rows.size() > size) {
+            rows = new ArrayList<>(rows.subList(0, size));
+            nextCursor = rows.get(size - 1).getId();
+        }
+        return new MessagePage(rows, nextCursor);
+    }
+
+    /** The user's conversations, most recently active first. */
+    public List<ConversationSummary> conversations(Long userId) {
+        List<ConversationDao.Row> rows = conversationDao.findRowsForUser(userId, PageRequest.of(0, MAX_CONVERSATIONS));
+        Map<Long, ConversationState> loaded = loadStates(rows);
+        List<ConversationSummary> result = new ArrayList<>(rows.size());
+        for (ConversationDao.Row row : rows) {
+            ConversationState state = loaded.get(row.getId());
+            result.add(new ConversationSummary(row, state.last(), state.unreadFor(userId)));
+        }
+        result.sort(Comparator.comparing((ConversationSummary s) -> s.lastMessage != null ? s.lastMessage.getId() : 0L)
+                .thenComparing(s -> s.id).reversed());
+        return result;
+    }
+
+    /**
+     * Finds or creates the conversation of an application, campaign application or job (exactly one
+     * id given). Only the campaign's creator and the influencer may open it.
+     */
+    public ConversationSummary open(User user, Long applicationId, Long campaignApplicationId, Long jobId) {
+        Campaign campaign;
+        User influencer;
+        if (applicationId != null) {
+            fsa.training.entity.Application app = applicationDao.findById(applicationId).orElseThrow(NotParticipantException::new);
+            campaign = app.getCampaign();
+            influencer = app.getReceiver();
+        } else if (campaignApplicationId != null) {
+            fsa.training.entity.CampaignApplication app = campaignApplicationDao.findById(campaignApplicationId).orElseThrow(NotParticipantException::new);
+            campaign = app.getCampaign();
+            influencer = app.getReceiver();
+        } else if (jobId != null) {
+            fsa.training.entity.Job job = jobDao.findById(jobId).orElseThrow(NotParticipantException::new);
+            campaign = job.getCampaign();
+            influencer = job.getInfluencer();
+        } else {
+            throw new IllegalArgumentException("applicationId, campaignApplicationId or jobId is required");
+        }
+        if (!user.getId().equals(influencer.getId()) && !user.getId().equals(campaign.getCreator().getId())) {
+            throw new NotParticipantException();
+        }
+
+        Conversation conversation = conversationDao.findByCampaign_IdAndInfluencer_Id(campaign.getId(), influencer.getId())
+                .orElse(null);
+        if (conversation == null) {
+            try {
+                conversation = conversationDao.save(new Conversation(campaign, influencer));
+            } catch (DataIntegrityViolationException e) {
+                // Opened by the other participant at the same time
+                conversation = conversationDao.findByCampaign_IdAndInfluencer_Id(campaign.getId(), influencer.getId())
+                        .orElseThrow(() -> e);
+            }
+        }
+
+        List<ConversationDao.Row> rows = conversationDao.findRows(List.of(conversation.getId()));
+        ConversationState state = loadStates(rows).get(conversation.getId());
+        return new ConversationSummary(rows.get(0), state.last(), state.unreadFor(user.getId()));
+    }
+
+    private ConversationState participantState(Long userId, Long conversationId) {
+        ConversationState state = states.get(conversationId);
+        if (state == null) {
+            state = loadStates(conversationDao.findRows(List.of(conversationId))).get(conversationId);
+        }
+        if (state == null || !state.isParticipant(userId)) {
+            throw new NotParticipantException();
+        }
+        state.touch();
+        return state;
+    }
+
+    /** States of the given conversations; the missing ones are built with two queries in total. */
+    private Map<Long, ConversationState> loadStates(List<ConversationDao.Row> rows) {
+        Map<Long, ConversationState> result = new LinkedHashMap<>();
+        Map<Long, ConversationState> missing = new HashMap<>();
+        for (ConversationDao.Row row : rows) {
+            ConversationState state = states.get(row.getId());
+            if (state == null) {
+                state = new ConversationState(row);
+                missing.put(row.getId(), state);
+            }
+            result.put(row.getId(), state);
+        }
+        if (!missing.isEmpty()) {
+            Collection<Long> ids = missing.keySet();
+            Map<Long, ChatMessage> latest = new HashMap<>();
+            for (ChatMessage m : messageDao.findLatest(ids)) {
+                latest.put(m.getConversationId(), m);
+            }
+            Map<Long, long[]> unread = new HashMap<>();
+            for (MessageDao.UnreadRow u : messageDao.countUnread(ids)) {
+                ConversationState state = missing.get(u.getConversationId());
+                long[] counts = unread.computeIfAbsent(u.getConversationId(), k -> new long[2]);
+                // Messages by the creator are unread for the influencer and vice versa
+                counts[state.creatorId.equals(u.getSenderId()) ? 1 : 0] += u.getUnread();
+            }
+            for (ConversationState state : missing.values()) {
+                long[] counts = unread.getOrDefault(state.id, new long[2]);
+                state.loaded(latest.get(state.id), counts[0], counts[1]);
+                ConversationState existing = states.putIfAbsent(state.id, state);
+                // Another thread built it first, and may already have applied writes to it
+                result.put(state.id, existing != null ? existing : state);
+            }
+        }
+        return result;
+    }
+
+    @Scheduled(fixedDelayString = "${app.chat.cursor-flush-ms:5000}")
+    public void flushCursors() {
+        List<Object[]> changed = new ArrayList<>();
+        for (ConversationState state : states.values()) {
+            Object[] cursors = state.takeDirtyCursors();
+            if (cursors != null) {
+                changed.add(cursors);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_CURSORS, changed);
+        } catch (RuntimeException e) {
+            logger.error("Could not store {} chat read cursors", changed.size(), e);
+            for (Object[] cursors : changed) {
+                ConversationState state = states.get((Long) cursors[2]);
+                if (state != null) {
+                    state.markDirty();
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.chat.state-sweep-ms:60000}")
+    public void evictIdleStates() {
+        long ttlMs = TimeUnit.MINUTES.toMillis(stateTtlMinutes);
+        states.values().removeIf(s -> s.isIdle(ttlMs));
+    }
+
+    private String json(Object frame) {
+        try {
+            return objectMapper.writeValueAsString(frame);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        stopping = true;
+        writer.interrupt();
+        writer.join(5000);
+        List<PendingMessage> rest = new ArrayList<>();
+        while (pending.drainTo(rest, maxBatch) > 0) {
+            write(rest);
+            rest.clear();
+        }
+        flushCursors();
+        for (ChatSession session : sessionsById.values()) {
+            session.close(CloseStatus.GOING_AWAY);
+        }
+    }
+}
@@ -2,33 +2,99 @@ package fsa.training.service;
 
 import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.util.unit.DataSize;
 
+import java.io.File;
 import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
 import java.util.Map;
 
+/**
+ * Cloudinary backend. The spooled file is handed to the SDK as a File, which streams it; files
+ * above app.upload.chunked-threshold go through the chunked upload API, so at most one chunk per
+ * upload is held in memory.
+ */
 @Service
-public class CloudinaryService {
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryService implements MediaStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(CloudinaryService.class);
 
     @Autowired
     private Cloudinary cloudinary;
 
-    public String uploadFile(MultipartFile file) throws IOException {
-        String contentType = file.getContentType();
-        String resourceType = "auto";
-        
-        if (contentType != null && contentType.startsWith("video/")) {
-            resourceType = "video";
-        } else if (contentType != null && contentType.startsWith("image/")) {
-            resourceType = "image";
+    @Autowired
+    private ExternalCallGuards externalCallGuards;
+
+    @Value("${cloudinary.connect-timeout-ms:5000}")
+    private int connectTimeoutMs;
+
+    @Value("${cloudinary.read-timeout-ms:60000}")
+    private int readTimeoutMs;
+
+    @Value("${app.upload.chunked-threshold:20MB}")
+    private DataSize chunkedThreshold;
+
+    @Value("${app.upload.chunk-size:6MB}")
+    private DataSize chunkSize;
+
+    private ExternalCallGuard guard;
+
+    @PostConstruct
+    void init() {
+        guard = externalCallGuards.get("cloudinary");
+    }
+
+    @Override
+    public String store(Path file, String contentType) throws IOException {
+        String resourceType = UploadLimits.resourceTypeOf(contentType);
+        return uploadFile(file.toFile(), "raw".equals(resourceType) ? "auto" : resourceType);
+    }
+
+    @Override
+    public boolean owns(String url) {
+        return isOwnUrl(url, cloudinary.config.cloudName);
+    }
+
+    /** Whether the URL is a delivery URL of the given Cloudinary cloud, served over https. */
+    public static boolean isOwnUrl(String url, String cloudName) {
+        if (url == null || cloudName == null || cloudName.isBlank()) {
+            return false;
+        }
+        try {
+            URI uri = URI.create(url);
+            return "https".equals(uri.getScheme()) && "res.cloudinary.com".equalsIgnoreCase(uri.getHost())
+                    && uri.getPort() == -1 && uri.getUserInfo() == null
+                    && uri.getRawPath() != null && uri.getRawPath().startsWith("/" + cloudName + "/");
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    public String uploadFile(File file, String resourceType) throws IOException {
+        Map options = ObjectUtils.asMap(
+            "resource_type", resourceType,
+            "connect_timeout", connectTimeoutMs,
+            "connection_request_timeout", connectTimeoutMs,
+            "timeout", readTimeoutMs
+        );
+
+        Map uploadResult;
+        if (file.length() > chunkedThreshold.toBytes()) {
+            logger.debug("Chunked upload of {} bytes ({} per chunk)", file.length(), chunkSize.toBytes());
+            uploadResult = guard.call(() -> cloudinary.uploader().uploadLarge(file, options, (int) chunkSize.toBytes()));
+        } else {
+            uploadResult = guard.call(() -> cloudinary.uploader().upload(file, options));
         }
 
-        Map uploadResult = cloudinary.uploader().upload(file.getBytes(), ObjectUtils.asMap(
-            "resource_type", resourceType
-        ));
-        
         return (String) uploadResult.get("secure_url");
     }
 }
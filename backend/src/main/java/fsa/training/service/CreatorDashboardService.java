@@ -0,0 +1,120 @@
+package fsa.training.service;
+
+import fsa.training.config.JdbcUsage;
+import fsa.training.dao.ApplicationDao;
+import fsa.training.dao.CampaignApplicationDao;
+import fsa.training.dao.CampaignDao;
+import fsa.training.dao.JobDao;
+import fsa.training.dao.TransactionDao;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Creator dashboard built from aggregate queries only: campaign count, the five newest campaigns,
+ * campaigns per status, pending applications, active jobs and month-to-date spend. No campaign
+ * entity or collection is loaded.
+ *
+ * The queries are independent, so they run concurrently on a small pool of
+ * app.creator-dashboard.threads threads and the response is composed once all have finished. The
+ * pool is bounded so that dashboards cannot take more than that many connections between them;
+ * when it is saturated the request thread runs the query itself.
+ */
+@Service
+public class CreatorDashboardService {
+
+    public static final int RECENT_CAMPAIGNS = 5;
+
+    @Autowired
+    private CampaignDao campaignDao;
+
+    @Autowired
+    private ApplicationDao applicationDao;
+
+    @Autowired
+    private CampaignApplicationDao campaignApplicationDao;
+
+    @Autowired
+    private JobDao jobDao;
+
+    @Autowired
+    private TransactionDao transactionDao;
+
+    @Value("${app.creator-dashboard.threads:4}")
+    private int threads;
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(threads * 4),
+                r -> {
+                    Thread t = new Thread(r, "creator-dashboard-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public Map<String, Object> build(Long creatorId) {
+        CompletableFuture<Long> campaignCount = async(() -> campaignDao.countByCreator_Id(creatorId));
+        CompletableFuture<List<CampaignDao.CampaignSummary>> recent = async(() ->
+                campaignDao.findSummariesByCreator(creatorId, PageRequest.of(0, RECENT_CAMPAIGNS)));
+        CompletableFuture<List<CampaignDao.StatusCount>> byStatus = async(() -> campaignDao.countByStatusForCreator(creatorId));
+        CompletableFuture<Long> pendingApplications = async(() ->
+                applicationDao.countByCampaign_Creator_IdAndStatus(creatorId, "PENDING"));
+        CompletableFuture<Long> pendingCampaignApplications = async(() ->
+                campaignApplicationDao.countByCampaign_Creator_IdAndStatus(creatorId, "PENDING"));
+        CompletableFuture<Long> activeJobs = async(() -> jobDao.countByCampaign_Creator_IdAndStatus(creatorId, "IN_PROGRESS"));
+        CompletableFuture<Double> monthToDateSpend = async(() ->
+                transactionDao.sumPaymentsSince(creatorId, LocalDate.now().withDayOfMonth(1).atStartOfDay()));
+
+        try {
+            CompletableFuture.allOf(campaignCount, recent, byStatus, pendingApplications, pendingCampaignApplications,
+                    activeJobs, monthToDateSpend).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+
+        Map<String, Long> statusCounts = new LinkedHashMap<>();
+        for (CampaignDao.StatusCount row : byStatus.join()) {
+            statusCounts.put(row.getStatus() != null ? row.getStatus() : "UNKNOWN", row.getTotal());
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("campaignCount", campaignCount.join());
+        response.put("recentCampaigns", recent.join());
+        response.put("campaignsByStatus", statusCounts);
+        response.put("pendingApplications", pendingApplications.join() + pendingCampaignApplications.join());
+        response.put("activeJobs", activeJobs.join());
+        response.put("monthToDateSpend", monthToDateSpend.join());
+        return response;
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> query) {
+        // Counted towards the request's JDBC metrics although it runs on a pool thread
+        return CompletableFuture.supplyAsync(JdbcUsage.propagate(query), executor);
+    }
+}
@@ -0,0 +1,206 @@
+package fsa.training.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fsa.training.dao.OutboxEventDao;
+import fsa.training.entity.OutboxEvent;
+import fsa.training.event.ApplicationAccepted;
+import fsa.training.event.JobCompleted;
+import fsa.training.event.ReviewPosted;
+import fsa.training.event.VerificationApproved;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process domain event bus backed by a transactional outbox.
+ *
+ * publish() stores the event in outbox_events inside the caller's transaction, so an event exists
+ * exactly when the change it describes was committed. After commit the dispatcher is woken; it also
+ * polls every app.outbox.poll-interval-ms for events left by a crash or a failed attempt. The
+ * dispatcher leases due events in batches, hands each one to a bounded handler pool and, there,
+ * delivers it to the @EventListener methods for its type (see DomainEventHandlers). An event is
+ * deleted once all handlers returned; if one throws, the event is retried later with exponential
+ * backoff and, after app.outbox.max-attempts, parked as DEAD. Delivery is therefore at least once
+ * and unordered: handlers must be idempotent.
+ */
+@Service
+public class DomainEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(DomainEventBus.class);
+
+    // Event types that may be stored, by the name written to the outbox
+    private static final Map<String, Class<?>> TYPES = Map.of(
+            "ApplicationAccepted", ApplicationAccepted.class,
+            "JobCompleted", JobCompleted.class,
+            "ReviewPosted", ReviewPosted.class,
+            "VerificationApproved", VerificationApproved.class);
+
+    @Autowired
+    private OutboxEventDao outboxEventDao;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.handler-threads:4}")
+    private int handlerThreads;
+
+    @Value("${app.outbox.lease-seconds:60}")
+    private long leaseSeconds;
+
+    @Value("${app.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    private ExecutorService dispatcher;
+
+    private ThreadPoolExecutor handlers;
+
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+
+    @PostConstruct
+    void init() {
+        dispatcher = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "outbox-dispatcher");
+            t.setDaemon(true);
+            return t;
+        });
+        AtomicInteger threadCount = new AtomicInteger();
+        // A full queue runs the handler on the dispatcher thread, which slows claiming down
+        handlers = new ThreadPoolExecutor(handlerThreads, handlerThreads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(batchSize),
+                r -> {
+                    Thread t = new Thread(r, "outbox-handler-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        handlers.shutdownNow();
+    }
+
+    /**
+     * Stores the event in the current transaction; handlers run after it commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(Object event) {
+        String type = event.getClass().getSimpleName();
+        if (TYPES.get(type) != event.getClass()) {
+            throw new IllegalArgumentException("Unknown domain event type " + type);
+        }
+        try {
+            outboxEventDao.save(new OutboxEvent(type, objectMapper.writeValueAsString(event)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + type, e);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                requestDrain();
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+    public void poll() {
+        requestDrain();
+    }
+
+    private void requestDrain() {
+        // Coalesce wake-ups: at most one drain queued behind the running one
+        if (drainRequested.compareAndSet(false, true)) {
+            try {
+                dispatcher.execute(() -> {
+                    drainRequested.set(false);
+                    drain();
+                });
+            } catch (RuntimeException e) {
+                drainRequested.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                LocalDateTime now = LocalDateTime.now();
+                List<Long> due = outboxEventDao.findDueIds(now, PageRequest.of(0, batchSize));
+                if (due.isEmpty()) {
+                    return;
+                }
+                String token = UUID.randomUUID().toString();
+                outboxEventDao.claim(due, token, now.plusSeconds(leaseSeconds), now);
+                List<OutboxEvent> batch = outboxEventDao.findByLockTokenOrderByIdAsc(token);
+                if (batch.isEmpty()) {
+                    continue;
+                }
+
+                List<CompletableFuture<Void>> running = new ArrayList<>(batch.size());
+                for (OutboxEvent event : batch) {
+                    running.add(CompletableFuture.runAsync(() -> deliver(event, token), handlers));
+                }
+                CompletableFuture.allOf(running.toArray(new CompletableFuture[0])).join();
+            }
+        } catch (RuntimeException e) {
+            logger.error("Outbox dispatch failed, will retry on next poll", e);
+        }
+    }
+
+    private void deliver(OutboxEvent event, String token) {
+        try {
+            Class<?> type = TYPES.get(event.getEventType());
+            if (type == null) {
+                throw new IllegalStateException("Unknown domain event type " + event.getEventType());
+            }
+            applicationEventPublisher.publishEvent(objectMapper.readValue(event.getPayload(), type));
+            outboxEventDao.deleteHandled(event.getId(), token);
+        } catch (Exception e) {
+            int attempt = event.getAttempts() + 1;
+            boolean dead = attempt >= maxAttempts;
+            long backoffSeconds = Math.min(300, 1L << Math.min(attempt, 9));
+            String error = String.valueOf(e.getMessage());
+            outboxEventDao.reschedule(event.getId(), token, dead ? "DEAD" : "PENDING",
+                    LocalDateTime.now().plusSeconds(backoffSeconds),
+                    error.length() > 1000 ? error.substring(0, 1000) : error);
+            if (dead) {
+                logger.error("Outbox event {} ({}) failed {} times, parked as DEAD", event.getId(), event.getEventType(), attempt, e);
+            } else {
+                logger.warn("Outbox event {} ({}) failed, retry {} in {}s: {}", event.getId(), event.getEventType(), attempt, backoffSeconds, error);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package fsa.training.service;
+
+import fsa.training.dao.ApplicationDao;
+import fsa.training.dao.CampaignDao;
+import fsa.training.dao.UserDao;
+import fsa.training.event.ApplicationAccepted;
+import fsa.training.event.JobCompleted;
+import fsa.training.event.ReviewPosted;
+import fsa.training.event.VerificationApproved;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Side effects of domain events, run by DomainEventBus on its handler pool after the originating
+ * transaction committed. Delivery is at least once, so every handler must tolerate repeats: the
+ * updates below are idempotent; a repeat may only duplicate a notification.
+ */
+@Service
+public class DomainEventHandlers {
+
+    @Autowired
+    private CampaignDao campaignDao;
+
+    @Autowired
+    private ApplicationDao applicationDao;
+
+    @Autowired
+    private UserDao userDao;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private ProfileService profileService;
+
+    @EventListener
+    public void onApplicationAccepted(ApplicationAccepted event) {
+        profileService.evict(event.receiverId());
+        notificationService.publish(event.receiverId(), NotificationService.APPLICATION_STATUS,
+                "Cập nhật ứng tuyển",
+                "Đơn ứng tuyển chiến dịch \"" + event.campaignTitle() + "\" của bạn đã được chấp nhận. Công việc đã được tạo.");
+    }
+
+    @EventListener
+    @Transactional
+    public void onJobCompleted(JobCompleted event) {
+        campaignDao.updateStatus(event.campaignId(), "COMPLETED");
+        applicationDao.updateStatusByCampaignAndReceiver(event.campaignId(), event.influencerId(), "COMPLETED");
+        profileService.evict(event.influencerId());
+        profileService.evict(event.creatorId());
+        notificationService.publish(event.influencerId(), NotificationService.PAYMENT_RECEIVED,
+                "Đã nhận thanh toán",
+                "Công việc cho chiến dịch \"" + event.campaignTitle() + "\" đã hoàn thành. " + event.amount() + " đã được chuyển vào ví của bạn.");
+    }
+
+    @EventListener
+    @Transactional
+    public void onVerificationApproved(VerificationApproved event) {
+        userDao.markVerified(event.userId());
+        profileService.evict(event.userId());
+        notificationService.publish(event.userId(), NotificationService.VERIFICATION, "Xác thực thành công",
+                event.automatic() ? "Tài khoản của bạn đã được xác thực tự động." : "Tài khoản của bạn đã được quản trị viên xác thực.");
+    }
+
+    @EventListener
+    public void onReviewPosted(ReviewPosted event) {
+        profileService.evict(event.revieweeId());
+        notificationService.publish(event.revieweeId(), NotificationService.REVIEW_RECEIVED, "Đánh giá mới",
+                event.reviewerName() + " đã đánh giá bạn " + event.rating() + "/5 cho chiến dịch \"" + event.campaignTitle() + "\".");
+    }
+}
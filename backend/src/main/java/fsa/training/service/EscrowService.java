@@ -0,0 +1,162 @@
+package fsa.training.service;
+
+import fsa.training.dao.EscrowHoldDao;
+import fsa.training.dao.JobDao;
+import fsa.training.dao.TransactionDao;
+import fsa.training.dao.WalletDao;
+import fsa.training.entity.EscrowHold;
+import fsa.training.entity.Job;
+import fsa.training.entity.Transaction;
+import fsa.training.entity.User;
+import fsa.training.entity.Wallet;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Escrow for job payments. The job price is moved from the creator's available balance into
+ * held balance when the application is accepted, so completing the job only has to release
+ * the hold and credit the influencer instead of re-checking and debiting a hot wallet row.
+ * A job that is cancelled, or whose application is taken back from ACCEPTED, is refunded:
+ * the hold goes back to the creator's available balance.
+ */
+@Service
+public class EscrowService {
+
+    @Autowired
+    private EscrowHoldDao escrowHoldDao;
+
+    @Autowired
+    private WalletDao walletDao;
+
+    @Autowired
+    private TransactionDao transactionDao;
+
+    @Autowired
+    private JobDao jobDao;
+
+    public static class InsufficientFundsException extends RuntimeException {
+        public InsufficientFundsException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Saves a new job and reserves its price from the campaign creator's wallet.
+     * Nothing is persisted if the creator cannot cover the price.
+     */
+    @Transactional
+    public Job openJob(Job job) {
+        job = jobDao.save(job);
+
+        double amount = job.getPrice() != null ? job.getPrice() : 0.0;
+        if (amount <= 0) {
+            return job;
+        }
+
+        Wallet creatorWallet = walletDao.findByUser(job.getCampaign().getCreator())
+                .orElseThrow(() -> new InsufficientFundsException("Creator wallet not found"));
+        if (walletDao.hold(creatorWallet.getId(), amount) == 0) {
+            throw new InsufficientFundsException("Insufficient funds to reserve payment for this job");
+        }
+
+        EscrowHold hold = new EscrowHold();
+        hold.setJob(job);
+        hold.setWallet(creatorWallet);
+        hold.setAmount(amount);
+        hold.setStatus("HELD");
+        escrowHoldDao.save(hold);
+
+        Transaction tx = new Transaction();
+        tx.setWallet(creatorWallet);
+        tx.setAmount(amount);
+        tx.setType("ESCROW_HOLD");
+        tx.setStatus("COMPLETED");
+        tx.setDescription("Funds reserved for Job #" + job.getId() + ": " + job.getCampaign().getTitle());
+        transactionDao.save(tx);
+
+        return job;
+    }
+
+    /**
+     * Pays the influencer for a completed job by releasing its escrow hold.
+     * Jobs accepted before escrow existed have no hold and are paid from the available balance.
+     */
+    @Transactional
+    public void settle(Job job) {
+        double amount = job.getPrice() != null ? job.getPrice() : 0.0;
+        Optional<EscrowHold> holdOpt = escrowHoldDao.findByJobAndStatus(job, "HELD");
+        if (amount <= 0 && holdOpt.isEmpty()) {
+            return;
+        }
+
+        Wallet creatorWallet = walletDao.findByUser(job.getCampaign().getCreator())
+                .orElseThrow(() -> new InsufficientFundsException("Creator wallet not found"));
+
+        if (holdOpt.isPresent()) {
+            EscrowHold hold = holdOpt.get();
+            amount = hold.getAmount();
+            if (escrowHoldDao.release(hold.getId(), LocalDateTime.now()) == 0
+                    || walletDao.releaseHeld(creatorWallet.getId(), amount) == 0) {
+                throw new IllegalStateException("Escrow for Job #" + job.getId() + " was already settled");
+            }
+        } else if (walletDao.debit(creatorWallet.getId(), amount) == 0) {
+            throw new InsufficientFundsException("Insufficient funds in wallet");
+        }
+
+        Wallet influencerWallet = getOrCreateWallet(job.getInfluencer());
+        walletDao.credit(influencerWallet.getId(), amount);
+
+        Transaction debit = new Transaction();
+        debit.setWallet(creatorWallet);
+        debit.setAmount(amount);
+        debit.setType("PAYMENT");
+        debit.setStatus("COMPLETED");
+        debit.setDescription("Payment for Job #" + job.getId() + ": " + job.getCampaign().getTitle());
+
+        Transaction credit = new Transaction();
+        credit.setWallet(influencerWallet);
+        credit.setAmount(amount);
+        credit.setType("DEPOSIT");
+        credit.setStatus("COMPLETED");
+        credit.setDescription("Payment received for Job #" + job.getId());
+
+        transactionDao.saveAll(List.of(debit, credit));
+    }
+
+    /**
+     * Returns a job's reserved price to the creator's available balance when the job will not be
+     * completed. Returns false if the job has no open hold (nothing reserved, or already settled).
+     */
+    @Transactional
+    public boolean refund(Job job) {
+        Optional<EscrowHold> holdOpt = escrowHoldDao.findByJobAndStatus(job, "HELD");
+        if (holdOpt.isEmpty()) {
+            return false;
+        }
+        EscrowHold hold = holdOpt.get();
+        if (escrowHoldDao.refund(hold.getId(), LocalDateTime.now()) == 0) {
+            return false;
+        }
+        if (walletDao.returnHeld(hold.getWallet().getId(), hold.getAmount()) == 0) {
+            throw new IllegalStateException("Escrow for Job #" + job.getId() + " is not held in the creator's wallet");
+        }
+
+        Transaction tx = new Transaction();
+        tx.setWallet(hold.getWallet());
+        tx.setAmount(hold.getAmount());
+        tx.setType("ESCROW_REFUND");
+        tx.setStatus("COMPLETED");
+        tx.setDescription("Reserved funds returned for Job #" + job.getId() + ": " + job.getCampaign().getTitle());
+        transactionDao.save(tx);
+        return true;
+    }
+
+    private Wallet getOrCreateWallet(User user) {
+        return walletDao.findByUser(user).orElseGet(() -> walletDao.save(new Wallet(user, 0.0)));
+    }
+}
@@ -0,0 +1,194 @@
+package fsa.training.service;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bulkhead plus circuit breaker for one third-party dependency.
+ *
+ * The bulkhead caps concurrent calls so a slow dependency can only tie up that many request
+ * threads. The breaker looks at the outcome of the last windowSize calls; when enough of them
+ * failed or were slower than slowCallMs it opens and rejects calls immediately for openMs, then
+ * lets halfOpenCalls trial calls through to decide whether to close again.
+ *
+ * Timeouts themselves belong to the HTTP client of each dependency; a call that is cut off by
+ * its client timeout counts as a failure here.
+ */
+public class ExternalCallGuard {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    public static class Settings {
+        public int maxConcurrent = 10;
+        public long maxWaitMs = 0;
+        public int windowSize = 20;
+        public int minimumCalls = 10;
+        public double failureRateThreshold = 0.5;
+        public long slowCallMs = 5000;
+        public double slowCallRateThreshold = 0.8;
+        public long openMs = 30000;
+        public int halfOpenCalls = 3;
+    }
+
+    /** Thrown without calling the dependency, when the breaker is open or the bulkhead is full. */
+    public static class CallNotPermittedException extends RuntimeException {
+        public CallNotPermittedException(String message) {
+            super(message);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    private static final byte FAILED = 1;
+    private static final byte SLOW = 2;
+
+    private final String name;
+    private final Settings settings;
+    private final Semaphore bulkhead;
+
+    // Ring buffer of recent outcomes, guarded by this
+    private final byte[] window;
+    private int windowPos;
+    private int windowCount;
+    private int failedInWindow;
+    private int slowInWindow;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSucceeded;
+
+    final LongAdder succeeded = new LongAdder();
+    final LongAdder failed = new LongAdder();
+    final LongAdder shortCircuited = new LongAdder();
+    final LongAdder bulkheadRejected = new LongAdder();
+
+    public ExternalCallGuard(String name, Settings settings) {
+        this.name = name;
+        this.settings = settings;
+        this.bulkhead = new Semaphore(settings.maxConcurrent);
+        this.window = new byte[settings.windowSize];
+    }
+
+    public <T, E extends Exception> T call(Call<T, E> call) throws E {
+        if (!acquirePermission()) {
+            shortCircuited.increment();
+            throw new CallNotPermittedException(name + " is unavailable (circuit open)");
+        }
+        boolean entered;
+        try {
+            entered = settings.maxWaitMs > 0
+                    ? bulkhead.tryAcquire(settings.maxWaitMs, TimeUnit.MILLISECONDS)
+                    : bulkhead.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entered = false;
+        }
+        if (!entered) {
+            releaseTrialPermit();
+            bulkheadRejected.increment();
+            throw new CallNotPermittedException(name + " is busy (too many concurrent calls)");
+        }
+
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            T result = call.run();
+            ok = true;
+            return result;
+        } finally {
+            bulkhead.release();
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            (ok ? succeeded : failed).increment();
+            record(ok, elapsedMs >= settings.slowCallMs);
+        }
+    }
+
+    public synchronized State getState() {
+        // Report the cool-down as over even if no call has arrived to flip it yet
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= settings.openMs) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public String getName() { return name; }
+
+    public int getAvailableConcurrency() { return bulkhead.availablePermits(); }
+
+    private synchronized boolean acquirePermission() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < settings.openMs) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = settings.halfOpenCalls;
+            halfOpenSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    private synchronized void releaseTrialPermit() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    private synchronized void record(boolean ok, boolean slow) {
+        if (state == State.HALF_OPEN) {
+            if (!ok || slow) {
+                open();
+            } else if (++halfOpenSucceeded >= settings.halfOpenCalls) {
+                state = State.CLOSED;
+                resetWindow();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            // Late result of a call that started before the breaker opened
+            return;
+        }
+
+        if (windowCount == window.length) {
+            byte evicted = window[windowPos];
+            if ((evicted & FAILED) != 0) failedInWindow--;
+            if ((evicted & SLOW) != 0) slowInWindow--;
+        } else {
+            windowCount++;
+        }
+        byte outcome = (byte) ((ok ? 0 : FAILED) | (slow ? SLOW : 0));
+        window[windowPos] = outcome;
+        windowPos = (windowPos + 1) % window.length;
+        if (!ok) failedInWindow++;
+        if (slow) slowInWindow++;
+
+        if (windowCount >= settings.minimumCalls
+                && ((double) failedInWindow / windowCount >= settings.failureRateThreshold
+                    || (double) slowInWindow / windowCount >= settings.slowCallRateThreshold)) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.currentTimeMillis();
+        resetWindow();
+    }
+
+    private void resetWindow() {
+        windowPos = 0;
+        windowCount = 0;
+        failedInWindow = 0;
+        slowInWindow = 0;
+    }
+}
@@ -0,0 +1,68 @@
+package fsa.training.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One {@link ExternalCallGuard} per third-party dependency, configured from
+ * app.resilience.&lt;name&gt;.* and published as metrics:
+ * external.circuit.state (0 closed, 1 open, 2 half-open), external.bulkhead.available and
+ * external.calls{outcome=success|failure|short_circuited|bulkhead_full}.
+ */
+@Component
+public class ExternalCallGuards {
+
+    @Autowired
+    private Environment env;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ConcurrentHashMap<String, ExternalCallGuard> guards = new ConcurrentHashMap<>();
+
+    public ExternalCallGuard get(String name) {
+        return guards.computeIfAbsent(name, this::create);
+    }
+
+    private ExternalCallGuard create(String name) {
+        String prefix = "app.resilience." + name + ".";
+        ExternalCallGuard.Settings s = new ExternalCallGuard.Settings();
+        s.maxConcurrent = env.getProperty(prefix + "max-concurrent", Integer.class, s.maxConcurrent);
+        s.maxWaitMs = env.getProperty(prefix + "max-wait-ms", Long.class, s.maxWaitMs);
+        s.windowSize = env.getProperty(prefix + "window-size", Integer.class, s.windowSize);
+        s.minimumCalls = env.getProperty(prefix + "minimum-calls", Integer.class, s.minimumCalls);
+        s.failureRateThreshold = env.getProperty(prefix + "failure-rate-threshold", Double.class, s.failureRateThreshold);
+        s.slowCallMs = env.getProperty(prefix + "slow-call-ms", Long.class, s.slowCallMs);
+        s.slowCallRateThreshold = env.getProperty(prefix + "slow-call-rate-threshold", Double.class, s.slowCallRateThreshold);
+        s.openMs = env.getProperty(prefix + "open-ms", Long.class, s.openMs);
+        s.halfOpenCalls = env.getProperty(prefix + "half-open-calls", Integer.class, s.halfOpenCalls);
+
+        ExternalCallGuard guard = new ExternalCallGuard(name, s);
+        Gauge.builder("external.circuit.state", guard, g -> g.getState().ordinal())
+                .tag("dependency", name)
+                .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(meterRegistry);
+        Gauge.builder("external.bulkhead.available", guard, ExternalCallGuard::getAvailableConcurrency)
+                .tag("dependency", name)
+                .register(meterRegistry);
+        registerCounter(name, "success", guard.succeeded);
+        registerCounter(name, "failure", guard.failed);
+        registerCounter(name, "short_circuited", guard.shortCircuited);
+        registerCounter(name, "bulkhead_full", guard.bulkheadRejected);
+        return guard;
+    }
+
+    private void registerCounter(String name, String outcome, LongAdder adder) {
+        FunctionCounter.builder("external.calls", adder, LongAdder::doubleValue)
+                .tag("dependency", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
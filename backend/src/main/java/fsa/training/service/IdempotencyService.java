@@ -0,0 +1,244 @@
+package fsa.training.service;
+
+import fsa.training.dao.IdempotencyRecordDao;
+import fsa.training.entity.IdempotencyRecord;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.ServletException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Stores the response of a request made with an Idempotency-Key so that client retries
+ * are answered from the store instead of running the write path again.
+ *
+ * Completed responses live in the idempotency_keys table for app.idempotency.ttl-hours and
+ * in a bounded in-memory near-cache in front of it. Only outcomes a retry would get again are
+ * kept: successes and client errors other than the transient 408 / 409 / 429. Anything else
+ * releases the key. Duplicates that arrive while the first request is still running are
+ * coalesced onto it: in-process they wait for its result and run the request themselves if it
+ * ended without a replayable one; across instances the IN_PROGRESS row (unique on user + key)
+ * makes them fail fast with 409.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    @Autowired
+    private IdempotencyRecordDao idempotencyRecordDao;
+
+    @Value("${app.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${app.idempotency.lock-timeout-seconds:60}")
+    private long lockTimeoutSeconds;
+
+    @Value("${app.idempotency.near-cache-size:10000}")
+    private int nearCacheSize;
+
+    private Map<String, StoredResponse> nearCache;
+
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public static class StoredResponse {
+        public final String scope;
+        public final int status;
+        public final String contentType;
+        public final String body;
+        public final LocalDateTime expiresAt;
+
+        public StoredResponse(String scope, int status, String contentType, String body, LocalDateTime expiresAt) {
+            this.scope = scope;
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+            this.expiresAt = expiresAt;
+        }
+
+        public boolean isSuccessful() {
+            return status >= 200 && status < 300;
+        }
+
+        /** True for outcomes a retry of the same request would get again, which are the only ones stored and replayed. */
+        public boolean isReplayable() {
+            if (isSuccessful()) {
+                return true;
+            }
+            return status >= 400 && status < 500 && status != 408 && status != 409 && status != 429;
+        }
+    }
+
+    public static class Result {
+        public final StoredResponse response;
+        // false when the response comes from the store (or is a conflict) and the action did not run
+        public final boolean executed;
+
+        public Result(StoredResponse response, boolean executed) {
+            this.response = response;
+            this.executed = executed;
+        }
+    }
+
+    @FunctionalInterface
+    public interface Action {
+        StoredResponse run() throws IOException, ServletException;
+    }
+
+    @PostConstruct
+    void init() {
+        nearCache = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > nearCacheSize;
+            }
+        });
+    }
+
+    public Result execute(Long userId, String key, String scope, Action action) throws IOException, ServletException {
+        String cacheKey = userId + ":" + key;
+
+        while (true) {
+            StoredResponse cached = nearCache.get(cacheKey);
+            if (cached != null && cached.expiresAt.isAfter(LocalDateTime.now())) {
+                return replay(cached, scope);
+            }
+
+            CompletableFuture<StoredResponse> mine = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> leader = inFlight.putIfAbsent(cacheKey, mine);
+            if (leader == null) {
+                return lead(userId, key, scope, cacheKey, mine, action);
+            }
+            Result replayed = awaitLeader(leader, scope);
+            if (replayed != null) {
+                return replayed;
+            }
+            // The leader ended without a replayable response and released the key; run it ourselves
+        }
+    }
+
+    private Result lead(Long userId, String key, String scope, String cacheKey, CompletableFuture<StoredResponse> mine,
+                        Action action) throws IOException, ServletException {
+        try {
+            Optional<IdempotencyRecord> existing = idempotencyRecordDao.findByUserIdAndIdempotencyKey(userId, key);
+            if (existing.isPresent()) {
+                IdempotencyRecord record = existing.get();
+                if (record.getExpiresAt().isBefore(LocalDateTime.now())) {
+                    idempotencyRecordDao.delete(record);
+                } else if ("COMPLETED".equals(record.getStatus())) {
+                    StoredResponse stored = toStoredResponse(record);
+                    nearCache.put(cacheKey, stored);
+                    mine.complete(stored);
+                    return replay(stored, scope);
+                } else {
+                    return conflict(scope, 409, "A request with this Idempotency-Key is already being processed");
+                }
+            }
+
+            IdempotencyRecord claim = new IdempotencyRecord();
+            claim.setUserId(userId);
+            claim.setIdempotencyKey(key);
+            claim.setScope(scope);
+            claim.setStatus("IN_PROGRESS");
+            claim.setExpiresAt(LocalDateTime.now().plusSeconds(lockTimeoutSeconds));
+            try {
+                claim = idempotencyRecordDao.saveAndFlush(claim);
+            } catch (DataIntegrityViolationException e) {
+                // Another instance claimed the key between our lookup and insert
+                return conflict(scope, 409, "A request with this Idempotency-Key is already being processed");
+            }
+
+            StoredResponse response;
+            try {
+                response = action.run();
+            } catch (IOException | ServletException | RuntimeException e) {
+                idempotencyRecordDao.delete(claim);
+                throw e;
+            }
+
+            if (response.isReplayable()) {
+                LocalDateTime expiresAt = LocalDateTime.now().plusHours(ttlHours);
+                claim.setStatus("COMPLETED");
+                claim.setResponseStatus(response.status);
+                claim.setContentType(response.contentType);
+                claim.setResponseBody(response.body);
+                claim.setExpiresAt(expiresAt);
+                idempotencyRecordDao.save(claim);
+
+                response = new StoredResponse(scope, response.status, response.contentType, response.body, expiresAt);
+                nearCache.put(cacheKey, response);
+                mine.complete(response);
+            } else {
+                // Server errors and conflicts did not move money; release the key so the client (and
+                // any duplicate waiting on this one) can retry
+                idempotencyRecordDao.delete(claim);
+            }
+
+            return new Result(response, true);
+        } finally {
+            inFlight.remove(cacheKey, mine);
+            if (!mine.isDone()) {
+                mine.completeExceptionally(new IllegalStateException("Idempotent request did not complete"));
+            }
+        }
+    }
+
+    /** The leader's response replayed, or null if it finished without a replayable one. */
+    private Result awaitLeader(CompletableFuture<StoredResponse> leader, String scope) {
+        try {
+            return replay(leader.get(lockTimeoutSeconds, TimeUnit.SECONDS), scope);
+        } catch (TimeoutException e) {
+            return conflict(scope, 409, "A request with this Idempotency-Key is already being processed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return conflict(scope, 409, "A request with this Idempotency-Key is already being processed");
+        } catch (ExecutionException e) {
+            return null;
+        }
+    }
+
+    private Result replay(StoredResponse stored, String scope) {
+        if (!stored.scope.equals(scope)) {
+            return conflict(scope, 422, "Idempotency-Key was already used for a different request");
+        }
+        return new Result(stored, false);
+    }
+
+    private Result conflict(String scope, int status, String message) {
+        String body = "{\"status\":\"error\",\"message\":\"" + message + "\"}";
+        return new Result(new StoredResponse(scope, status, "application/json", body, LocalDateTime.now()), false);
+    }
+
+    private StoredResponse toStoredResponse(IdempotencyRecord record) {
+        return new StoredResponse(record.getScope(), record.getResponseStatus(), record.getContentType(),
+                record.getResponseBody(), record.getExpiresAt());
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        synchronized (nearCache) {
+            nearCache.values().removeIf(stored -> stored.expiresAt.isBefore(now));
+        }
+        int removed = idempotencyRecordDao.deleteExpired(now);
+        if (removed > 0) {
+            logger.debug("Purged {} expired idempotency keys", removed);
+        }
+    }
+}
@@ -0,0 +1,396 @@
+package fsa.training.service;
+
+import com.cloudinary.Cloudinary;
+import fsa.training.dao.ImageVariantDao;
+import fsa.training.entity.ImageVariant;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-width derivatives (thumbnail, card, full) of uploaded images, so listings do not download
+ * originals. Variants are generated on a small bounded pool right after an image upload and stored
+ * through the configured {@link MediaStorage}; the mapping is kept in image_variants and in an LRU
+ * cache in front of it. Images without variants (older uploads, uploads that found the pool full)
+ * get them lazily: the first lookup schedules generation and answers with the original URL until
+ * the variants exist.
+ *
+ * Only media we stored ourselves is ever read: files of the configured {@link MediaStorage} and
+ * https delivery URLs of our Cloudinary cloud, fetched without following redirects. Any other URL
+ * keeps its original for every variant, so a caller cannot make the server fetch arbitrary hosts.
+ * Image dimensions are read from the header and checked against app.media.variants.max-pixels
+ * before anything is decoded.
+ *
+ * Variants are encoded as WebP when an ImageIO WebP writer is on the classpath, JPEG otherwise.
+ */
+@Service
+public class ImageVariantService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantService.class);
+
+    public static final Map<String, Integer> VARIANT_WIDTHS;
+    static {
+        Map<String, Integer> widths = new LinkedHashMap<>();
+        widths.put("thumbnail", 160);
+        widths.put("card", 480);
+        widths.put("full", 1280);
+        VARIANT_WIDTHS = Collections.unmodifiableMap(widths);
+    }
+
+    @Autowired
+    private ImageVariantDao imageVariantDao;
+
+    @Autowired
+    private MediaStorage mediaStorage;
+
+    @Autowired
+    private Cloudinary cloudinary;
+
+    @Value("${app.media.variants.workers:2}")
+    private int workers;
+
+    @Value("${app.media.variants.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${app.media.variants.cache-size:5000}")
+    private int cacheSize;
+
+    @Value("${app.media.variants.quality:0.82}")
+    private float quality;
+
+    @Value("${app.media.variants.max-source-size:20MB}")
+    private DataSize maxSourceSize;
+
+    @Value("${app.media.variants.max-pixels:40000000}")
+    private long maxPixels;
+
+    @Value("${app.media.variants.retry-after-minutes:10}")
+    private long retryAfterMinutes;
+
+    @Value("${app.upload.spool-dir:${java.io.tmpdir}/influconnect-uploads}")
+    private Path spoolDir;
+
+    private ThreadPoolExecutor executor;
+
+    private HttpClient httpClient;
+
+    private String format;
+
+    // Original URL -> complete variant map, least recently used evicted first
+    private Map<String, Map<String, String>> cache;
+
+    // Original URL -> time before which generation is not retried
+    private Map<String, Long> failedUntil;
+
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() throws IOException {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "image-variants-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                // A redirect could lead anywhere, including internal hosts
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        format = ImageIO.getImageWritersByFormatName("webp").hasNext() ? "webp" : "jpeg";
+        cache = lru(cacheSize);
+        failedUntil = lru(1000);
+        Files.createDirectories(spoolDir);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Generates the variants of a freshly uploaded image from its spooled file. Returns true if the
+     * task was accepted, in which case the task deletes the file; otherwise the caller keeps it and
+     * the variants are generated lazily later.
+     */
+    public boolean submit(String url, Path file) {
+        return schedule(url, file);
+    }
+
+    /**
+     * Variant maps for the given image URLs, in order. Missing variants fall back to the original
+     * URL and are scheduled for generation.
+     */
+    public Map<String, Map<String, String>> variantsOf(Collection<String> urls) {
+        Map<String, Map<String, String>> result = new LinkedHashMap<>();
+        Map<String, String> missesByKey = new HashMap<>();
+        for (String url : urls) {
+            if (url == null || url.isBlank() || result.containsKey(url)) {
+                continue;
+            }
+            if (!isOwnMedia(url)) {
+                result.put(url, ordered(Map.of(), url));
+                continue;
+            }
+            Map<String, String> cached = cache.get(url);
+            if (cached != null) {
+                result.put(url, cached);
+            } else {
+                result.put(url, null);
+                missesByKey.put(keyFor(url), url);
+            }
+        }
+        if (missesByKey.isEmpty()) {
+            return result;
+        }
+
+        Map<String, Map<String, String>> stored = new HashMap<>();
+        for (ImageVariant v : imageVariantDao.findBySourceKeyIn(missesByKey.keySet())) {
+            stored.computeIfAbsent(missesByKey.get(v.getSourceKey()), k -> new HashMap<>()).put(v.getVariant(), v.getUrl());
+        }
+        for (String url : missesByKey.values()) {
+            Map<String, String> found = stored.getOrDefault(url, Map.of());
+            if (found.size() == VARIANT_WIDTHS.size()) {
+                Map<String, String> complete = ordered(found, url);
+                cache.put(url, complete);
+                result.put(url, complete);
+            } else {
+                schedule(url, null);
+                result.put(url, ordered(found, url));
+            }
+        }
+        return result;
+    }
+
+    private boolean schedule(String url, Path file) {
+        Long retryAt = failedUntil.get(url);
+        if ((retryAt != null && retryAt > System.currentTimeMillis()) || !inFlight.add(url)) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generate(url, file);
+                } catch (Exception e) {
+                    failedUntil.put(url, System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(retryAfterMinutes));
+                    logger.warn("Could not generate variants of {}: {}", url, e.toString());
+                } finally {
+                    inFlight.remove(url);
+                    if (file != null) {
+                        try {
+                            Files.deleteIfExists(file);
+                        } catch (IOException e) {
+                            logger.debug("Could not delete {}", file);
+                        }
+                    }
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(url);
+            logger.debug("Variant queue full, {} left for lazy generation", url);
+            return false;
+        }
+    }
+
+    private void generate(String url, Path file) throws IOException {
+        BufferedImage source = file != null ? decode(file.toFile()) : readSource(url);
+
+        String sourceKey = keyFor(url);
+        List<ImageVariant> rows = new ArrayList<>();
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (Map.Entry<String, Integer> e : VARIANT_WIDTHS.entrySet()) {
+            BufferedImage scaled = scale(source, Math.min(e.getValue(), source.getWidth()));
+            Path encoded = Files.createTempFile(spoolDir, "variant-", "." + format);
+            try {
+                encode(scaled, encoded);
+                String variantUrl = mediaStorage.store(encoded, "image/" + format);
+                rows.add(new ImageVariant(sourceKey, e.getKey(), variantUrl, scaled.getWidth(), scaled.getHeight()));
+                urls.put(e.getKey(), variantUrl);
+            } finally {
+                Files.deleteIfExists(encoded);
+            }
+        }
+
+        try {
+            imageVariantDao.saveAll(rows);
+        } catch (DataIntegrityViolationException e) {
+            // Generated concurrently elsewhere; the stored rows are equivalent
+            logger.debug("Variants of {} already stored", url);
+        }
+        cache.put(url, urls);
+        failedUntil.remove(url);
+    }
+
+    private boolean isOwnMedia(String url) {
+        return mediaStorage.owns(url) || CloudinaryService.isOwnUrl(url, cloudinary.config.cloudName);
+    }
+
+    private BufferedImage readSource(String url) throws IOException {
+        if (mediaStorage.owns(url)) {
+            Path local = mediaStorage.resolve(url.substring(url.lastIndexOf('/') + 1));
+            if (local != null) {
+                return decode(local.toFile());
+            }
+        }
+        if (!CloudinaryService.isOwnUrl(url, cloudinary.config.cloudName)) {
+            throw new IOException("not a media URL of this application");
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(20)).GET().build();
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted");
+        }
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IOException("HTTP " + response.statusCode());
+            }
+            long length = response.headers().firstValueAsLong("Content-Length").orElse(-1);
+            if (length > maxSourceSize.toBytes()) {
+                throw new IOException("source larger than " + maxSourceSize.toMegabytes() + "MB");
+            }
+            byte[] bytes = body.readNBytes((int) maxSourceSize.toBytes() + 1);
+            if (bytes.length > maxSourceSize.toBytes()) {
+                throw new IOException("source larger than " + maxSourceSize.toMegabytes() + "MB");
+            }
+            return decode(new java.io.ByteArrayInputStream(bytes));
+        }
+    }
+
+    /**
+     * Decodes the first image of the input, refusing images of more than max-pixels pixels. The
+     * size comes from the header, so a small file claiming huge dimensions is rejected before its
+     * raster is allocated.
+     */
+    private BufferedImage decode(Object input) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(input)) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : Collections.emptyIterator();
+            if (!readers.hasNext()) {
+                throw new IOException("not a readable image");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new IOException("image has " + pixels + " pixels, limit is " + maxPixels);
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Downscales to the given width, halving first while the image is more than twice as large so
+     * the final bilinear step does not drop detail. Alpha is flattened onto white.
+     */
+    private static BufferedImage scale(BufferedImage source, int width) {
+        BufferedImage current = source;
+        int w = source.getWidth();
+        do {
+            int nextW = w / 2 >= width ? w / 2 : width;
+            int nextH = Math.max(1, (int) Math.round((double) source.getHeight() * nextW / source.getWidth()));
+            BufferedImage next = new BufferedImage(nextW, nextH, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, nextW, nextH);
+            g.drawImage(current, 0, 0, nextW, nextH, null);
+            g.dispose();
+            current = next;
+            w = nextW;
+        } while (w > width);
+        return current;
+    }
+
+    private void encode(BufferedImage image, Path target) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(target.toFile())) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionTypes() != null && param.getCompressionType() == null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private static Map<String, String> ordered(Map<String, String> found, String fallback) {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (String name : VARIANT_WIDTHS.keySet()) {
+            map.put(name, found.getOrDefault(name, fallback));
+        }
+        return map;
+    }
+
+    private static <V> Map<String, V> lru(int capacity) {
+        return Collections.synchronizedMap(new LinkedHashMap<String, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    static String keyFor(String url) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(url.trim().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
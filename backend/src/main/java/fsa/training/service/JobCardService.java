@@ -0,0 +1,96 @@
+package fsa.training.service;
+
+import fsa.training.dao.CampaignDao;
+import fsa.training.dao.JobDao;
+import fsa.training.dao.MilestoneDao;
+import fsa.training.dto.JobCard;
+import fsa.training.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Read model behind the job lists. A page costs three queries regardless of its size:
+ * the card projection, one grouped milestone summary and one cover-image lookup.
+ */
+@Service
+public class JobCardService {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    @Autowired
+    private JobDao jobDao;
+
+    @Autowired
+    private MilestoneDao milestoneDao;
+
+    @Autowired
+    private CampaignDao campaignDao;
+
+    public static class CardPage {
+        public final List<JobCard> items;
+        public final Long nextCursor; // null on the last page
+
+        public CardPage(List<JobCard> items, Long nextCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+        }
+    }
+
+    public CardPage getCards(User user, String status, Long cursor, int size) {
+        size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        if (status != null && (status.isEmpty() || status.equals("All"))) {
+            status = null;
+        }
+
+        String role = user.getRole() != null ? user.getRole().getName() : "";
+        Long influencerId = null;
+        Long creatorId = null;
+        if (role.equals("RECEIVER")) {
+            influencerId = user.getId();
+        } else if (role.equals("CREATOR")) {
+            creatorId = user.getId();
+        } else if (!role.equals("ADMIN")) {
+            return new CardPage(List.of(), null);
+        }
+
+        // Fetch one extra row to know whether another page exists
+        List<JobCard> cards = jobDao.findCards(influencerId, creatorId, status, cursor, PageRequest.of(0, size + 1));
+        Long nextCursor = null;
+        if (cards.size() > size) {
+            cards = cards.subList(0, size);
+            nextCursor = cards.get(size - 1).getId();
+        }
+        if (cards.isEmpty()) {
+            return new CardPage(cards, null);
+        }
+
+        Set<Long> jobIds = cards.stream().map(JobCard::getId).collect(Collectors.toSet());
+        Map<Long, JobCard.MilestoneProgress> progress = new HashMap<>();
+        for (MilestoneDao.ProgressRow row : milestoneDao.summarizeByJobIds(jobIds)) {
+            progress.put(row.getJobId(), new JobCard.MilestoneProgress(
+                    row.getTotal(), row.getApproved(), row.getSubmitted(), row.getNextDeadline()));
+        }
+
+        Set<Long> campaignIds = cards.stream().map(JobCard::getCampaignId).collect(Collectors.toSet());
+        Map<Long, String> covers = new HashMap<>();
+        for (CampaignDao.ImageRow row : campaignDao.findCoverImagesByCampaignIds(campaignIds)) {
+            covers.put(row.getCampaignId(), row.getImageUrl());
+        }
+
+        for (JobCard card : cards) {
+            JobCard.MilestoneProgress p = progress.get(card.getId());
+            if (p != null) {
+                card.setMilestones(p);
+            }
+            card.setCoverImage(covers.get(card.getCampaignId()));
+        }
+        return new CardPage(cards, nextCursor);
+    }
+}
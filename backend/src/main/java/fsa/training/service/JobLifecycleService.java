@@ -0,0 +1,142 @@
+package fsa.training.service;
+
+import fsa.training.dao.ApplicationDao;
+import fsa.training.dao.CampaignApplicationDao;
+import fsa.training.dao.JobDao;
+import fsa.training.entity.Application;
+import fsa.training.entity.CampaignApplication;
+import fsa.training.entity.Job;
+import fsa.training.event.ApplicationAccepted;
+import fsa.training.event.JobCompleted;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The primary writes of accepting an application and completing a job, each in one transaction
+ * together with its domain event. Everything else (closing the campaign, notifications, ...) is
+ * done by DomainEventHandlers once the event is dispatched. Jobs that end any other way (cancelled,
+ * or their application taken back) get their escrow refunded in the same transaction.
+ */
+@Service
+public class JobLifecycleService {
+
+    @Autowired
+    private EscrowService escrowService;
+
+    @Autowired
+    private JobTemplateService jobTemplateService;
+
+    @Autowired
+    private JobDao jobDao;
+
+    @Autowired
+    private ApplicationDao applicationDao;
+
+    @Autowired
+    private CampaignApplicationDao campaignApplicationDao;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    /**
+     * Marks the application accepted and, if job is not null, opens it with its escrow reservation
+     * and milestones. Nothing is stored if the creator cannot cover the price.
+     */
+    @Transactional
+    public Application accept(Application app, Job job, List<JobTemplateService.MilestoneSpec> milestones) {
+        boolean changed = !"ACCEPTED".equals(app.getStatus());
+        Long jobId = null;
+        if (job != null) {
+            jobId = open(job, milestones).getId();
+        }
+
+        app.setStatus("ACCEPTED");
+        app = applicationDao.save(app);
+        if (changed || jobId != null) {
+            domainEventBus.publish(new ApplicationAccepted(app.getId(), jobId, app.getCampaign().getId(),
+                    app.getCampaign().getTitle(), app.getReceiver().getId()));
+        }
+        return app;
+    }
+
+    /**
+     * Approves a campaign application and opens its job with milestones, all or nothing.
+     */
+    @Transactional
+    public CampaignApplication approve(CampaignApplication application, Job job, List<JobTemplateService.MilestoneSpec> milestones) {
+        application.setStatus("APPROVED");
+        application = campaignApplicationDao.save(application);
+        open(job, milestones);
+        return application;
+    }
+
+    /**
+     * Opens a job with its escrow reservation and milestones, all or nothing.
+     */
+    @Transactional
+    public Job open(Job job, List<JobTemplateService.MilestoneSpec> milestones) {
+        job = escrowService.openJob(job);
+        jobTemplateService.instantiate(Map.of(job, milestones));
+        return job;
+    }
+
+    /**
+     * Sets an application status other than ACCEPTED. Taking an application back from ACCEPTED
+     * cancels its open job and returns the escrow to the creator.
+     */
+    @Transactional
+    public Application changeStatus(Application app, String status) {
+        if ("ACCEPTED".equals(app.getStatus()) && !"ACCEPTED".equals(status)) {
+            for (Job job : jobDao.findByCampaignAndInfluencerAndStatus(app.getCampaign(), app.getReceiver(), "IN_PROGRESS")) {
+                if (jobDao.claimCancellation(job.getId()) == 1) {
+                    escrowService.refund(job);
+                    job.setStatus("CANCELLED");
+                }
+            }
+        }
+        app.setStatus(status);
+        return applicationDao.save(app);
+    }
+
+    /**
+     * Cancels an open job and returns its escrow to the creator.
+     *
+     * @throws IllegalStateException if the job is already completed or cancelled
+     */
+    @Transactional
+    public Job cancel(Job job) {
+        if (jobDao.claimCancellation(job.getId()) == 0) {
+            throw new IllegalStateException("Job #" + job.getId() + " is already completed or cancelled");
+        }
+        escrowService.refund(job);
+        job.setStatus("CANCELLED");
+        return job;
+    }
+
+    /**
+     * Releases the job's escrow to the influencer and marks it completed. The status is claimed with
+     * a conditional update first, so of two concurrent completions only one settles.
+     *
+     * @throws IllegalStateException if the job is already completed or cancelled
+     */
+    @Transactional
+    public Job complete(Job job) {
+        LocalDateTime now = LocalDateTime.now();
+        if (jobDao.claimCompletion(job.getId(), now) == 0) {
+            throw new IllegalStateException("Job #" + job.getId() + " is already completed or cancelled");
+        }
+        escrowService.settle(job);
+
+        job.setStatus("COMPLETED");
+        job.setCompletedAt(now);
+
+        domainEventBus.publish(new JobCompleted(job.getId(), job.getCampaign().getId(), job.getCampaign().getTitle(),
+                job.getInfluencer().getId(), job.getPrice(), job.getCampaign().getCreator().getId()));
+        return job;
+    }
+}
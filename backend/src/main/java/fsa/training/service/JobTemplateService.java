@@ -0,0 +1,206 @@
+package fsa.training.service;
+
+import fsa.training.dao.JobTemplateDao;
+import fsa.training.entity.Job;
+import fsa.training.entity.JobTemplate;
+import fsa.training.entity.MilestoneTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reusable milestone plans for new jobs. A creator's templates are read once and kept in memory
+ * as immutable snapshots until one of them is edited; instantiating a template for any number of
+ * jobs writes all milestone rows in a single JDBC batch.
+ */
+@Service
+public class JobTemplateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobTemplateService.class);
+
+    public static final int MAX_MILESTONES = 20;
+
+    private static final String INSERT_MILESTONE =
+            "INSERT INTO milestones (job_id, title, description, deadline, status, version) VALUES (?, ?, ?, ?, 'PENDING', 0)";
+
+    /** Single deliverable due on the campaign deadline; used when accepting an application. */
+    public static final List<MilestoneSpec> FINAL_DELIVERABLE = List.of(
+            new MilestoneSpec("Final Deliverable", "Submit your work evidence here.", null));
+
+    /** Three-step content plan; used when approving a campaign application. */
+    public static final List<MilestoneSpec> CONTENT_PLAN = List.of(
+            new MilestoneSpec("Lên kế hoạch nội dung", "Gửi kịch bản hoặc kế hoạch chi tiết.", 3),
+            new MilestoneSpec("Bản nháp (Draft)", "Gửi video/bài viết nháp để duyệt.", 7),
+            new MilestoneSpec("Đăng bài hoàn thiện", "Đăng bài lên mạng xã hội và gửi link báo cáo.", 10));
+
+    @Autowired
+    private JobTemplateDao jobTemplateDao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // creator id -> that creator's templates
+    private final ConcurrentHashMap<Long, List<TemplateSnapshot>> cache = new ConcurrentHashMap<>();
+
+    public static class MilestoneSpec {
+        public final String title;
+        public final String description;
+        // Days after job creation; null means the campaign deadline (or a week if it has none)
+        public final Integer offsetDays;
+
+        public MilestoneSpec(String title, String description, Integer offsetDays) {
+            this.title = title;
+            this.description = description;
+            this.offsetDays = offsetDays;
+        }
+    }
+
+    public static class TemplateSnapshot {
+        public final Long id;
+        public final boolean defaultTemplate;
+        public final List<MilestoneSpec> milestones;
+
+        TemplateSnapshot(JobTemplate template) {
+            this.id = template.getId();
+            this.defaultTemplate = template.isDefaultTemplate();
+            List<MilestoneSpec> specs = new ArrayList<>();
+            for (MilestoneTemplate m : template.getMilestones()) {
+                specs.add(new MilestoneSpec(m.getTitle(), m.getDescription(), m.getOffsetDays()));
+            }
+            this.milestones = List.copyOf(specs);
+        }
+    }
+
+    public static class InvalidTemplateException extends RuntimeException {
+        public InvalidTemplateException(String message) {
+            super(message);
+        }
+    }
+
+    public List<JobTemplate> findByCreator(Long creatorId) {
+        return jobTemplateDao.findByCreator_IdOrderByIdAsc(creatorId);
+    }
+
+    @Transactional
+    public JobTemplate save(JobTemplate template) {
+        validate(template);
+        JobTemplate saved = jobTemplateDao.save(template);
+        if (saved.isDefaultTemplate()) {
+            jobTemplateDao.clearOtherDefaults(saved.getCreator().getId(), saved.getId());
+        }
+        evictAfterCommit(saved.getCreator().getId());
+        return saved;
+    }
+
+    @Transactional
+    public void delete(JobTemplate template) {
+        jobTemplateDao.delete(template);
+        evictAfterCommit(template.getCreator().getId());
+    }
+
+    /**
+     * Milestones for a new job of the given creator: the requested template if it belongs to them,
+     * else their default template, else the built-in fallback.
+     */
+    public List<MilestoneSpec> resolve(Long creatorId, Long templateId, List<MilestoneSpec> fallback) {
+        List<TemplateSnapshot> templates = cache.computeIfAbsent(creatorId, this::loadSnapshots);
+        if (templateId != null) {
+            for (TemplateSnapshot t : templates) {
+                if (t.id.equals(templateId)) {
+                    return t.milestones;
+                }
+            }
+            throw new InvalidTemplateException("Job template not found");
+        }
+        for (TemplateSnapshot t : templates) {
+            if (t.defaultTemplate) {
+                return t.milestones;
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Creates the milestones of every given job in one JDBC batch. Jobs must already be persisted.
+     * The job's in-memory milestone collection is not updated.
+     */
+    public int instantiate(Map<Job, List<MilestoneSpec>> plan) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<Job, List<MilestoneSpec>> entry : plan.entrySet()) {
+            Job job = entry.getKey();
+            for (MilestoneSpec spec : entry.getValue()) {
+                rows.add(new Object[] { job.getId(), spec.title, spec.description, Timestamp.valueOf(deadlineFor(job, spec, now)) });
+            }
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        jdbcTemplate.batchUpdate(INSERT_MILESTONE, rows);
+        logger.debug("Created {} milestones for {} jobs", rows.size(), plan.size());
+        return rows.size();
+    }
+
+    private LocalDateTime deadlineFor(Job job, MilestoneSpec spec, LocalDateTime now) {
+        if (spec.offsetDays != null) {
+            return now.plusDays(spec.offsetDays);
+        }
+        if (job.getCampaign() != null && job.getCampaign().getDeadline() != null) {
+            return job.getCampaign().getDeadline().atStartOfDay();
+        }
+        return now.plusDays(7);
+    }
+
+    private List<TemplateSnapshot> loadSnapshots(Long creatorId) {
+        List<TemplateSnapshot> snapshots = new ArrayList<>();
+        for (JobTemplate t : jobTemplateDao.findByCreator_IdOrderByIdAsc(creatorId)) {
+            snapshots.add(new TemplateSnapshot(t));
+        }
+        return List.copyOf(snapshots);
+    }
+
+    private void validate(JobTemplate template) {
+        if (template.getName() == null || template.getName().isBlank()) {
+            throw new InvalidTemplateException("Template name is required");
+        }
+        List<MilestoneTemplate> milestones = template.getMilestones();
+        if (milestones == null || milestones.isEmpty()) {
+            throw new InvalidTemplateException("A template needs at least one milestone");
+        }
+        if (milestones.size() > MAX_MILESTONES) {
+            throw new InvalidTemplateException("A template can have at most " + MAX_MILESTONES + " milestones");
+        }
+        for (MilestoneTemplate m : milestones) {
+            if (m.getTitle() == null || m.getTitle().isBlank()) {
+                throw new InvalidTemplateException("Every milestone needs a title");
+            }
+            if (m.getOffsetDays() != null && m.getOffsetDays() < 0) {
+                throw new InvalidTemplateException("Milestone offsetDays cannot be negative");
+            }
+        }
+    }
+
+    // Evict now and again after commit, so a reader racing the transaction cannot re-cache the old rows
+    private void evictAfterCommit(Long creatorId) {
+        cache.remove(creatorId);
+        if (org.springframework.transaction.support.TransactionSynchronizationManager.isSynchronizationActive()) {
+            org.springframework.transaction.support.TransactionSynchronizationManager.registerSynchronization(
+                    new org.springframework.transaction.support.TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            cache.remove(creatorId);
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package fsa.training.service;
+
+import fsa.training.dao.JobDao;
+import fsa.training.dao.MilestoneDao;
+import fsa.training.dao.MilestoneHistoryDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Builds the job workspace page (job, milestones, recent history per milestone) from three
+ * set-based queries assembled in memory, instead of lazy-loading Job.milestones and running
+ * one history query per milestone.
+ */
+@Service
+public class JobWorkspaceService {
+
+    @Autowired
+    private JobDao jobDao;
+
+    @Autowired
+    private MilestoneDao milestoneDao;
+
+    @Autowired
+    private MilestoneHistoryDao milestoneHistoryDao;
+
+    @Value("${app.workspace.history-per-milestone:5}")
+    private int historyPerMilestone;
+
+    public Optional<JobDao.WorkspaceHeader> findHeader(Long jobId) {
+        return jobDao.findWorkspaceHeader(jobId);
+    }
+
+    public Map<String, Object> assemble(JobDao.WorkspaceHeader header) {
+        List<MilestoneDao.MilestoneView> milestones = milestoneDao.findViewsByJobId(header.getId());
+        List<MilestoneHistoryDao.HistoryView> history = milestoneHistoryDao.findRecentByJobId(header.getId(), historyPerMilestone);
+
+        Map<Long, List<Map<String, Object>>> historyByMilestone = new HashMap<>();
+        Map<Long, Long> historyTotals = new HashMap<>();
+        for (MilestoneHistoryDao.HistoryView h : history) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("id", h.getId());
+            entry.put("action", h.getAction());
+            entry.put("description", h.getDescription());
+            entry.put("evidenceUrl", h.getEvidenceUrl());
+            entry.put("createdAt", h.getCreatedAt());
+            historyByMilestone.computeIfAbsent(h.getMilestoneId(), k -> new ArrayList<>()).add(entry);
+            historyTotals.put(h.getMilestoneId(), h.getTotal());
+        }
+
+        List<Map<String, Object>> milestoneList = new ArrayList<>();
+        for (MilestoneDao.MilestoneView m : milestones) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", m.getId());
+            item.put("title", m.getTitle());
+            item.put("description", m.getDescription());
+            item.put("deadline", m.getDeadline());
+            item.put("status", m.getStatus());
+            item.put("evidenceUrl", m.getEvidenceUrl());
+            item.put("creatorFeedback", m.getCreatorFeedback());
+            item.put("submissionDescription", m.getSubmissionDescription());
+            item.put("history", historyByMilestone.getOrDefault(m.getId(), List.of()));
+            item.put("historyCount", historyTotals.getOrDefault(m.getId(), 0L));
+            milestoneList.add(item);
+        }
+
+        Map<String, Object> campaign = new LinkedHashMap<>();
+        campaign.put("id", header.getCampaignId());
+        campaign.put("title", header.getCampaignTitle());
+        campaign.put("description", header.getCampaignDescription());
+        campaign.put("deadline", header.getCampaignDeadline());
+
+        Map<String, Object> job = new LinkedHashMap<>();
+        job.put("id", header.getId());
+        job.put("status", header.getStatus());
+        job.put("price", header.getPrice());
+        job.put("description", header.getDescription());
+        job.put("createdAt", header.getCreatedAt());
+        job.put("completedAt", header.getCompletedAt());
+        job.put("campaign", campaign);
+        job.put("creator", person(header.getCreatorId(), header.getCreatorName(), header.getCreatorAvatarUrl()));
+        job.put("influencer", person(header.getInfluencerId(), header.getInfluencerName(), header.getInfluencerAvatarUrl()));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("job", job);
+        response.put("milestones", milestoneList);
+        return response;
+    }
+
+    private Map<String, Object> person(Long id, String name, String avatarUrl) {
+        Map<String, Object> person = new LinkedHashMap<>();
+        person.put("id", id);
+        person.put("name", name);
+        person.put("avatarUrl", avatarUrl);
+        return person;
+    }
+}
@@ -0,0 +1,139 @@
+package fsa.training.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Filesystem backend, content addressed: a blob is stored once under the SHA-256 of its bytes
+ * (root/ab/abcd...ef.jpg), so uploading the same image again only costs the hash. Blobs are copied
+ * with FileChannel.transferTo into a temp file and renamed into place, so a reader never sees a
+ * partial blob. They are served by MediaController.
+ */
+@Service
+@ConditionalOnProperty(name = "app.storage.backend", havingValue = "local")
+public class LocalMediaStorage implements MediaStorage {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalMediaStorage.class);
+
+    private static final Pattern NAME = Pattern.compile("[0-9a-f]{64}(\\.[a-z0-9]{1,5})?");
+
+    private static final Map<String, String> EXTENSIONS = Map.of(
+            "image/jpeg", ".jpg",
+            "image/png", ".png",
+            "image/webp", ".webp",
+            "image/gif", ".gif",
+            "video/mp4", ".mp4",
+            "video/webm", ".webm",
+            "video/quicktime", ".mov",
+            "application/pdf", ".pdf");
+
+    @Value("${app.storage.local.root:media}")
+    private Path root;
+
+    @Value("${app.storage.local.public-url:http://localhost:8080/api/media}")
+    private String publicUrl;
+
+    private Path tmpDir;
+
+    @PostConstruct
+    void init() throws IOException {
+        root = root.toAbsolutePath().normalize();
+        tmpDir = Files.createDirectories(root.resolve("tmp"));
+        logger.info("Storing media under {}", root);
+    }
+
+    @Override
+    public String store(Path file, String contentType) throws IOException {
+        String name = sha256(file) + EXTENSIONS.getOrDefault(contentType, "");
+        Path target = pathOf(name);
+        if (Files.exists(target)) {
+            logger.debug("Media {} already stored", name);
+            return publicUrl + "/" + name;
+        }
+
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(tmpDir, "blob-", ".part");
+        try {
+            try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ);
+                 FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                long size = in.size();
+                long position = 0;
+                while (position < size) {
+                    position += in.transferTo(position, size - position, out);
+                }
+                out.force(false);
+            }
+            // Identical blobs racing here have identical bytes, so replacing is harmless
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return publicUrl + "/" + name;
+    }
+
+    @Override
+    public Path resolve(String name) {
+        if (name == null || !NAME.matcher(name).matches()) {
+            return null;
+        }
+        Path path = pathOf(name);
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    @Override
+    public boolean owns(String url) {
+        return url != null && url.startsWith(publicUrl + "/") && resolve(url.substring(publicUrl.length() + 1)) != null;
+    }
+
+    public static String contentTypeOf(String name) {
+        int dot = name.lastIndexOf('.');
+        if (dot >= 0) {
+            String extension = name.substring(dot);
+            for (Map.Entry<String, String> e : EXTENSIONS.entrySet()) {
+                if (e.getValue().equals(extension)) {
+                    return e.getKey();
+                }
+            }
+        }
+        return "application/octet-stream";
+    }
+
+    private Path pathOf(String name) {
+        return root.resolve(name.substring(0, 2)).resolve(name);
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            while (in.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer);
+                buffer.clear();
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
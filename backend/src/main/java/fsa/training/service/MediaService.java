@@ -0,0 +1,143 @@
+package fsa.training.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Entry point for uploads: checks the per-type limits, moves the multipart part to a spool file
+ * (a rename when the container already spilled it to disk) and hands that file to the configured
+ * {@link MediaStorage}, so no backend ever needs the whole upload on the heap. Images are then
+ * passed on to {@link ImageVariantService}.
+ *
+ * Batches are uploaded on virtual threads, at most app.upload.batch.concurrency files of one request
+ * at a time, so a batch takes about as long as its slowest file rather than the sum of all files.
+ * Backend-wide limits still come from the storage's own guard (e.g. the Cloudinary bulkhead).
+ */
+@Service
+public class MediaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MediaService.class);
+
+    @Autowired
+    private MediaStorage mediaStorage;
+
+    @Autowired
+    private UploadLimits uploadLimits;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Value("${app.upload.spool-dir:${java.io.tmpdir}/influconnect-uploads}")
+    private Path spoolDir;
+
+    @Value("${app.upload.batch.concurrency:4}")
+    private int batchConcurrency;
+
+    public static class UploadResult {
+        public final int index;
+        public final String filename;
+        public final int status;
+        public final String url;
+        public final String error;
+
+        UploadResult(int index, String filename, int status, String url, String error) {
+            this.index = index;
+            this.filename = filename;
+            this.status = status;
+            this.url = url;
+            this.error = error;
+        }
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(spoolDir);
+    }
+
+    public String upload(MultipartFile file) throws IOException {
+        uploadLimits.check(file);
+        Path spooled = Files.createTempFile(spoolDir, "upload-", ".part");
+        boolean handedOff = false;
+        try {
+            // transferTo(File) goes through Part.write, which renames a part already on disk;
+            // transferTo(Path) would always stream-copy it
+            file.transferTo(spooled.toFile());
+            String url = mediaStorage.store(spooled, file.getContentType());
+            // The variant pool takes over the spool file, saving a download of what was just stored
+            if ("image".equals(UploadLimits.resourceTypeOf(file.getContentType()))) {
+                handedOff = imageVariantService.submit(url, spooled);
+            }
+            return url;
+        } finally {
+            if (!handedOff) {
+                Files.deleteIfExists(spooled);
+            }
+        }
+    }
+
+    /**
+     * Uploads all files concurrently and returns one result per file, in request order. A failing
+     * file does not affect the others.
+     */
+    public List<UploadResult> uploadAll(List<MultipartFile> files) {
+        Semaphore permits = new Semaphore(batchConcurrency);
+        List<Future<UploadResult>> futures = new ArrayList<>(files.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < files.size(); i++) {
+                int index = i;
+                MultipartFile file = files.get(i);
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return uploadOne(index, file);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<UploadResult> results = new ArrayList<>(files.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                results.add(new UploadResult(i, files.get(i).getOriginalFilename(), 500, null, "Interrupted"));
+            } catch (ExecutionException e) {
+                results.add(new UploadResult(i, files.get(i).getOriginalFilename(), 500, null, "Upload failed"));
+            }
+        }
+        return results;
+    }
+
+    private UploadResult uploadOne(int index, MultipartFile file) {
+        String filename = file.getOriginalFilename();
+        try {
+            return new UploadResult(index, filename, 200, upload(file), null);
+        } catch (UploadLimits.FileTooLargeException e) {
+            return new UploadResult(index, filename, 413, null, e.getMessage());
+        } catch (ExternalCallGuard.CallNotPermittedException e) {
+            return new UploadResult(index, filename, 503, null, e.getMessage());
+        } catch (Exception e) {
+            logger.error("Upload of {} failed", filename, e);
+            return new UploadResult(index, filename, 500, null, "Upload failed");
+        }
+    }
+}
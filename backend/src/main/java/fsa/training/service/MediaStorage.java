@@ -0,0 +1,32 @@
+package fsa.training.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Backend that keeps uploaded media. Selected with app.storage.backend (cloudinary, local).
+ */
+public interface MediaStorage {
+
+    /**
+     * Stores the file and returns its public URL. The file itself is left in place; the caller
+     * owns it and deletes it afterwards.
+     */
+    String store(Path file, String contentType) throws IOException;
+
+    /**
+     * Local file behind a public media name, for backends that serve media from this application.
+     * Returns null if the name is unknown or the backend serves media elsewhere.
+     */
+    default Path resolve(String name) {
+        return null;
+    }
+
+    /**
+     * Whether the URL points at media this backend stored. Only such URLs may be read back by the
+     * server (e.g. to generate image variants); anything else could point at an internal host.
+     */
+    default boolean owns(String url) {
+        return false;
+    }
+}
@@ -0,0 +1,134 @@
+package fsa.training.service;
+
+import fsa.training.dao.MilestoneDao;
+import fsa.training.dao.MilestoneHistoryDao;
+import fsa.training.entity.Milestone;
+import fsa.training.entity.MilestoneHistory;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Milestone state machine: PENDING -> SUBMITTED -> APPROVED / REJECTED, and REJECTED -> SUBMITTED
+ * for resubmissions.
+ *
+ * Each transition is a conditional UPDATE on (status, version) plus the history insert, in one
+ * transaction. Losing a race on the version with the status still valid is retried a bounded
+ * number of times; a transition the current status no longer allows fails with TransitionException.
+ * No row locks are taken.
+ */
+@Service
+public class MilestoneWorkflowService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MilestoneWorkflowService.class);
+
+    private static final Map<String, Set<String>> TRANSITIONS = Map.of(
+            "PENDING", Set.of("SUBMITTED"),
+            "REJECTED", Set.of("SUBMITTED"),
+            "SUBMITTED", Set.of("APPROVED", "REJECTED")
+    );
+
+    @Autowired
+    private MilestoneDao milestoneDao;
+
+    @Autowired
+    private MilestoneHistoryDao milestoneHistoryDao;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.milestone.transition-max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.milestone.transition-backoff-ms:25}")
+    private long backoffMs;
+
+    private TransactionTemplate transactionTemplate;
+
+    public static class TransitionException extends RuntimeException {
+        public TransitionException(String message) {
+            super(message);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ConditionalUpdate {
+        int apply(String fromStatus, Long version);
+    }
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public static boolean canTransition(String from, String to) {
+        return TRANSITIONS.getOrDefault(from, Set.of()).contains(to);
+    }
+
+    public Milestone submit(Long milestoneId, String evidenceUrl, String description) {
+        return transition(milestoneId, "SUBMITTED",
+                (from, version) -> milestoneDao.submit(milestoneId, from, version, evidenceUrl, description),
+                description, evidenceUrl);
+    }
+
+    public Milestone review(Long milestoneId, String status, String feedback) {
+        return transition(milestoneId, status,
+                (from, version) -> milestoneDao.review(milestoneId, from, version, status, feedback),
+                feedback, null);
+    }
+
+    private Milestone transition(Long milestoneId, String to, ConditionalUpdate update, String note, String evidenceUrl) {
+        for (int attempt = 1; ; attempt++) {
+            Milestone result = transactionTemplate.execute(tx -> {
+                Milestone current = milestoneDao.findById(milestoneId)
+                        .orElseThrow(() -> new TransitionException("Milestone not found"));
+                // The request may already hold this milestone; read the committed state
+                entityManager.refresh(current);
+
+                if (!canTransition(current.getStatus(), to)) {
+                    throw new TransitionException("Milestone cannot move from " + current.getStatus() + " to " + to);
+                }
+                if (update.apply(current.getStatus(), current.getVersion()) == 0) {
+                    return null;
+                }
+
+                MilestoneHistory history = new MilestoneHistory();
+                history.setMilestone(current);
+                history.setAction(to);
+                history.setDescription(note);
+                history.setEvidenceUrl(evidenceUrl);
+                milestoneHistoryDao.save(history);
+
+                entityManager.refresh(current);
+                return current;
+            });
+
+            if (result != null) {
+                return result;
+            }
+            if (attempt >= maxAttempts) {
+                throw new TransitionException("Milestone was modified concurrently, please retry");
+            }
+            logger.debug("Milestone {} transition to {} lost a race, retrying ({}/{})", milestoneId, to, attempt, maxAttempts);
+            try {
+                Thread.sleep(backoffMs * attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new TransitionException("Milestone update interrupted");
+            }
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package fsa.training.service;
+
+import fsa.training.dao.NotificationDao;
+import fsa.training.dto.NotificationItem;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * User notifications: stored in the notifications table and pushed to open SSE streams.
+ *
+ * publish() only queues the notification (after commit, when called inside a transaction). The
+ * queue is written every app.notifications.flush-interval-ms as one JDBC batch, and each stored
+ * notification, now with its id, is then offered to the user's open streams. Every stream has its
+ * own bounded queue and sender (a virtual thread), so a slow client never holds up the writer or
+ * other users; when a stream's queue overflows it is cleared and the client gets a "resync" event
+ * telling it to reload instead.
+ *
+ * Notifications still queued when the application stops are written on shutdown; a crash can
+ * lose at most one flush interval of them.
+ *
+ * Unread counts (header badge) are kept per user in memory instead of a COUNT per page view. A
+ * counter is built from the table on first use after a restart and then follows every write: the
+ * batch insert increments it and "mark read up to id" decrements it by the rows that statement
+ * changed. The table stays the source of truth; counters are rebuilt after
+ * app.notifications.unread-ttl-minutes in case a race made one drift.
+ */
+@Service
+public class NotificationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+
+    public static final String APPLICATION_STATUS = "APPLICATION_STATUS";
+    public static final String MILESTONE_REVIEWED = "MILESTONE_REVIEWED";
+    public static final String PAYMENT_RECEIVED = "PAYMENT_RECEIVED";
+    public static final String VERIFICATION = "VERIFICATION";
+    public static final String REVIEW_RECEIVED = "REVIEW_RECEIVED";
+    public static final String JOB_CANCELLED = "JOB_CANCELLED";
+
+    private static final String INSERT =
+            "INSERT INTO notifications (user_id, type, title, content, created_at, is_read) VALUES (?, ?, ?, ?, ?, false)";
+
+    private static final Object RESYNC = new Object();
+
+    public static final int MAX_PAGE_SIZE = 50;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NotificationDao notificationDao;
+
+    @Value("${app.notifications.unread-ttl-minutes:30}")
+    private long unreadTtlMinutes;
+
+    @Value("${app.notifications.max-batch:500}")
+    private int maxBatch;
+
+    @Value("${app.notifications.stream-queue-capacity:100}")
+    private int streamQueueCapacity;
+
+    @Value("${app.notifications.max-streams-per-user:5}")
+    private int maxStreamsPerUser;
+
+    @Value("${app.notifications.stream-timeout-ms:1800000}")
+    private long streamTimeoutMs;
+
+    @Value("${app.notifications.heartbeat-ms:25000}")
+    private long heartbeatMs;
+
+    @Value("${app.notifications.queue-capacity:10000}")
+    private int queueCapacity;
+
+    private BlockingQueue<NotificationEvent> pending;
+
+    private final Map<Long, Set<Stream>> streams = new ConcurrentHashMap<>();
+
+    private final Map<Long, UnreadCounter> unreadCounters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        pending = new LinkedBlockingQueue<>(queueCapacity);
+    }
+
+    public static class NotificationEvent {
+        public Long id;
+        public final Long userId;
+        public final String type;
+        public final String title;
+        public final String content;
+        public final LocalDateTime createdAt;
+
+        NotificationEvent(Long userId, String type, String title, String content) {
+            this.userId = userId;
+            this.type = type;
+            this.title = title;
+            this.content = content;
+            this.createdAt = LocalDateTime.now();
+        }
+    }
+
+    public static class NotificationPage {
+        public final List<NotificationItem> items;
+        public final Long nextCursor;
+
+        NotificationPage(List<NotificationItem> items, Long nextCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+        }
+    }
+
+    private static class UnreadCounter {
+        private long count;
+        // Newest notification id already included in count
+        private long watermark;
+        private final long builtAt = System.currentTimeMillis();
+
+        UnreadCounter(long count, long watermark) {
+            this.count = count;
+            this.watermark = watermark;
+        }
+
+        synchronized long get() { return count; }
+
+        synchronized void added(long id) {
+            if (id > watermark) {
+                count++;
+                watermark = id;
+            }
+        }
+
+        synchronized void read(int rows) { count = Math.max(0, count - rows); }
+
+        boolean isExpired(long ttlMs) { return System.currentTimeMillis() - builtAt > ttlMs; }
+    }
+
+    private class Stream {
+        final Long userId;
+        final SseEmitter emitter;
+        final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(streamQueueCapacity);
+        volatile boolean closed;
+
+        Stream(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(Object event) {
+            if (!queue.offer(event)) {
+                queue.clear();
+                queue.offer(RESYNC);
+            }
+        }
+
+        void pump() {
+            try {
+                emitter.send(SseEmitter.event().name("ready").data(Map.of("userId", userId)));
+                while (!closed) {
+                    Object event = queue.poll(heartbeatMs, TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        emitter.send(SseEmitter.event().comment("ping"));
+                    } else if (event == RESYNC) {
+                        emitter.send(SseEmitter.event().name("resync").data(Map.of("reason", "overflow")));
+                    } else {
+                        NotificationEvent n = (NotificationEvent) event;
+                        emitter.send(SseEmitter.event().id(String.valueOf(n.id)).name("notification").data(n));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away
+                emitter.completeWithError(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                close();
+            }
+        }
+
+        void close() {
+            closed = true;
+            Set<Stream> own = streams.get(userId);
+            if (own != null) {
+                own.remove(this);
+                streams.computeIfPresent(userId, (k, set) -> set.isEmpty() ? null : set);
+            }
+        }
+    }
+
+    /**
+     * Queues a notification for the user. Inside a transaction it is queued only once the
+     * transaction commits, so rolled-back changes never notify anyone.
+     */
+    public void publish(Long userId, String type, String title, String content) {
+        NotificationEvent event = new NotificationEvent(userId, type, title, content);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    private void enqueue(NotificationEvent event) {
+        if (!pending.offer(event)) {
+            // Writer is behind; store this one directly rather than drop it
+            logger.warn("Notification queue full, writing notification for user {} inline", event.userId);
+            write(List.of(event));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.flush-interval-ms:200}")
+    public void flush() {
+        List<NotificationEvent> batch = new ArrayList<>(Math.min(maxBatch, 64));
+        while (pending.drainTo(batch, maxBatch) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<NotificationEvent> batch) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        try {
+            jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            NotificationEvent e = batch.get(i);
+                            ps.setLong(1, e.userId);
+                            ps.setString(2, e.type);
+                            ps.setString(3, e.title);
+                            ps.setString(4, e.content);
+                            ps.setTimestamp(5, Timestamp.valueOf(e.createdAt));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    }, keys);
+        } catch (RuntimeException e) {
+            logger.error("Could not store {} notifications", batch.size(), e);
+            return;
+        }
+
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        for (int i = 0; i < batch.size(); i++) {
+            NotificationEvent event = batch.get(i);
+            if (i < keyList.size()) {
+                Object id = keyList.get(i).values().iterator().next();
+                event.id = ((Number) id).longValue();
+            }
+            if (event.id != null) {
+                UnreadCounter counter = unreadCounters.get(event.userId);
+                if (counter != null) {
+                    counter.added(event.id);
+                }
+            }
+            push(event);
+        }
+    }
+
+    public long unreadCount(Long userId) {
+        long ttlMs = TimeUnit.MINUTES.toMillis(unreadTtlMinutes);
+        UnreadCounter counter = unreadCounters.get(userId);
+        if (counter == null || counter.isExpired(ttlMs)) {
+            counter = unreadCounters.compute(userId, (k, old) -> old != null && !old.isExpired(ttlMs) ? old : buildCounter(k));
+        }
+        return counter.get();
+    }
+
+    private UnreadCounter buildCounter(Long userId) {
+        NotificationDao.UnreadStats stats = notificationDao.findUnreadStats(userId);
+        long unread = stats != null && stats.getUnread() != null ? stats.getUnread() : 0;
+        long maxId = stats != null && stats.getMaxId() != null ? stats.getMaxId() : 0;
+        return new UnreadCounter(unread, maxId);
+    }
+
+    /** Marks all of the user's notifications up to and including upToId as read, in one UPDATE. */
+    public int markReadUpTo(Long userId, Long upToId) {
+        UnreadCounter counter = unreadCounters.get(userId);
+        int updated = notificationDao.markReadUpTo(userId, upToId);
+        if (counter != null) {
+            counter.read(updated);
+        }
+        return updated;
+    }
+
+    /** Newest first; pass the returned nextCursor to get the following page. */
+    public NotificationPage list(Long userId, Long cursor, int size) {
+        size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<NotificationItem> rows = notificationDao.findPage(userId, cursor, PageRequest.of(0, size + 1));
+        Long nextCursor = null;
+        if (rows.size() > size) {
+            rows = new ArrayList<>(rows.subList(0, size));
+            nextCursor = rows.get(size - 1).getId();
+        }
+        return new NotificationPage(rows, nextCursor);
+    }
+
+    @Scheduled(fixedDelayString = "${app.notifications.unread-sweep-ms:600000}")
+    public void evictExpiredCounters() {
+        long ttlMs = TimeUnit.MINUTES.toMillis(unreadTtlMinutes);
+        unreadCounters.values().removeIf(c -> c.isExpired(ttlMs));
+    }
+
+    private void push(NotificationEvent event) {
+        Set<Stream> own = streams.get(event.userId);
+        if (own != null) {
+            for (Stream stream : own) {
+                stream.offer(event);
+            }
+        }
+    }
+
+    /**
+     * Opens a notification stream for the user. Beyond app.notifications.max-streams-per-user
+     * (e.g. many tabs) the oldest stream is closed.
+     */
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        Stream stream = new Stream(userId, emitter);
+        emitter.onCompletion(stream::close);
+        emitter.onTimeout(stream::close);
+        emitter.onError(e -> stream.close());
+
+        Set<Stream> own = streams.computeIfAbsent(userId, k -> new CopyOnWriteArraySet<>());
+        own.add(stream);
+        Iterator<Stream> oldest = own.iterator();
+        while (own.size() > maxStreamsPerUser && oldest.hasNext()) {
+            Stream old = oldest.next();
+            old.close();
+            old.emitter.complete();
+        }
+
+        Thread.ofVirtual().name("notification-stream-" + userId).start(stream::pump);
+        return emitter;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+        for (Set<Stream> own : streams.values()) {
+            for (Stream stream : own) {
+                stream.closed = true;
+                stream.emitter.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package fsa.training.service;
+
+import fsa.training.dao.OcrResultDao;
+import fsa.training.entity.OcrResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Persisted cache of OCR verdicts keyed by a SHA-256 of the document URL, so a user retrying
+ * verification with the same document does not pay for another FPT.AI round trip.
+ *
+ * Only definitive answers are cached; a loader that throws (timeout, upstream 5xx) leaves nothing
+ * behind. Concurrent lookups of the same key share one upstream call.
+ */
+@Service
+public class OcrResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(OcrResultCache.class);
+
+    @Autowired
+    private OcrResultDao ocrResultDao;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.ocr-cache.ttl-hours:720}")
+    private long ttlHours;
+
+    private final ConcurrentHashMap<String, CompletableFuture<AIService.AIResult>> inFlight = new ConcurrentHashMap<>();
+
+    private Counter hits;
+    private Counter coalesced;
+    private Counter misses;
+    private Counter upstreamSuccess;
+    private Counter upstreamError;
+
+    @PostConstruct
+    void init() {
+        hits = meterRegistry.counter("ocr.cache.lookups", "result", "hit");
+        coalesced = meterRegistry.counter("ocr.cache.lookups", "result", "coalesced");
+        misses = meterRegistry.counter("ocr.cache.lookups", "result", "miss");
+        upstreamSuccess = meterRegistry.counter("ocr.upstream.calls", "outcome", "success");
+        upstreamError = meterRegistry.counter("ocr.upstream.calls", "outcome", "error");
+        Gauge.builder("ocr.cache.hit.ratio", this, OcrResultCache::hitRatio)
+                .description("Share of OCR lookups answered without a new upstream call")
+                .register(meterRegistry);
+    }
+
+    public AIService.AIResult get(String documentUrl, Supplier<AIService.AIResult> loader) {
+        String key = keyFor(documentUrl);
+
+        Optional<OcrResult> stored = ocrResultDao.findByCacheKey(key);
+        if (stored.isPresent() && stored.get().getExpiresAt().isAfter(LocalDateTime.now())) {
+            hits.increment();
+            OcrResult r = stored.get();
+            return new AIService.AIResult(r.isValid(), r.getConfidence(), r.getMessage());
+        }
+
+        CompletableFuture<AIService.AIResult> mine = new CompletableFuture<>();
+        CompletableFuture<AIService.AIResult> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            coalesced.increment();
+            try {
+                return leader.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        misses.increment();
+        try {
+            AIService.AIResult result;
+            try {
+                result = loader.get();
+                upstreamSuccess.increment();
+            } catch (RuntimeException e) {
+                upstreamError.increment();
+                mine.completeExceptionally(e);
+                throw e;
+            }
+            store(key, stored.orElse(null), result);
+            mine.complete(result);
+            return result;
+        } finally {
+            inFlight.remove(key, mine);
+            if (!mine.isDone()) {
+                mine.completeExceptionally(new IllegalStateException("OCR lookup did not complete"));
+            }
+        }
+    }
+
+    private void store(String key, OcrResult existing, AIService.AIResult result) {
+        OcrResult row = existing != null ? existing : new OcrResult();
+        row.setCacheKey(key);
+        row.setValid(result.isValid);
+        row.setConfidence(result.confidence);
+        row.setMessage(result.message);
+        row.setCreatedAt(LocalDateTime.now());
+        row.setExpiresAt(LocalDateTime.now().plusHours(ttlHours));
+        try {
+            ocrResultDao.save(row);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance stored the same document first
+            logger.debug("OCR result for {} already cached", key);
+        }
+    }
+
+    private double hitRatio() {
+        double answered = hits.count() + coalesced.count();
+        double total = answered + misses.count();
+        return total == 0 ? 0.0 : answered / total;
+    }
+
+    static String keyFor(String documentUrl) {
+        String normalised = documentUrl == null ? "" : documentUrl.trim();
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(normalised.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.ocr-cache.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        int removed = ocrResultDao.deleteExpired(LocalDateTime.now());
+        if (removed > 0) {
+            logger.debug("Purged {} expired OCR results", removed);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package fsa.training.service;
+
+import fsa.training.dao.CampaignDao;
+import fsa.training.dao.JobDao;
+import fsa.training.dao.MilestoneDao;
+import fsa.training.dao.UserDao;
+import fsa.training.dto.PublicProfile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read model behind public profiles. A profile is built with at most five queries (header, social
+ * links, completed-job stats, on-time milestones, recent campaigns) and then kept in a bounded LRU
+ * cache of app.profiles.cache-size entries, so a warm profile view runs no query at all.
+ *
+ * Entries are evicted by the events that change them: job accepted or completed, review posted,
+ * milestone approved, verification approved and profile edits (see DomainEventHandlers and the
+ * controllers). app.profiles.ttl-minutes bounds the staleness of anything no event covers, such as
+ * a renamed campaign. A load racing an eviction is not cached, so an evicted profile is never
+ * replaced by one read before the change.
+ */
+@Service
+public class ProfileService {
+
+    public static final int RECENT_CAMPAIGNS = 5;
+
+    // Upper bounds (VND, exclusive) of the total earnings buckets shown instead of the exact amount
+    private static final long[] EARNINGS_BOUNDS = {1, 1_000_000, 10_000_000, 50_000_000, 200_000_000};
+    private static final String[] EARNINGS_LABELS = {"0", "<1M", "1M-10M", "10M-50M", "50M-200M", "200M+"};
+
+    @Autowired
+    private UserDao userDao;
+
+    @Autowired
+    private JobDao jobDao;
+
+    @Autowired
+    private MilestoneDao milestoneDao;
+
+    @Autowired
+    private CampaignDao campaignDao;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.profiles.cache-size:5000}")
+    private int cacheSize;
+
+    @Value("${app.profiles.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    private Map<Long, CachedProfile> cache;
+
+    // user id -> token of the load in progress; eviction removes it so the load is not cached
+    private final ConcurrentHashMap<Long, Object> loading = new ConcurrentHashMap<>();
+
+    private Counter hits;
+    private Counter misses;
+
+    private static class CachedProfile {
+        final PublicProfile profile;
+        final long expiresAt;
+
+        CachedProfile(PublicProfile profile, long expiresAt) {
+            this.profile = profile;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        cache = Collections.synchronizedMap(new LinkedHashMap<Long, CachedProfile>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedProfile> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        hits = meterRegistry.counter("profile.cache.lookups", "result", "hit");
+        misses = meterRegistry.counter("profile.cache.lookups", "result", "miss");
+        Gauge.builder("profile.cache.size", this, s -> s.cache.size()).register(meterRegistry);
+    }
+
+    /** The user's public profile, or null if there is no such user. */
+    public PublicProfile get(Long userId) {
+        CachedProfile cached = cache.get(userId);
+        if (cached != null && cached.expiresAt > System.currentTimeMillis()) {
+            hits.increment();
+            return cached.profile;
+        }
+        misses.increment();
+
+        Object token = new Object();
+        loading.put(userId, token);
+        PublicProfile profile = load(userId);
+        if (loading.remove(userId, token) && profile != null) {
+            cache.put(userId, new CachedProfile(profile, System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(ttlMinutes)));
+        }
+        return profile;
+    }
+
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        loading.remove(userId);
+        cache.remove(userId);
+    }
+
+    private PublicProfile load(Long userId) {
+        UserDao.PublicHeader header = userDao.findPublicHeader(userId).orElse(null);
+        if (header == null) {
+            return null;
+        }
+        List<String> socialLinks = userDao.findSocialLinks(userId);
+
+        boolean creator = "CREATOR".equals(header.getRoleName());
+        JobDao.CompletedStats stats = creator
+                ? jobDao.completedStatsForCreator(userId)
+                : jobDao.completedStatsForInfluencer(userId);
+
+        Double onTimeRatio = null;
+        List<JobDao.RecentCampaign> recent;
+        if (creator) {
+            recent = campaignDao.findRecentByCreator(userId, PageRequest.of(0, RECENT_CAMPAIGNS));
+        } else {
+            MilestoneDao.OnTimeRow onTime = milestoneDao.countOnTime(userId);
+            if (onTime.getApproved() != null && onTime.getApproved() > 0) {
+                onTimeRatio = (onTime.getOnTime() != null ? onTime.getOnTime() : 0) / (double) onTime.getApproved();
+            }
+            recent = jobDao.findRecentCampaignsForInfluencer(userId, PageRequest.of(0, RECENT_CAMPAIGNS));
+        }
+
+        List<PublicProfile.RecentCampaign> campaigns = new ArrayList<>(recent.size());
+        for (JobDao.RecentCampaign c : recent) {
+            campaigns.add(new PublicProfile.RecentCampaign(c.getCampaignId(), c.getTitle(), c.getStatus()));
+        }
+
+        return new PublicProfile(header.getId(), header.getName(), header.getAvatarUrl(), header.getBio(),
+                header.getRoleName(), Boolean.TRUE.equals(header.getVerified()), socialLinks,
+                header.getRating() != null ? header.getRating() : 0.0,
+                header.getRatingCount() != null ? header.getRatingCount() : 0,
+                stats.getCompleted() != null ? stats.getCompleted() : 0,
+                onTimeRatio, earningsBucket(stats.getTotal()), campaigns);
+    }
+
+    static String earningsBucket(Double total) {
+        double amount = total != null ? total : 0;
+        for (int i = 0; i < EARNINGS_BOUNDS.length; i++) {
+            if (amount < EARNINGS_BOUNDS[i]) {
+                return EARNINGS_LABELS[i];
+            }
+        }
+        return EARNINGS_LABELS[EARNINGS_LABELS.length - 1];
+    }
+}
@@ -0,0 +1,247 @@
+package fsa.training.service;
+
+import fsa.training.dao.JobDao;
+import fsa.training.dao.ReviewDao;
+import fsa.training.dao.UserDao;
+import fsa.training.dto.ReviewItem;
+import fsa.training.entity.Job;
+import fsa.training.entity.Review;
+import fsa.training.entity.User;
+import fsa.training.event.ReviewPosted;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Two-way reviews after job completion and the rating aggregates they feed.
+ *
+ * Every user row carries rating_sum and rating_count; posting a review inserts it and bumps the
+ * reviewee's aggregates with a single UPDATE in the same transaction, so User.rating is
+ * always current and reading it never touches the reviews table.
+ *
+ * A nightly pass (app.reviews.verify-cron) recomputes the aggregates from the reviews table and
+ * repairs any drift, e.g. from rows edited by hand. The user id space is split into chunks of
+ * app.reviews.verify-chunk-size ids that app.reviews.verify-threads workers check in parallel, each
+ * with one grouped query. A repair only applies if the user's aggregates did not change since they
+ * were read, so it never overwrites a review posted while the pass runs.
+ */
+@Service
+public class ReviewService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReviewService.class);
+
+    public static final int MAX_PAGE_SIZE = 50;
+    public static final int MAX_COMMENT_LENGTH = 2000;
+
+    private static final String FIND_DRIFT =
+            "SELECT u.id, COALESCE(u.rating_sum, 0), COALESCE(u.rating_count, 0), COALESCE(r.total, 0), COALESCE(r.cnt, 0) " +
+            "FROM users u LEFT JOIN (SELECT reviewee_id, SUM(rating) AS total, COUNT(*) AS cnt FROM reviews " +
+            "WHERE reviewee_id BETWEEN ? AND ? GROUP BY reviewee_id) r ON r.reviewee_id = u.id " +
+            "WHERE u.id BETWEEN ? AND ? " +
+            "AND (COALESCE(u.rating_sum, 0) <> COALESCE(r.total, 0) OR COALESCE(u.rating_count, 0) <> COALESCE(r.cnt, 0))";
+
+    private static final String REPAIR =
+            "UPDATE users SET rating = ?, rating_sum = ?, rating_count = ? " +
+            "WHERE id = ? AND COALESCE(rating_sum, 0) = ? AND COALESCE(rating_count, 0) = ?";
+
+    @Autowired
+    private ReviewDao reviewDao;
+
+    @Autowired
+    private JobDao jobDao;
+
+    @Autowired
+    private UserDao userDao;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.reviews.verify-chunk-size:5000}")
+    private int chunkSize;
+
+    @Value("${app.reviews.verify-threads:4}")
+    private int verifyThreads;
+
+    private TransactionTemplate transactionTemplate;
+
+    private ExecutorService verifyPool;
+
+    /** Thrown when the user may not review this job (not a participant, not completed, or already reviewed). */
+    public static class ReviewException extends RuntimeException {
+        private final int status;
+
+        public ReviewException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        public int getStatus() { return status; }
+    }
+
+    public static class ReviewPage {
+        public final List<ReviewItem> items;
+        public final Long nextCursor; // null on the last page
+
+        ReviewPage(List<ReviewItem> items, Long nextCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        AtomicInteger threadCount = new AtomicInteger();
+        verifyPool = Executors.newFixedThreadPool(verifyThreads, r -> {
+            Thread t = new Thread(r, "review-verify-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        verifyPool.shutdownNow();
+    }
+
+    /**
+     * Stores the reviewer's review of the other participant of a completed job and adds it to the
+     * reviewee's rating aggregates, in one transaction.
+     */
+    public ReviewItem post(User reviewer, Long jobId, Integer rating, String comment) {
+        if (rating == null || rating < 1 || rating > 5) {
+            throw new ReviewException(400, "Rating must be between 1 and 5");
+        }
+        if (comment != null && comment.length() > MAX_COMMENT_LENGTH) {
+            throw new ReviewException(400, "Comment is longer than " + MAX_COMMENT_LENGTH + " characters");
+        }
+        try {
+            return transactionTemplate.execute(tx -> {
+                Job job = jobDao.findById(jobId).orElseThrow(() -> new ReviewException(404, "Job not found"));
+                User creator = job.getCampaign().getCreator();
+                User influencer = job.getInfluencer();
+                User reviewee;
+                if (creator.getId().equals(reviewer.getId())) {
+                    reviewee = influencer;
+                } else if (influencer.getId().equals(reviewer.getId())) {
+                    reviewee = creator;
+                } else {
+                    throw new ReviewException(403, "Only the job's creator and influencer can review it");
+                }
+                if (!"COMPLETED".equals(job.getStatus())) {
+                    throw new ReviewException(409, "Only completed jobs can be reviewed");
+                }
+                if (reviewDao.existsByJob_IdAndReviewer_Id(jobId, reviewer.getId())) {
+                    throw new ReviewException(409, "You have already reviewed this job");
+                }
+
+                Review review = reviewDao.saveAndFlush(new Review(job, reviewer, reviewee, rating, comment));
+                userDao.addRating(reviewee.getId(), rating);
+                domainEventBus.publish(new ReviewPosted(review.getId(), jobId, job.getCampaign().getTitle(),
+                        reviewer.getId(), reviewer.getName(), reviewee.getId(), rating));
+                return new ReviewItem(review.getId(), jobId, job.getCampaign().getTitle(), reviewer.getId(),
+                        reviewer.getName(), reviewer.getAvatarUrl(), rating, comment, review.getCreatedAt());
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Same review posted twice at once; the unique key kept the second one out
+            throw new ReviewException(409, "You have already reviewed this job");
+        }
+    }
+
+    /** Reviews the user received, newest first; pass the returned nextCursor to get older ones. */
+    public ReviewPage received(Long userId, Long cursor, int size) {
+        size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Fetch one extra row to know whether another page exists
+        List<ReviewItem> rows = reviewDao.findPage(userId, cursor, PageRequest.of(0, size + 1));
+        Long nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = rows.get(size - 1).getId();
+        }
+        return new ReviewPage(rows, nextCursor);
+    }
+
+    @Scheduled(cron = "${app.reviews.verify-cron:0 30 3 * * *}")
+    public void verifyAggregates() {
+        long began = System.currentTimeMillis();
+        Map<String, Object> bounds = jdbcTemplate.queryForMap("SELECT MIN(id) AS lo, MAX(id) AS hi FROM users");
+        if (bounds.get("lo") == null) {
+            return;
+        }
+        long lo = ((Number) bounds.get("lo")).longValue();
+        long hi = ((Number) bounds.get("hi")).longValue();
+
+        List<CompletableFuture<int[]>> chunks = new ArrayList<>();
+        for (long start = lo; start <= hi; start += chunkSize) {
+            long from = start;
+            long to = Math.min(hi, start + chunkSize - 1);
+            chunks.add(CompletableFuture.supplyAsync(() -> verifyChunk(from, to), verifyPool));
+        }
+
+        int drifted = 0;
+        int repaired = 0;
+        int failed = 0;
+        for (CompletableFuture<int[]> chunk : chunks) {
+            try {
+                int[] result = chunk.join();
+                drifted += result[0];
+                repaired += result[1];
+            } catch (RuntimeException e) {
+                failed++;
+                logger.error("Rating verification chunk failed", e);
+            }
+        }
+        if (drifted > 0 || failed > 0) {
+            logger.warn("Rating verification: {} users drifted, {} repaired, {} of {} chunks failed, {} ms",
+                    drifted, repaired, failed, chunks.size(), System.currentTimeMillis() - began);
+        } else {
+            logger.info("Rating verification: {} chunks consistent, {} ms", chunks.size(), System.currentTimeMillis() - began);
+        }
+    }
+
+    /** Returns {drifted, repaired} for users with ids in [from, to]. */
+    private int[] verifyChunk(long from, long to) {
+        List<Object[]> drift = jdbcTemplate.query(FIND_DRIFT, (rs, i) -> new Object[]{
+                rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5)}, from, to, from, to);
+        if (drift.isEmpty()) {
+            return new int[]{0, 0};
+        }
+
+        List<Object[]> repairs = new ArrayList<>(drift.size());
+        for (Object[] row : drift) {
+            long sum = (Long) row[3];
+            long count = (Long) row[4];
+            logger.warn("User {} rating aggregates were sum {} / count {}, reviews give {} / {}", row[0], row[1], row[2], sum, count);
+            repairs.add(new Object[]{count > 0 ? (double) sum / count : 0.0, sum, count, row[0], row[1], row[2]});
+        }
+        int repaired = 0;
+        for (int updated : jdbcTemplate.batchUpdate(REPAIR, repairs)) {
+            repaired += updated > 0 ? 1 : 0;
+        }
+        return new int[]{drift.size(), repaired};
+    }
+}
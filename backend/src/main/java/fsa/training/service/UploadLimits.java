@@ -0,0 +1,56 @@
+package fsa.training.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * Per resource type upload limits. The servlet multipart limit is set to the largest of these
+ * (videos); smaller types are checked here before anything is stored.
+ */
+@Component
+public class UploadLimits {
+
+    @Value("${app.upload.max-size.image:10MB}")
+    private DataSize maxImageSize;
+
+    @Value("${app.upload.max-size.video:200MB}")
+    private DataSize maxVideoSize;
+
+    @Value("${app.upload.max-size.raw:10MB}")
+    private DataSize maxRawSize;
+
+    public static class FileTooLargeException extends RuntimeException {
+        public FileTooLargeException(String message) {
+            super(message);
+        }
+    }
+
+    /** Cloudinary-style resource type: image, video or raw. */
+    public static String resourceTypeOf(String contentType) {
+        if (contentType != null && contentType.startsWith("video/")) {
+            return "video";
+        } else if (contentType != null && contentType.startsWith("image/")) {
+            return "image";
+        }
+        return "raw";
+    }
+
+    public DataSize maxSizeFor(String resourceType) {
+        return switch (resourceType) {
+            case "image" -> maxImageSize;
+            case "video" -> maxVideoSize;
+            default -> maxRawSize;
+        };
+    }
+
+    public void check(MultipartFile file) {
+        String resourceType = resourceTypeOf(file.getContentType());
+        DataSize max = maxSizeFor(resourceType);
+        if (file.getSize() > max.toBytes()) {
+            throw new FileTooLargeException("File is too large: " + resourceType + " uploads are limited to "
+                    + max.toMegabytes() + "MB");
+        }
+    }
+}
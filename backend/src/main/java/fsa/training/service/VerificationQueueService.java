@@ -0,0 +1,248 @@
+package fsa.training.service;
+
+import fsa.training.dao.VerificationDao;
+import fsa.training.dto.VerificationQueueItem;
+import fsa.training.entity.VerificationRequest;
+import fsa.training.event.VerificationApproved;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Admin review queue for verification requests.
+ *
+ * Priority = confidenceWeight * aiConfidence + documentWeight + ageWeight * ageInHours. The age term
+ * grows at the same rate for every request, so ordering only depends on
+ * priorityKey = confidenceWeight * aiConfidence + documentWeight - ageWeight * createdAtInHours,
+ * which is stored once per request and indexed; the queue is then a keyset scan.
+ *
+ * Admins claim a page of requests for app.verification.queue.lease-minutes. Claimed requests are
+ * skipped by other admins' claims and bulk decisions until the lease expires.
+ */
+@Service
+public class VerificationQueueService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificationQueueService.class);
+
+    // "Confidence: 95.0%" (auto-approval note) or "... (45.0%)" (AI analysis note)
+    private static final Pattern CONFIDENCE = Pattern.compile("(\\d{1,3}(?:\\.\\d+)?)%\\)?\\s*$");
+
+    public static final int MAX_PAGE_SIZE = 100;
+    public static final int MAX_BATCH = 500;
+
+    @Autowired
+    private VerificationDao verificationDao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    @Autowired
+    private Environment env;
+
+    @Value("${app.verification.queue.confidence-weight:24}")
+    private double confidenceWeight;
+
+    @Value("${app.verification.queue.age-weight-per-hour:1}")
+    private double ageWeightPerHour;
+
+    @Value("${app.verification.queue.default-confidence:0.5}")
+    private float defaultConfidence;
+
+    @Value("${app.verification.queue.lease-minutes:15}")
+    private long leaseMinutes;
+
+    public static class QueuePage {
+        public final List<VerificationQueueItem> items;
+        public final String nextCursor;
+
+        QueuePage(List<VerificationQueueItem> items, String nextCursor) {
+            this.items = items;
+            this.nextCursor = nextCursor;
+        }
+    }
+
+    public static class BatchResult {
+        public final List<Long> updated;
+        public final List<Long> skipped;
+
+        BatchResult(List<Long> updated, List<Long> skipped) {
+            this.updated = updated;
+            this.skipped = skipped;
+        }
+    }
+
+    /** Confidence (0..1) from an AI analysis note, or null if the note carries none. */
+    public static Float parseConfidence(String adminNote) {
+        if (adminNote == null) {
+            return null;
+        }
+        Matcher m = CONFIDENCE.matcher(adminNote.trim());
+        if (!m.find()) {
+            return null;
+        }
+        float percent = Float.parseFloat(m.group(1));
+        return Math.max(0f, Math.min(100f, percent)) / 100f;
+    }
+
+    public double priorityKey(String documentType, Float aiConfidence, LocalDateTime createdAt) {
+        double confidence = aiConfidence != null ? aiConfidence : defaultConfidence;
+        double documentWeight = documentType == null ? 0
+                : env.getProperty("app.verification.queue.document-weight." + documentType, Double.class, 0.0);
+        return confidenceWeight * confidence + documentWeight - ageWeightPerHour * hours(createdAt);
+    }
+
+    public QueuePage getQueue(String cursor, int size) {
+        size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Double cursorKey = null;
+        Long cursorId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = cursor.split("_", 2);
+            cursorKey = Double.valueOf(parts[0]);
+            cursorId = Long.valueOf(parts[1]);
+        }
+
+        List<VerificationQueueItem> rows = verificationDao.findQueuePage(cursorKey, cursorId, PageRequest.of(0, size + 1));
+        String nextCursor = null;
+        if (rows.size() > size) {
+            rows = new ArrayList<>(rows.subList(0, size));
+            VerificationQueueItem last = rows.get(size - 1);
+            nextCursor = last.getPriorityKey() + "_" + last.getId();
+        }
+        return new QueuePage(withPriority(rows), nextCursor);
+    }
+
+    /**
+     * Leases up to size unclaimed requests, best first, to the admin. Candidates taken by another
+     * admin in the meantime are skipped and the next ones tried.
+     */
+    @Transactional
+    public List<VerificationQueueItem> claim(Long adminId, int size) {
+        size = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        String token = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plusMinutes(leaseMinutes);
+
+        int claimed = 0;
+        for (int attempt = 0; attempt < 3 && claimed < size; attempt++) {
+            List<Long> candidates = verificationDao.findClaimableIds(now, PageRequest.of(0, size - claimed));
+            if (candidates.isEmpty()) {
+                break;
+            }
+            claimed += verificationDao.claim(candidates, adminId, token, expiresAt, now);
+        }
+        return withPriority(verificationDao.findQueueItemsByClaimToken(token));
+    }
+
+    public List<VerificationQueueItem> getActiveClaims(Long adminId) {
+        return withPriority(verificationDao.findActiveClaims(adminId, LocalDateTime.now()));
+    }
+
+    @Transactional
+    public int release(Long adminId, Collection<Long> ids) {
+        return ids.isEmpty() ? 0 : verificationDao.release(ids, adminId);
+    }
+
+    /**
+     * Approves a single request; the user is verified and notified by the VerificationApproved handler.
+     */
+    @Transactional
+    public void approve(VerificationRequest req) {
+        req.setStatus("APPROVED");
+        verificationDao.save(req);
+        domainEventBus.publish(new VerificationApproved(req.getId(), req.getUser().getId(), false));
+    }
+
+    /**
+     * Approves or rejects many requests at once: one UPDATE for the requests (plus one for the note,
+     * if given) and, for approvals, one UPDATE for their users plus a VerificationApproved event per
+     * request, whose handler notifies the user. Requests already decided or leased to another admin
+     * are skipped.
+     */
+    @Transactional
+    public BatchResult decide(Long adminId, Collection<Long> ids, boolean approve, String note) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.isEmpty()) {
+            return new BatchResult(List.of(), List.of());
+        }
+        String token = UUID.randomUUID().toString();
+        verificationDao.decide(requested, approve ? "APPROVED" : "REJECTED", adminId, token, LocalDateTime.now());
+        if (note != null && !note.isBlank()) {
+            verificationDao.setNoteForBatch(token, note);
+        }
+        if (approve) {
+            verificationDao.verifyUsersOfBatch(token);
+            for (VerificationDao.ApprovedRow row : verificationDao.findApprovedByClaimToken(token)) {
+                domainEventBus.publish(new VerificationApproved(row.getId(), row.getUserId(), false));
+            }
+        }
+
+        List<Long> updated = verificationDao.findIdsByClaimToken(token);
+        List<Long> skipped = new ArrayList<>(requested);
+        skipped.removeAll(updated);
+        return new BatchResult(updated, skipped);
+    }
+
+    /**
+     * Recomputes confidence and priority of all pending requests, e.g. for rows created before the
+     * queue existed or after the weights were changed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rescorePending() {
+        long afterId = 0;
+        int total = 0;
+        while (true) {
+            List<VerificationDao.ScoreInput> page = verificationDao.findPendingScoreInputs(afterId, PageRequest.of(0, 500));
+            if (page.isEmpty()) {
+                break;
+            }
+            List<Object[]> rows = new ArrayList<>(page.size());
+            for (VerificationDao.ScoreInput in : page) {
+                Float confidence = parseConfidence(in.getAdminNote());
+                LocalDateTime createdAt = in.getCreatedAt() != null ? in.getCreatedAt() : LocalDateTime.now();
+                rows.add(new Object[] { confidence, priorityKey(in.getDocumentType(), confidence, createdAt), in.getId() });
+                afterId = in.getId();
+            }
+            jdbcTemplate.batchUpdate("UPDATE verification_requests SET ai_confidence = ?, priority_key = ? WHERE id = ?", rows);
+            total += rows.size();
+        }
+        if (total > 0) {
+            logger.info("Rescored {} pending verification requests", total);
+        }
+    }
+
+    private List<VerificationQueueItem> withPriority(List<VerificationQueueItem> items) {
+        double ageTerm = ageWeightPerHour * hours(LocalDateTime.now());
+        for (VerificationQueueItem item : items) {
+            if (item.getPriorityKey() != null) {
+                item.setPriority(item.getPriorityKey() + ageTerm);
+            }
+        }
+        return items;
+    }
+
+    private static double hours(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 3600.0;
+    }
+}
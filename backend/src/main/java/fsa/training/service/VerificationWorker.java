@@ -0,0 +1,157 @@
+package fsa.training.service;
+
+import fsa.training.dao.VerificationDao;
+import fsa.training.entity.VerificationRequest;
+import fsa.training.event.VerificationApproved;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the AI check of ID-card verification requests off the request thread.
+ *
+ * Requests are stored as PENDING_AI and handed to a bounded pool. When the queue is full, or
+ * the application restarts before a request is processed, the row simply stays PENDING_AI and
+ * the periodic sweep picks it up again. The result is written with a conditional update, so a
+ * request that is processed twice is still decided only once; the user gets a notification.
+ */
+@Service
+public class VerificationWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificationWorker.class);
+
+    public static final String PENDING_AI = "PENDING_AI";
+
+    @Autowired
+    private VerificationDao verificationDao;
+
+    @Autowired
+    private DomainEventBus domainEventBus;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private AIService aiService;
+
+    @Autowired
+    private VerificationQueueService verificationQueueService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.verification.workers:4}")
+    private int workers;
+
+    @Value("${app.verification.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${app.verification.auto-approve-confidence:0.9}")
+    private double autoApproveConfidence;
+
+    private ThreadPoolExecutor executor;
+
+    private TransactionTemplate transactionTemplate;
+
+    // Requests queued or running in this instance
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        AtomicInteger threadCount = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "verification-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues a committed PENDING_AI request. Returns false if the pool is saturated; the request
+     * is then processed by a later sweep.
+     */
+    public boolean enqueue(Long requestId) {
+        if (!inFlight.add(requestId)) {
+            return true;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    process(requestId);
+                } catch (RuntimeException e) {
+                    logger.warn("AI verification of request {} failed, will retry on next sweep: {}", requestId, e.getMessage());
+                } finally {
+                    inFlight.remove(requestId);
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(requestId);
+            logger.debug("Verification queue full, request {} left for the sweeper", requestId);
+            return false;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.verification.sweep-interval-ms:30000}")
+    public void sweep() {
+        for (VerificationRequest req : verificationDao.findTop100ByStatusOrderByIdAsc(PENDING_AI)) {
+            if (!inFlight.contains(req.getId()) && !enqueue(req.getId())) {
+                break;
+            }
+        }
+    }
+
+    private void process(Long requestId) {
+        VerificationRequest req = verificationDao.findById(requestId).orElse(null);
+        if (req == null || !PENDING_AI.equals(req.getStatus())) {
+            return;
+        }
+
+        // The OCR round trip runs outside any transaction so it never holds a connection
+        AIService.AIResult aiResult = aiService.validateIdCard(req.getDocumentUrl());
+        boolean approved = aiResult.isValid && aiResult.confidence > autoApproveConfidence;
+        String status = approved ? "APPROVED" : "PENDING";
+        String note = approved
+                ? "AUTO-APPROVED BY AI SYSTEM. Confidence: " + (aiResult.confidence * 100) + "%"
+                : "AI Analysis: " + aiResult.message + " (" + (aiResult.confidence * 100) + "%)";
+        Float confidence = VerificationQueueService.parseConfidence(note);
+        double priorityKey = verificationQueueService.priorityKey(req.getDocumentType(), confidence, req.getCreatedAt());
+        Long userId = req.getUser().getId();
+
+        transactionTemplate.executeWithoutResult(txStatus -> {
+            if (verificationDao.completeAiCheck(requestId, status, note, confidence, priorityKey) == 0) {
+                return;
+            }
+            if (approved) {
+                domainEventBus.publish(new VerificationApproved(requestId, userId, true));
+            } else {
+                notificationService.publish(userId, NotificationService.VERIFICATION,
+                        "Đang chờ duyệt thủ công", "Hồ sơ xác thực của bạn sẽ được quản trị viên xem xét.");
+            }
+        });
+    }
+}
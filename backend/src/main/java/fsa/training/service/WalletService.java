@@ -0,0 +1,74 @@
+package fsa.training.service;
+
+import fsa.training.dao.TransactionDao;
+import fsa.training.dao.WalletDao;
+import fsa.training.entity.Transaction;
+import fsa.training.entity.User;
+import fsa.training.entity.Wallet;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Deposits and withdrawals. Each is one conditional balance update (WalletDao.credit / debit)
+ * plus its ledger row in the same transaction, so concurrent writes to a wallet neither lose
+ * updates nor fail on its version, and a balance change never commits without its Transaction.
+ */
+@Service
+public class WalletService {
+
+    @Autowired
+    private WalletDao walletDao;
+
+    @Autowired
+    private TransactionDao transactionDao;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional
+    public Wallet deposit(User user, double amount) {
+        Wallet wallet = getOrCreateWallet(user);
+        walletDao.credit(wallet.getId(), amount);
+
+        Transaction tx = new Transaction();
+        tx.setWallet(wallet);
+        tx.setAmount(amount);
+        tx.setType("DEPOSIT");
+        tx.setStatus("COMPLETED");
+        tx.setDescription("Deposit via Simulated Gateway");
+        transactionDao.save(tx);
+
+        // The update went around the entity; return the committed balance
+        entityManager.refresh(wallet);
+        return wallet;
+    }
+
+    /**
+     * @throws EscrowService.InsufficientFundsException if the available balance does not cover the amount
+     */
+    @Transactional
+    public Wallet withdraw(User user, double amount) {
+        Wallet wallet = getOrCreateWallet(user);
+        if (walletDao.debit(wallet.getId(), amount) == 0) {
+            throw new EscrowService.InsufficientFundsException("Insufficient funds");
+        }
+
+        Transaction tx = new Transaction();
+        tx.setWallet(wallet);
+        tx.setAmount(amount);
+        tx.setType("WITHDRAWAL");
+        tx.setStatus("PENDING"); // Simulate manual processing or instant
+        tx.setDescription("Withdrawal Request");
+        transactionDao.save(tx);
+
+        entityManager.refresh(wallet);
+        return wallet;
+    }
+
+    private Wallet getOrCreateWallet(User user) {
+        return walletDao.findByUser(user).orElseGet(() -> walletDao.save(new Wallet(user, 0.0)));
+    }
+}
@@ -0,0 +1,158 @@
+package fsa.training.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import fsa.training.controller.WalletController;
+import fsa.training.dao.IdempotencyRecordDao;
+import fsa.training.dao.UserDao;
+import fsa.training.entity.User;
+import fsa.training.entity.Wallet;
+import fsa.training.service.IdempotencyService;
+import fsa.training.service.WalletService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Idempotency-Key handling of POST /api/wallet/deposit, with the real filter and store in front of
+ * WalletController and a mocked WalletService. Only outcomes a retry would get again may be kept.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idempotency;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({IdempotencyFilter.class, IdempotencyService.class})
+class IdempotencyFilterTest {
+
+    private static final String DEPOSIT = "/api/wallet/deposit";
+
+    @Autowired
+    private IdempotencyFilter idempotencyFilter;
+
+    @Autowired
+    private IdempotencyRecordDao idempotencyRecordDao;
+
+    private final WalletService walletService = mock(WalletService.class);
+
+    private final WalletController walletController = new WalletController();
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(42L);
+        user.setEmail("creator@example.com");
+
+        UserDao userDao = mock(UserDao.class);
+        when(userDao.findById(42L)).thenReturn(Optional.of(user));
+        ReflectionTestUtils.setField(walletController, "userDao", userDao);
+        ReflectionTestUtils.setField(walletController, "walletService", walletService);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void lockConflictIsNotStoredAndTheKeyCanBeRetried() throws Exception {
+        Wallet wallet = new Wallet(user, 100.0);
+        when(walletService.deposit(any(User.class), anyDouble()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Wallet.class, 7L))
+                .thenReturn(wallet);
+
+        MockHttpServletResponse first = deposit("key-1", "{\"amount\":100}");
+        assertThat(first.getStatus()).isEqualTo(409);
+        assertThat(idempotencyRecordDao.findByUserIdAndIdempotencyKey(42L, "key-1")).isEmpty();
+
+        MockHttpServletResponse retry = deposit("key-1", "{\"amount\":100}");
+        assertThat(retry.getStatus()).isEqualTo(200);
+        assertThat(retry.getHeader("Idempotent-Replayed")).isNull();
+        assertThat(calls).hasValue(2);
+
+        MockHttpServletResponse replay = deposit("key-1", "{\"amount\":100}");
+        assertThat(replay.getStatus()).isEqualTo(200);
+        assertThat(replay.getHeader("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void invalidAmountIsStoredAndReplayed() throws Exception {
+        MockHttpServletResponse first = deposit("key-2", "{\"amount\":-5}");
+        assertThat(first.getStatus()).isEqualTo(400);
+
+        MockHttpServletResponse replay = deposit("key-2", "{\"amount\":-5}");
+        assertThat(replay.getStatus()).isEqualTo(400);
+        assertThat(replay.getHeader("Idempotent-Replayed")).isEqualTo("true");
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void keyReusedWithAnotherBodyIsRejected() throws Exception {
+        when(walletService.deposit(any(User.class), anyDouble())).thenReturn(new Wallet(user, 100.0));
+
+        MockHttpServletResponse first = deposit("key-3", "{\"amount\":100}");
+        assertThat(first.getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse second = deposit("key-3", "{\"amount\":1000}");
+        assertThat(second.getStatus()).isEqualTo(422);
+        assertThat(calls).hasValue(1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private MockHttpServletResponse deposit(String key, String json) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", DEPOSIT);
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(json.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FilterChain controller = (req, res) -> {
+            calls.incrementAndGet();
+            Map<String, Object> payload = objectMapper.readValue(req.getInputStream(), Map.class);
+            ResponseEntity<?> entity = walletController.deposit(payload);
+            HttpServletResponse http = (HttpServletResponse) res;
+            http.setStatus(entity.getStatusCode().value());
+            http.setContentType("application/json");
+            http.getWriter().write(objectMapper.writeValueAsString(entity.getBody()));
+        };
+        idempotencyFilter.doFilter(request, response, controller);
+        return response;
+    }
+}
@@ -0,0 +1,129 @@
+package fsa.training.service;
+
+import fsa.training.dao.JobDao;
+import fsa.training.entity.Campaign;
+import fsa.training.entity.Job;
+import fsa.training.entity.Milestone;
+import fsa.training.entity.MilestoneHistory;
+import fsa.training.entity.Role;
+import fsa.training.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The workspace is three queries (header, milestones, recent history) whatever the number of
+ * milestones. Counted with Hibernate's statistics, which see every statement prepared through the
+ * session, native queries included.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:workspace;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JobWorkspaceService.class)
+class JobWorkspaceServiceTest {
+
+    private static final int HISTORY_PER_MILESTONE = 5;
+
+    @Autowired
+    private JobWorkspaceService jobWorkspaceService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    @SuppressWarnings("unchecked")
+    void workspaceIsThreeStatementsWhateverTheMilestoneCount(int milestoneCount) {
+        Long jobId = seedJob(milestoneCount, HISTORY_PER_MILESTONE + 2);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        JobDao.WorkspaceHeader header = jobWorkspaceService.findHeader(jobId).orElseThrow();
+        Map<String, Object> workspace = jobWorkspaceService.assemble(header);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+
+        List<Map<String, Object>> milestones = (List<Map<String, Object>>) workspace.get("milestones");
+        assertThat(milestones).hasSize(milestoneCount);
+        for (Map<String, Object> milestone : milestones) {
+            assertThat((List<?>) milestone.get("history")).hasSize(HISTORY_PER_MILESTONE);
+            assertThat(milestone.get("historyCount")).isEqualTo((long) HISTORY_PER_MILESTONE + 2);
+        }
+    }
+
+    private Long seedJob(int milestoneCount, int historyPerMilestone) {
+        Role role = entityManager.persist(new Role(null, "CREATOR_" + milestoneCount));
+        User creator = entityManager.persist(user("creator" + milestoneCount, role));
+        User influencer = entityManager.persist(user("influencer" + milestoneCount, role));
+
+        Campaign campaign = new Campaign();
+        campaign.setTitle("Campaign " + milestoneCount);
+        campaign.setCreator(creator);
+        campaign.setStatus("ACTIVE");
+        entityManager.persist(campaign);
+
+        Job job = new Job();
+        job.setCampaign(campaign);
+        job.setInfluencer(influencer);
+        job.setPrice(100.0);
+        job.setStatus("IN_PROGRESS");
+        job.setCreatedAt(LocalDateTime.now());
+        entityManager.persist(job);
+
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        for (int i = 0; i < milestoneCount; i++) {
+            Milestone milestone = new Milestone();
+            milestone.setJob(job);
+            milestone.setTitle("Milestone " + i);
+            milestone.setStatus("PENDING");
+            milestone.setDeadline(start.plusDays(7));
+            entityManager.persist(milestone);
+
+            for (int h = 0; h < historyPerMilestone; h++) {
+                MilestoneHistory history = new MilestoneHistory();
+                history.setMilestone(milestone);
+                history.setAction("SUBMITTED");
+                history.setDescription("Revision " + h);
+                history.setCreatedAt(start.plusMinutes(h));
+                entityManager.persist(history);
+            }
+        }
+        return job.getId();
+    }
+
+    private User user(String name, Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("{noop}test");
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,234 @@
+package fsa.training.service;
+
+import fsa.training.dao.CampaignDao;
+import fsa.training.dao.JobDao;
+import fsa.training.dao.MilestoneDao;
+import fsa.training.dao.RoleDao;
+import fsa.training.dao.UserDao;
+import fsa.training.entity.Campaign;
+import fsa.training.entity.Job;
+import fsa.training.entity.Milestone;
+import fsa.training.entity.Role;
+import fsa.training.entity.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires many submit / review calls at one milestone at the same instant. For each state exactly
+ * one transition must win; every other call must end in TransitionException (the 409 the
+ * controller returns), and milestone_history must hold one row per winning transition only.
+ *
+ * Runs outside a test transaction so the concurrent calls see each other's commits.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:milestones;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "app.milestone.transition-max-attempts=3",
+        "app.milestone.transition-backoff-ms=5"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(MilestoneWorkflowService.class)
+class MilestoneWorkflowServiceTest {
+
+    private static final int CALLERS = 24;
+
+    @Autowired
+    private MilestoneWorkflowService milestoneWorkflowService;
+
+    @Autowired
+    private MilestoneDao milestoneDao;
+
+    @Autowired
+    private JobDao jobDao;
+
+    @Autowired
+    private CampaignDao campaignDao;
+
+    @Autowired
+    private UserDao userDao;
+
+    @Autowired
+    private RoleDao roleDao;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ExecutorService executor;
+
+    private Long milestoneId;
+
+    private record Round(int wins, int conflicts) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(CALLERS);
+        milestoneId = seedMilestone();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void exactlyOneTransitionWinsPerState() throws Exception {
+        // PENDING -> SUBMITTED
+        assertOneWinner(race(i -> () -> milestoneWorkflowService.submit(milestoneId, "https://evidence/" + i, "draft " + i)));
+        assertStatus("SUBMITTED", 1);
+
+        // SUBMITTED -> REJECTED
+        assertOneWinner(race(i -> () -> milestoneWorkflowService.review(milestoneId, "REJECTED", "feedback " + i)));
+        assertStatus("REJECTED", 2);
+
+        // REJECTED -> SUBMITTED
+        assertOneWinner(race(i -> () -> milestoneWorkflowService.submit(milestoneId, "https://evidence/v2/" + i, "revision " + i)));
+        assertStatus("SUBMITTED", 3);
+
+        // SUBMITTED -> APPROVED or REJECTED, both requested at once
+        assertOneWinner(race(i -> () -> milestoneWorkflowService.review(milestoneId, i % 2 == 0 ? "APPROVED" : "REJECTED", null)));
+        assertThat(milestoneDao.findById(milestoneId).orElseThrow().getStatus()).isIn("APPROVED", "REJECTED");
+        assertThat(milestoneDao.findById(milestoneId).orElseThrow().getVersion()).isEqualTo(4L);
+        assertThat(historyRows()).isEqualTo(4);
+    }
+
+    @Test
+    void mixedSubmitsAndReviewsRecordOneHistoryRowPerWinningTransition() throws Exception {
+        // Submits and reviews interleaved from PENDING: any number of them may win as the state
+        // moves along, but only along valid transitions and each with exactly one history row
+        Round round = race(i -> i % 3 == 0
+                ? () -> milestoneWorkflowService.submit(milestoneId, "https://evidence/" + i, null)
+                : () -> milestoneWorkflowService.review(milestoneId, i % 3 == 1 ? "REJECTED" : "APPROVED", null));
+
+        assertThat(round.wins()).isPositive();
+        assertThat(round.wins() + round.conflicts()).isEqualTo(CALLERS);
+        assertThat(historyRows()).isEqualTo(round.wins());
+        assertThat(milestoneDao.findById(milestoneId).orElseThrow().getVersion()).isEqualTo((long) round.wins());
+
+        List<String> actions = jdbcTemplate.queryForList(
+                "SELECT action FROM milestone_history WHERE milestone_id = ? ORDER BY id", String.class, milestoneId);
+        String state = "PENDING";
+        for (String action : actions) {
+            assertThat(MilestoneWorkflowService.canTransition(state, action))
+                    .as("%s -> %s", state, action).isTrue();
+            state = action;
+        }
+        assertThat(milestoneDao.findById(milestoneId).orElseThrow().getStatus()).isEqualTo(state);
+    }
+
+    /** Starts CALLERS calls together and counts winners and TransitionException losers; anything else fails the test. */
+    private Round race(IntFunction<Callable<Milestone>> call) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(CALLERS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Milestone>> futures = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            Callable<Milestone> task = call.apply(i);
+            futures.add(executor.submit(() -> {
+                ready.countDown();
+                start.await();
+                return task.call();
+            }));
+        }
+        ready.await();
+        start.countDown();
+
+        int wins = 0;
+        int conflicts = 0;
+        for (Future<Milestone> future : futures) {
+            try {
+                future.get(30, TimeUnit.SECONDS);
+                wins++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause()).isInstanceOf(MilestoneWorkflowService.TransitionException.class);
+                conflicts++;
+            } catch (TimeoutException e) {
+                throw new AssertionError("Transition call did not finish", e);
+            }
+        }
+        return new Round(wins, conflicts);
+    }
+
+    private void assertOneWinner(Round round) {
+        assertThat(round.wins()).isEqualTo(1);
+        assertThat(round.conflicts()).isEqualTo(CALLERS - 1);
+    }
+
+    private void assertStatus(String status, long version) {
+        Milestone milestone = milestoneDao.findById(milestoneId).orElseThrow();
+        assertThat(milestone.getStatus()).isEqualTo(status);
+        assertThat(milestone.getVersion()).isEqualTo(version);
+        assertThat(historyRows()).isEqualTo(version);
+    }
+
+    private long historyRows() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM milestone_history WHERE milestone_id = ?", Long.class, milestoneId);
+    }
+
+    private Long seedMilestone() {
+        Role role = roleDao.findByName("CREATOR");
+        if (role == null) {
+            role = roleDao.save(new Role(null, "CREATOR"));
+        }
+        long n = System.nanoTime();
+        User creator = userDao.save(user("creator" + n, role));
+        User influencer = userDao.save(user("influencer" + n, role));
+
+        Campaign campaign = new Campaign();
+        campaign.setTitle("Campaign " + n);
+        campaign.setCreator(creator);
+        campaign.setStatus("ACTIVE");
+        campaign = campaignDao.save(campaign);
+
+        Job job = new Job();
+        job.setCampaign(campaign);
+        job.setInfluencer(influencer);
+        job.setStatus("IN_PROGRESS");
+        job.setCreatedAt(LocalDateTime.now());
+        job = jobDao.save(job);
+
+        Milestone milestone = new Milestone();
+        milestone.setJob(job);
+        milestone.setTitle("Final deliverable");
+        milestone.setStatus("PENDING");
+        milestone.setDeadline(LocalDateTime.now().plusDays(7));
+        return milestoneDao.save(milestone).getId();
+    }
+
+    private User user(String name, Role role) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("{noop}test");
+        user.setRole(role);
+        return user;
+    }
+}
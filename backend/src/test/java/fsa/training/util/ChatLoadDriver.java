@@ -0,0 +1,311 @@
+package fsa.training.util;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Load test for the chat socket: many creator/influencer pairs chatting at once over /ws/chat.
+ *
+ * Against a running app (e.g. the local profile), it first creates the pairs through the REST API
+ * (register, login, campaign, application, conversation), then opens two sockets per pair and has
+ * every socket send its messages at intervalMs (with jitter) to its conversation. It reports ack
+ * latency (send until the server confirmed the stored message), delivery latency (send until the
+ * other participant's socket received it) and checks the stored history of a few conversations:
+ *
+ *   java -cp target/test-classes fsa.training.util.ChatLoadDriver http://localhost:8080 [pairs] [messagesPerSocket] [intervalMs]
+ *
+ * Each socket is one user; with the default 1000 pairs that is 2000 concurrent connections.
+ */
+public class ChatLoadDriver {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final Pattern TYPE = Pattern.compile("\"type\"\\s*:\\s*\"(\\w+)\"");
+    private static final Pattern SENT_AT = Pattern.compile("\"content\"\\s*:\\s*\"lt (\\d+) ");
+    private static final Pattern SENDER = Pattern.compile("\"senderId\"\\s*:\\s*(\\d+)");
+
+    private record Pair(long conversationId, String creatorToken, String influencerToken) {}
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args[0];
+        int pairs = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int messages = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+        long intervalMs = args.length > 3 ? Long.parseLong(args[3]) : 100;
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        String run = UUID.randomUUID().toString().substring(0, 8);
+
+        // 1. Pairs and their conversations
+        long start = System.nanoTime();
+        List<Pair> created = Collections.synchronizedList(new ArrayList<>());
+        Semaphore setupPermits = new Semaphore(32);
+        try (ExecutorService setup = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < pairs; i++) {
+                int n = i;
+                setup.submit(() -> {
+                    setupPermits.acquireUninterruptibly();
+                    try {
+                        created.add(createPair(http, baseUrl, run, n));
+                    } catch (Exception e) {
+                        System.out.println("  pair " + n + " setup failed: " + e.getMessage());
+                    } finally {
+                        setupPermits.release();
+                    }
+                    return null;
+                });
+            }
+        }
+        System.out.printf("setup: %d pairs in %d ms%n", created.size(), (System.nanoTime() - start) / 1_000_000);
+
+        // 2. Two sockets per pair
+        ConcurrentLinkedQueue<Long> ackLatencies = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<Long> deliveryLatencies = new ConcurrentLinkedQueue<>();
+        AtomicLong errors = new AtomicLong();
+        AtomicLong resyncs = new AtomicLong();
+        int sockets = created.size() * 2;
+        long expected = (long) sockets * messages;
+        CountDownLatch ready = new CountDownLatch(sockets);
+        CountDownLatch acked = new CountDownLatch((int) expected);
+        CountDownLatch delivered = new CountDownLatch((int) expected);
+        ConcurrentHashMap<String, Long> sentAt = new ConcurrentHashMap<>();
+
+        start = System.nanoTime();
+        List<CompletableFuture<WebSocket>> connecting = new ArrayList<>(sockets);
+        for (Pair pair : created) {
+            for (String token : List.of(pair.creatorToken(), pair.influencerToken())) {
+                Listener listener = new Listener(ready, acked, delivered, sentAt, ackLatencies, deliveryLatencies, errors, resyncs);
+                URI uri = URI.create(baseUrl.replaceFirst("^http", "ws") + "/ws/chat?access_token="
+                        + URLEncoder.encode(token, StandardCharsets.UTF_8));
+                connecting.add(http.newWebSocketBuilder().connectTimeout(Duration.ofSeconds(30)).buildAsync(uri, listener));
+            }
+        }
+        List<WebSocket> open = new ArrayList<>(sockets);
+        for (CompletableFuture<WebSocket> f : connecting) {
+            try {
+                open.add(f.get(60, TimeUnit.SECONDS));
+            } catch (Exception e) {
+                errors.incrementAndGet();
+            }
+        }
+        ready.await(60, TimeUnit.SECONDS);
+        System.out.printf("connect: %d/%d sockets open in %d ms%n", open.size(), sockets, (System.nanoTime() - start) / 1_000_000);
+
+        // 3. Every socket sends its messages; a socket allows one outstanding send, so one sender each
+        start = System.nanoTime();
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int s = 0; s < open.size(); s++) {
+                WebSocket socket = open.get(s);
+                long conversationId = created.get(s / 2).conversationId();
+                int socketIndex = s;
+                senders.submit(() -> {
+                    for (int m = 0; m < messages; m++) {
+                        Thread.sleep(intervalMs / 2 + ThreadLocalRandom.current().nextLong(Math.max(1, intervalMs)));
+                        String clientId = socketIndex + "-" + m;
+                        long now = System.nanoTime();
+                        sentAt.put(clientId, now);
+                        socket.sendText("{\"type\":\"send\",\"conversationId\":" + conversationId + ",\"clientId\":\"" + clientId
+                                + "\",\"content\":\"lt " + now + " message " + m + "\"}", true).join();
+                    }
+                    return null;
+                });
+            }
+        }
+        boolean allAcked = acked.await(60, TimeUnit.SECONDS);
+        boolean allDelivered = delivered.await(30, TimeUnit.SECONDS);
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.printf("sent %d messages from %d sockets in %d ms (%.0f msg/s)%n",
+                expected, open.size(), elapsedMs, expected * 1000.0 / Math.max(1, elapsedMs));
+        System.out.printf("acked %d/%d%s, delivered %d/%d%s, errors %d, resyncs %d%n",
+                expected - acked.getCount(), expected, allAcked ? "" : " (timed out)",
+                expected - delivered.getCount(), expected, allDelivered ? "" : " (timed out)", errors.get(), resyncs.get());
+        report("ack latency", ackLatencies);
+        report("delivery latency", deliveryLatencies);
+
+        // 4. History of a few conversations, read back through the keyset endpoint
+        for (int i = 0; i < Math.min(5, created.size()); i++) {
+            Pair pair = created.get(i * (created.size() / Math.min(5, created.size())));
+            int stored = countHistory(http, baseUrl, pair);
+            System.out.printf("conversation %d: %d/%d messages stored%n", pair.conversationId(), stored, 2 * messages);
+        }
+
+        for (WebSocket socket : open) {
+            socket.sendClose(WebSocket.NORMAL_CLOSURE, "done");
+        }
+    }
+
+    private static Pair createPair(HttpClient http, String baseUrl, String run, int n) throws Exception {
+        String creator = "chat-" + run + "-c" + n + "@load.test";
+        String influencer = "chat-" + run + "-i" + n + "@load.test";
+        String creatorToken = registerAndLogin(http, baseUrl, creator, "CREATOR");
+        String influencerToken = registerAndLogin(http, baseUrl, influencer, "RECEIVER");
+
+        String campaign = postJson(http, baseUrl + "/api/campaign/create", creatorToken,
+                "{\"title\":\"Chat load " + n + "\",\"deadline\":\"2030-01-01\"}");
+        String application = postJson(http, baseUrl + "/api/application/apply", influencerToken,
+                "{\"campaignId\":" + idOf(campaign) + ",\"bidAmount\":10}");
+        String conversation = postJson(http, baseUrl + "/api/chat/conversations", creatorToken,
+                "{\"applicationId\":" + idOf(application) + "}");
+        return new Pair(idOf(conversation), creatorToken, influencerToken);
+    }
+
+    private static String registerAndLogin(HttpClient http, String baseUrl, String email, String role) throws Exception {
+        http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"" + email + "\",\"email\":\"" + email
+                        + "\",\"password\":\"pw\",\"role\":{\"name\":\"" + role + "\"}}"))
+                .build(), HttpResponse.BodyHandlers.discarding());
+        String login = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString("username=" + URLEncoder.encode(email, StandardCharsets.UTF_8) + "&password=pw"))
+                .build(), HttpResponse.BodyHandlers.ofString()).body();
+        Matcher m = TOKEN.matcher(login);
+        if (!m.find()) {
+            throw new IllegalStateException("login failed for " + email + ": " + login);
+        }
+        return m.group(1);
+    }
+
+    private static String postJson(HttpClient http, String url, String token, String json) throws Exception {
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(url + " returned HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return response.body();
+    }
+
+    private static long idOf(String json) {
+        Matcher m = ID.matcher(json);
+        if (!m.find()) {
+            throw new IllegalStateException("no id in " + json);
+        }
+        return Long.parseLong(m.group(1));
+    }
+
+    private static int countHistory(HttpClient http, String baseUrl, Pair pair) throws Exception {
+        int count = 0;
+        String cursor = null;
+        do {
+            String url = baseUrl + "/api/chat/conversations/" + pair.conversationId() + "/messages?size=100"
+                    + (cursor != null ? "&cursor=" + cursor : "");
+            String body = http.send(HttpRequest.newBuilder(URI.create(url))
+                    .header("Authorization", "Bearer " + pair.creatorToken()).GET().build(),
+                    HttpResponse.BodyHandlers.ofString()).body();
+            Matcher ids = SENDER.matcher(body);
+            while (ids.find()) {
+                count++;
+            }
+            Matcher next = Pattern.compile("\"nextCursor\"\\s*:\\s*(\\d+)").matcher(body);
+            cursor = next.find() ? next.group(1) : null;
+        } while (cursor != null);
+        return count;
+    }
+
+    private static void report(String name, ConcurrentLinkedQueue<Long> nanos) {
+        List<Long> sorted = new ArrayList<>(nanos);
+        if (sorted.isEmpty()) {
+            System.out.println(name + ": no samples");
+            return;
+        }
+        Collections.sort(sorted);
+        System.out.printf("%s: p50 %.1f ms, p95 %.1f ms, p99 %.1f ms, max %.1f ms (%d samples)%n", name,
+                percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                sorted.get(sorted.size() - 1) / 1e6, sorted.size());
+    }
+
+    private static double percentile(List<Long> sorted, int p) {
+        return sorted.get(Math.min(sorted.size() - 1, (int) Math.ceil(p / 100.0 * sorted.size()) - 1)) / 1e6;
+    }
+
+    private static class Listener implements WebSocket.Listener {
+        private final CountDownLatch ready;
+        private final CountDownLatch acked;
+        private final CountDownLatch delivered;
+        private final ConcurrentHashMap<String, Long> sentAt;
+        private final ConcurrentLinkedQueue<Long> ackLatencies;
+        private final ConcurrentLinkedQueue<Long> deliveryLatencies;
+        private final AtomicLong errors;
+        private final AtomicLong resyncs;
+        private final StringBuilder partial = new StringBuilder();
+
+        Listener(CountDownLatch ready, CountDownLatch acked, CountDownLatch delivered, ConcurrentHashMap<String, Long> sentAt,
+                 ConcurrentLinkedQueue<Long> ackLatencies, ConcurrentLinkedQueue<Long> deliveryLatencies,
+                 AtomicLong errors, AtomicLong resyncs) {
+            this.ready = ready;
+            this.acked = acked;
+            this.delivered = delivered;
+            this.sentAt = sentAt;
+            this.ackLatencies = ackLatencies;
+            this.deliveryLatencies = deliveryLatencies;
+            this.errors = errors;
+            this.resyncs = resyncs;
+        }
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            partial.append(data);
+            if (last) {
+                handle(partial.toString(), System.nanoTime());
+                partial.setLength(0);
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        private void handle(String frame, long now) {
+            Matcher type = TYPE.matcher(frame);
+            if (!type.find()) {
+                return;
+            }
+            switch (type.group(1)) {
+                case "ready" -> ready.countDown();
+                case "ack" -> {
+                    Matcher clientId = Pattern.compile("\"clientId\"\\s*:\\s*\"([^\"]+)\"").matcher(frame);
+                    Long sent = clientId.find() ? sentAt.remove(clientId.group(1)) : null;
+                    if (sent != null) {
+                        ackLatencies.add(now - sent);
+                        acked.countDown();
+                    }
+                }
+                case "message" -> {
+                    // Only the other participant's messages reach this socket
+                    Matcher sent = SENT_AT.matcher(frame);
+                    if (sent.find()) {
+                        deliveryLatencies.add(now - Long.parseLong(sent.group(1)));
+                        delivered.countDown();
+                    }
+                }
+                case "error" -> errors.incrementAndGet();
+                case "resync" -> resyncs.incrementAndGet();
+                default -> { }
+            }
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package fsa.training.util;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * HTTP load driver for the app running with the loadtest profile (see LoadTestDataSeeder and
+ * application-loadtest.properties). It waits until /actuator/health is UP, which is only after the
+ * seed has finished, logs in a set of seeded creators and receivers, then keeps `concurrency`
+ * virtual threads sending a weighted mix of requests back to back:
+ *
+ *   40% public listing    GET  /api/campaign/public (random page, sometimes a search or platform)
+ *   10% apply             POST /api/application/apply (receiver, random campaign)
+ *   20% dashboard         GET  /api/creator/dashboard (creator)
+ *   15% wallet summary    GET  /api/wallet/summary (creator or receiver)
+ *   15% job workspace     GET  /api/job/{id}/workspace (creator u opens job u, which the seed gives them)
+ *
+ * Requests in the first warmupSeconds are not counted. At the end it prints, per endpoint and in
+ * total, the request count, throughput, latency percentiles and non-2xx responses:
+ *
+ *   java -cp target/test-classes fsa.training.util.HttpLoadDriver http://localhost:8080 [durationSeconds] [concurrency]
+ *        [warmupSeconds] [users] [creators] [campaigns] [loginUsers]
+ *
+ * users, creators and campaigns must match the app.loadtest.seed.* values the app was started with.
+ */
+public class HttpLoadDriver {
+
+    // Must match LoadTestDataSeeder
+    private static final String PASSWORD = "loadtest";
+    private static final String[] PLATFORMS = {"TikTok", "Instagram", "YouTube", "Facebook"};
+    private static final String[] SEARCHES = {"fashion", "beauty", "food", "travel", "tech", "fitness"};
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private enum Endpoint {
+        PUBLIC_LISTING(40), APPLY(10), DASHBOARD(20), WALLET_SUMMARY(15), JOB_WORKSPACE(15);
+
+        final int weight;
+
+        Endpoint(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private record Account(long userId, String token) {}
+
+    /** Latencies (microseconds) and outcomes of one endpoint, recorded by all workers. */
+    private static class Stats {
+        final List<long[]> chunks = new ArrayList<>();
+        final AtomicLong non2xx = new AtomicLong();
+        final AtomicLong failures = new AtomicLong();
+
+        synchronized void add(long[] latencies, int size) {
+            chunks.add(Arrays.copyOf(latencies, size));
+        }
+
+        synchronized long[] all() {
+            int total = 0;
+            for (long[] c : chunks) {
+                total += c.length;
+            }
+            long[] merged = new long[total];
+            int at = 0;
+            for (long[] c : chunks) {
+                System.arraycopy(c, 0, merged, at, c.length);
+                at += c.length;
+            }
+            Arrays.sort(merged);
+            return merged;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args[0];
+        int durationSeconds = args.length > 1 ? Integer.parseInt(args[1]) : 60;
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int warmupSeconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        long users = args.length > 4 ? Long.parseLong(args[4]) : 1_000_000;
+        long creators = args.length > 5 ? Long.parseLong(args[5]) : 100_000;
+        long campaigns = args.length > 6 ? Long.parseLong(args[6]) : 1_000_000;
+        int loginUsers = args.length > 7 ? Integer.parseInt(args[7]) : 100;
+
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        // 1. Wait for the seed to finish
+        long waitStart = System.nanoTime();
+        while (!healthy(http, baseUrl)) {
+            Thread.sleep(2000);
+        }
+        System.out.printf("app ready after %d s%n", (System.nanoTime() - waitStart) / 1_000_000_000);
+
+        // 2. Log in creators 1..loginUsers and as many receivers; creator u owns job u
+        List<Account> creatorAccounts = login(http, baseUrl, 1, Math.min(loginUsers, creators));
+        List<Account> receiverAccounts = login(http, baseUrl, creators + 1, Math.min(loginUsers, users - creators));
+        if (creatorAccounts.isEmpty() || receiverAccounts.isEmpty()) {
+            System.out.println("login failed; is the app running with the loadtest profile?");
+            return;
+        }
+        System.out.printf("logged in %d creators, %d receivers%n", creatorAccounts.size(), receiverAccounts.size());
+
+        // 3. Closed loop: every worker sends its next request as soon as the previous one returned
+        ConcurrentHashMap<Endpoint, Stats> stats = new ConcurrentHashMap<>();
+        for (Endpoint e : Endpoint.values()) {
+            stats.put(e, new Stats());
+        }
+        long measureFrom = System.nanoTime() + warmupSeconds * 1_000_000_000L;
+        long deadline = measureFrom + durationSeconds * 1_000_000_000L;
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int w = 0; w < concurrency; w++) {
+                workers.submit(() -> {
+                    work(http, baseUrl, creatorAccounts, receiverAccounts, campaigns, stats, measureFrom, deadline);
+                    return null;
+                });
+            }
+        }
+
+        // 4. Report
+        System.out.printf("%n%d workers, %d s measured after %d s warmup%n", concurrency, durationSeconds, warmupSeconds);
+        System.out.printf("%-16s %9s %9s %9s %9s %9s %9s %9s %7s %7s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "non2xx", "errors");
+        long totalRequests = 0;
+        long totalNon2xx = 0;
+        long totalFailures = 0;
+        List<long[]> everything = new ArrayList<>();
+        for (Endpoint e : Endpoint.values()) {
+            Stats s = stats.get(e);
+            long[] latencies = s.all();
+            everything.add(latencies);
+            totalRequests += latencies.length;
+            totalNon2xx += s.non2xx.get();
+            totalFailures += s.failures.get();
+            print(e.name().toLowerCase(), latencies, durationSeconds, s.non2xx.get(), s.failures.get());
+        }
+        long[] all = new long[(int) totalRequests];
+        int at = 0;
+        for (long[] l : everything) {
+            System.arraycopy(l, 0, all, at, l.length);
+            at += l.length;
+        }
+        Arrays.sort(all);
+        print("total", all, durationSeconds, totalNon2xx, totalFailures);
+    }
+
+    private static void work(HttpClient http, String baseUrl, List<Account> creators, List<Account> receivers,
+                             long campaigns, ConcurrentHashMap<Endpoint, Stats> stats, long measureFrom, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int totalWeight = 0;
+        for (Endpoint e : Endpoint.values()) {
+            totalWeight += e.weight;
+        }
+        // Latencies are buffered per worker and handed over in chunks, so recording does not contend
+        Endpoint[] endpoints = Endpoint.values();
+        long[][] buffers = new long[endpoints.length][4096];
+        int[] sizes = new int[endpoints.length];
+
+        while (true) {
+            long start = System.nanoTime();
+            if (start >= deadline) {
+                break;
+            }
+            int pick = random.nextInt(totalWeight);
+            Endpoint endpoint = endpoints[0];
+            for (Endpoint e : endpoints) {
+                if (pick < e.weight) {
+                    endpoint = e;
+                    break;
+                }
+                pick -= e.weight;
+            }
+
+            Stats s = stats.get(endpoint);
+            boolean measured = start >= measureFrom;
+            try {
+                int status = http.send(request(endpoint, baseUrl, creators, receivers, campaigns, random),
+                        HttpResponse.BodyHandlers.discarding()).statusCode();
+                long micros = (System.nanoTime() - start) / 1000;
+                if (!measured) {
+                    continue;
+                }
+                int i = endpoint.ordinal();
+                buffers[i][sizes[i]++] = micros;
+                if (sizes[i] == buffers[i].length) {
+                    s.add(buffers[i], sizes[i]);
+                    sizes[i] = 0;
+                }
+                if (status < 200 || status >= 300) {
+                    s.non2xx.incrementAndGet();
+                }
+            } catch (Exception e) {
+                if (measured) {
+                    s.failures.incrementAndGet();
+                }
+            }
+        }
+        for (Endpoint e : endpoints) {
+            stats.get(e).add(buffers[e.ordinal()], sizes[e.ordinal()]);
+        }
+    }
+
+    private static HttpRequest request(Endpoint endpoint, String baseUrl, List<Account> creators, List<Account> receivers,
+                                       long campaigns, ThreadLocalRandom random) {
+        switch (endpoint) {
+            case PUBLIC_LISTING: {
+                StringBuilder url = new StringBuilder(baseUrl).append("/api/campaign/public?size=12&page=").append(random.nextInt(50));
+                int filter = random.nextInt(10);
+                if (filter < 2) {
+                    url.append("&search=").append(SEARCHES[random.nextInt(SEARCHES.length)]);
+                } else if (filter < 4) {
+                    url.append("&platform=").append(PLATFORMS[random.nextInt(PLATFORMS.length)]);
+                }
+                return HttpRequest.newBuilder(URI.create(url.toString())).GET().build();
+            }
+            case APPLY: {
+                Account receiver = receivers.get(random.nextInt(receivers.size()));
+                long campaignId = random.nextLong(campaigns) + 1;
+                return authorized(baseUrl + "/api/application/apply", receiver)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"campaignId\":" + campaignId
+                                + ",\"message\":\"Load test application\",\"bidAmount\":1500000}"))
+                        .build();
+            }
+            case DASHBOARD:
+                return authorized(baseUrl + "/api/creator/dashboard", creators.get(random.nextInt(creators.size()))).GET().build();
+            case WALLET_SUMMARY: {
+                List<Account> pool = random.nextBoolean() ? creators : receivers;
+                return authorized(baseUrl + "/api/wallet/summary", pool.get(random.nextInt(pool.size()))).GET().build();
+            }
+            default: {
+                Account creator = creators.get(random.nextInt(creators.size()));
+                return authorized(baseUrl + "/api/job/" + creator.userId() + "/workspace", creator).GET().build();
+            }
+        }
+    }
+
+    private static HttpRequest.Builder authorized(String url, Account account) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Authorization", "Bearer " + account.token());
+    }
+
+    private static boolean healthy(HttpClient http, String baseUrl) {
+        try {
+            return http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).GET().build(),
+                    HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static List<Account> login(HttpClient http, String baseUrl, long firstUserId, long count) {
+        List<Account> accounts = new ArrayList<>();
+        try (ExecutorService logins = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Account>> pending = new ArrayList<>();
+            for (long id = firstUserId; id < firstUserId + count; id++) {
+                long userId = id;
+                pending.add(logins.submit(() -> {
+                    String body = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/login"))
+                            .header("Content-Type", "application/x-www-form-urlencoded")
+                            .POST(HttpRequest.BodyPublishers.ofString("username="
+                                    + URLEncoder.encode("user" + userId + "@loadtest.local", StandardCharsets.UTF_8)
+                                    + "&password=" + PASSWORD))
+                            .build(), HttpResponse.BodyHandlers.ofString()).body();
+                    Matcher m = TOKEN.matcher(body);
+                    return m.find() ? new Account(userId, m.group(1)) : null;
+                }));
+            }
+            for (Future<Account> f : pending) {
+                try {
+                    Account account = f.get();
+                    if (account != null) {
+                        accounts.add(account);
+                    }
+                } catch (Exception e) {
+                    System.out.println("  login failed: " + e.getMessage());
+                }
+            }
+        }
+        return accounts;
+    }
+
+    private static void print(String name, long[] sortedMicros, int seconds, long non2xx, long failures) {
+        System.out.printf("%-16s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7d %7d%n", name, sortedMicros.length,
+                sortedMicros.length / (double) seconds,
+                percentile(sortedMicros, 50), percentile(sortedMicros, 90), percentile(sortedMicros, 99),
+                percentile(sortedMicros, 99.9), sortedMicros.length > 0 ? sortedMicros[sortedMicros.length - 1] / 1000.0 : 0,
+                non2xx, failures);
+    }
+
+    private static double percentile(long[] sortedMicros, double p) {
+        if (sortedMicros.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p / 100 * sortedMicros.length) - 1;
+        return sortedMicros[Math.max(0, Math.min(index, sortedMicros.length - 1))] / 1000.0;
+    }
+}
@@ -0,0 +1,73 @@
+package fsa.training.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the FPT.AI ID-recognition endpoint, for latency and failure testing of the
+ * verification pipeline. Run it and point the app at it:
+ *
+ *   java -cp target/test-classes fsa.training.util.StubOcrServer [port] [latencyMs] [jitterMs] [errorRate] [hangRate]
+ *   --fpt.ai.url=http://localhost:9099/vision/idr/vnm
+ *
+ * errorRate answers HTTP 500, hangRate sleeps 60s (longer than any sane read timeout).
+ * Image URLs containing "invalid" are answered as unrecognised documents.
+ */
+public class StubOcrServer {
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 9099;
+        long latencyMs = args.length > 1 ? Long.parseLong(args[1]) : 300;
+        long jitterMs = args.length > 2 ? Long.parseLong(args[2]) : 200;
+        double errorRate = args.length > 3 ? Double.parseDouble(args[3]) : 0.05;
+        double hangRate = args.length > 4 ? Double.parseDouble(args[4]) : 0.02;
+
+        AtomicLong calls = new AtomicLong();
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 128);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/vision/idr/vnm", exchange -> {
+            long n = calls.incrementAndGet();
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            try {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                double roll = random.nextDouble();
+                if (roll < hangRate) {
+                    Thread.sleep(60_000);
+                }
+                Thread.sleep(latencyMs + (jitterMs > 0 ? random.nextLong(jitterMs) : 0));
+                if (roll >= hangRate && roll < hangRate + errorRate) {
+                    respond(exchange, 500, "{\"errorCode\":500,\"errorMessage\":\"Stub upstream error\"}");
+                } else if (body.contains("invalid")) {
+                    respond(exchange, 200, "{\"errorCode\":3,\"errorMessage\":\"Unable to find ID card in the image\",\"data\":[]}");
+                } else {
+                    respond(exchange, 200, "{\"errorCode\":0,\"errorMessage\":\"\",\"data\":[{\"id\":\"0790" + n
+                            + "\",\"name\":\"NGUYEN VAN A\",\"type\":\"new\"}]}");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+        System.out.println("Stub OCR listening on http://localhost:" + port + "/vision/idr/vnm"
+                + " (latency " + latencyMs + "+" + jitterMs + "ms, errors " + errorRate + ", hangs " + hangRate + ")");
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
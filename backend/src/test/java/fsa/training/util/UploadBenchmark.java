@@ -0,0 +1,119 @@
+package fsa.training.util;
+
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compares N single uploads (POST /api/upload, one after the other, as the campaign form does)
+ * with one batch upload (POST /api/upload/batch) of the same files.
+ *
+ * Starts a local stand-in for the Cloudinary upload API that answers after latencyMs..latencyMs+jitterMs,
+ * so the numbers reflect the upload fan-out rather than the network. Start the app against it:
+ *
+ *   --cloudinary.upload-prefix=http://localhost:9098
+ *
+ * then run, with a bearer token of any logged-in user:
+ *
+ *   java -cp target/test-classes fsa.training.util.UploadBenchmark http://localhost:8080 TOKEN [files] [sizeKb] [latencyMs] [jitterMs] [rounds]
+ */
+public class UploadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args[0];
+        String token = args[1];
+        int files = args.length > 2 ? Integer.parseInt(args[2]) : 13;
+        int sizeKb = args.length > 3 ? Integer.parseInt(args[3]) : 512;
+        long latencyMs = args.length > 4 ? Long.parseLong(args[4]) : 400;
+        long jitterMs = args.length > 5 ? Long.parseLong(args[5]) : 400;
+        int rounds = args.length > 6 ? Integer.parseInt(args[6]) : 3;
+
+        HttpServer stub = startStub(9098, latencyMs, jitterMs);
+        HttpClient client = HttpClient.newHttpClient();
+        List<byte[]> payloads = new ArrayList<>();
+        for (int i = 0; i < files; i++) {
+            byte[] bytes = new byte[sizeKb * 1024];
+            ThreadLocalRandom.current().nextBytes(bytes);
+            payloads.add(bytes);
+        }
+
+        System.out.println(files + " files x " + sizeKb + "KB, stand-in latency " + latencyMs + "+" + jitterMs + "ms");
+        for (int round = 1; round <= rounds; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < files; i++) {
+                int status = post(client, baseUrl + "/api/upload", token, "file", payloads.subList(i, i + 1));
+                if (status != 200) {
+                    System.out.println("  single upload " + i + " failed: HTTP " + status);
+                }
+            }
+            long sequentialMs = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            int status = post(client, baseUrl + "/api/upload/batch", token, "files", payloads);
+            long batchMs = (System.nanoTime() - start) / 1_000_000;
+
+            System.out.printf("round %d: sequential %d ms, batch %d ms (HTTP %d), speed-up %.1fx%n",
+                    round, sequentialMs, batchMs, status, (double) sequentialMs / Math.max(1, batchMs));
+        }
+        stub.stop(0);
+    }
+
+    private static int post(HttpClient client, String url, String token, String field, List<byte[]> parts) throws Exception {
+        String boundary = "----bench" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (int i = 0; i < parts.size(); i++) {
+            body.write(("--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + field + "\"; filename=\"bench-" + i
+                    + ".mp4\"\r\nContent-Type: video/mp4\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            body.write(parts.get(i));
+            body.write("\r\n".getBytes(StandardCharsets.UTF_8));
+        }
+        body.write(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private static HttpServer startStub(int port, long latencyMs, long jitterMs) throws IOException {
+        AtomicLong calls = new AtomicLong();
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 128);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        // Cloudinary upload API: POST /v1_1/{cloud}/{resource_type}/upload
+        server.createContext("/v1_1/", exchange -> {
+            try {
+                exchange.getRequestBody().transferTo(OutputStream.nullOutputStream());
+                Thread.sleep(latencyMs + (jitterMs > 0 ? ThreadLocalRandom.current().nextLong(jitterMs) : 0));
+                byte[] json = ("{\"secure_url\":\"https://stub.local/media/" + calls.incrementAndGet() + "\"}")
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, json.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(json);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+        return server;
+    }
+}
@@ -28,6 +28,13 @@ const VerificationPage = () => {
         fetchStatus();
     }, []);
 
+    // AI check runs in the background; poll until it has a result
+    useEffect(() => {
+        if (requests[0]?.status !== 'PENDING_AI') return;
+        const timer = setTimeout(fetchStatus, 3000);
+        return () => clearTimeout(timer);
+    }, [requests]);
+
     const fetchStatus = async () => {
         try {
             const response = await api.get('/verification/my-status');
@@ -91,7 +98,7 @@ const VerificationPage = () => {
     if (loading) return <div className="p-12 flex justify-center"><Loader2 className="animate-spin text-blue-500" /></div>;
 
     const latestRequest = requests.length > 0 ? requests[0] : null;
-    const status = latestRequest?.status; // PENDING, APPROVED, REJECTED
+    const status = latestRequest?.status; // PENDING_AI, PENDING, APPROVED, REJECTED
     
     // Step Calculation
     const getStepStatus = (stepIndex: number) => {
@@ -182,7 +189,7 @@ const VerificationPage = () => {
                                      </div>
                                 )}
                             </div>
-                        ) : status === 'PENDING' ? (
+                        ) : status === 'PENDING' || status === 'PENDING_AI' ? (
                             <div className="bg-blue-50 border border-blue-100 rounded-2xl p-8 text-center max-w-lg mx-auto">
                                 <Loader2 className="w-12 h-12 text-blue-500 mx-auto mb-4 animate-spin" />
                                 <h3 className="text-xl font-bold text-blue-900">Verification in Progress</h3>
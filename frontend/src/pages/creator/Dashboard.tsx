@@ -37,16 +37,16 @@ const CreatorDashboard = () => {
 
     const [activeTab, setActiveTab] = useState('campaigns');
     const [jobs, setJobs] = useState<any[]>([]);
+    const [jobsCursor, setJobsCursor] = useState<number | null>(null);
     const [loadingJobs, setLoadingJobs] = useState(false);
     const [jobSearch, setJobSearch] = useState('');
     const [jobStatusFilter, setJobStatusFilter] = useState('All');
 
-    const filteredJobs = jobs.filter(job => {
-        const matchesSearch = job.campaign?.title?.toLowerCase().includes(jobSearch.toLowerCase()) || 
-                              job.influencer?.username?.toLowerCase().includes(jobSearch.toLowerCase());
-        const matchesStatus = jobStatusFilter === 'All' || job.status === jobStatusFilter;
-        return matchesSearch && matchesStatus;
-    });
+    // Status is filtered by the server; search only narrows the cards already loaded
+    const filteredJobs = jobs.filter(job =>
+        job.campaignTitle?.toLowerCase().includes(jobSearch.toLowerCase()) ||
+        job.influencerName?.toLowerCase().includes(jobSearch.toLowerCase())
+    );
 
     // --- Helper Functions (Defined before use) ---
 
@@ -73,11 +73,19 @@ const CreatorDashboard = () => {
         }
     };
 
-    const fetchJobs = async () => {
+    // Keyset-paged job cards; pass the last nextCursor to append the following page
+    const fetchJobs = async (cursor?: number) => {
         setLoadingJobs(true);
         try {
-            const response = await api.get('/job/my-jobs');
-            setJobs(response.data);
+            const response = await api.get('/job/cards', {
+                params: {
+                    size: 50,
+                    status: jobStatusFilter === 'All' ? undefined : jobStatusFilter,
+                    cursor
+                }
+            });
+            setJobs(prev => cursor ? [...prev, ...response.data.items] : response.data.items);
+            setJobsCursor(response.data.nextCursor);
         } catch (error) {
             console.error("Failed to fetch jobs", error);
         } finally {
@@ -87,29 +95,6 @@ const CreatorDashboard = () => {
 
     // --- Effects ---
 
-    // Auto-sync jobs to fix data inconsistencies
-    useEffect(() => {
-        const syncAndRefresh = async () => {
-            try {
-                const res = await api.post('/application/sync-jobs');
-                if (res.data.syncedCount > 0) {
-                     // always refresh jobs if we synced something, regardless of tab
-                     // But strictly speaking we only need to if tab is jobs.
-                     // However, better to just let fetchJobs run if tab is jobs.
-                     // The logic below 'if activeTab === jobs' handles it?
-                     // Wait, activeTab effect runs independently.
-                     console.log(`Synced ${res.data.syncedCount} missing jobs.`);
-                     if (activeTab === 'jobs') fetchJobs(); 
-                }
-            } catch (err) {
-                console.error("Sync failed", err);
-            }
-        };
-        syncAndRefresh();
-    }, [activeTab]); // Trigger on tab change? No, usually once on mount is enough but if user switches back and forth we might want to check again? 
-    // Actually simpler: run once on mount. If user switches to jobs tab, the other effect runs.
-    // BUT we want to force refresh if sync created new jobs while user was ALREADY on jobs tab (unlikely on mount, unless refreshed).
-    
     // Debounce search
     useEffect(() => {
         const timer = setTimeout(() => {
@@ -120,7 +105,7 @@ const CreatorDashboard = () => {
 
     useEffect(() => {
         if (activeTab === 'jobs') fetchJobs();
-    }, [activeTab]);
+    }, [activeTab, jobStatusFilter]);
 
     // --- Handlers ---
 
@@ -412,7 +397,7 @@ const CreatorDashboard = () => {
                         </div>
                     </div>
 
-                    {loadingJobs ? (
+                    {loadingJobs && jobs.length === 0 ? (
                          <div className="flex justify-center p-12">
                             <Loader2 className="animate-spin text-gray-400" size={32} />
                         </div>
@@ -431,8 +416,8 @@ const CreatorDashboard = () => {
                                             <div className="flex items-center justify-between">
                                                 <div className="flex items-center gap-4">
                                                     <div className="flex-shrink-0 h-16 w-16 bg-purple-100 rounded-md overflow-hidden border border-gray-200">
-                                                         {job.campaign.images && job.campaign.images.length > 0 ? (
-                                                            <img src={job.campaign.images[0]} alt="" className="h-full w-full object-cover" />
+                                                         {job.coverImage ? (
+                                                            <img src={job.coverImage} alt="" className="h-full w-full object-cover" />
                                                         ) : (
                                                             <div className="flex items-center justify-center h-full">
                                                                 <BarChart2 className="h-8 w-8 text-purple-600" />
@@ -440,11 +425,11 @@ const CreatorDashboard = () => {
                                                         )}
                                                     </div>
                                                     <div>
-                                                        <h3 className="text-sm font-bold text-gray-900">{job.campaign.title}</h3>
+                                                        <h3 className="text-sm font-bold text-gray-900">{job.campaignTitle}</h3>
                                                         <div className="flex items-center text-sm text-gray-500 mt-1">
                                                             <span className="flex items-center mr-3">
                                                                 <Users size={14} className="mr-1"/> 
-                                                                {job.influencer?.fullName || job.influencer?.username}
+                                                                {job.influencerName}
                                                             </span>
                                                             {/* <span className="flex items-center"><Clock size={14} className="mr-1"/> Since {new Date(job.createdAt).toLocaleDateString()}</span> */}
                                                         </div>
@@ -473,6 +458,13 @@ const CreatorDashboard = () => {
                                     </li>
                                 ))}
                             </ul>
+                            {jobsCursor && (
+                                <div className="px-4 py-3 border-t border-gray-200 text-center">
+                                    <button onClick={() => fetchJobs(jobsCursor)} disabled={loadingJobs} className="text-sm text-indigo-600 hover:text-indigo-800 disabled:text-gray-400">
+                                        Load more
+                                    </button>
+                                </div>
+                            )}
                         </div>
                     )}
                 </div>
@@ -36,15 +36,15 @@ const ReceiverDashboard = () => {
     }, []);
 
     const [myJobs, setMyJobs] = useState<any[]>([]);
+    const [jobsCursor, setJobsCursor] = useState<number | null>(null);
     const [loadingJobs, setLoadingJobs] = useState(false);
     const [jobSearch, setJobSearch] = useState('');
     const [jobStatusFilter, setJobStatusFilter] = useState('All');
 
-    const filteredJobs = myJobs.filter(job => {
-        const matchesSearch = job.campaign?.title?.toLowerCase().includes(jobSearch.toLowerCase());
-        const matchesStatus = jobStatusFilter === 'All' || job.status === jobStatusFilter;
-        return matchesSearch && matchesStatus;
-    });
+    // Status is filtered by the server; search only narrows the cards already loaded
+    const filteredJobs = myJobs.filter(job =>
+        job.campaignTitle?.toLowerCase().includes(jobSearch.toLowerCase())
+    );
 
     useEffect(() => {
         if (activeTab === 'find') {
@@ -55,9 +55,9 @@ const ReceiverDashboard = () => {
         } else if (activeTab === 'applications') {
             fetchMyApplications();
         } else if (activeTab === 'jobs') {
-            fetchMyJobs();
+            fetchJobs();
         }
-    }, [activeTab, search, platform, appsPage, appsStatusFilter]);
+    }, [activeTab, search, platform, appsPage, appsStatusFilter, jobStatusFilter]);
 
     const fetchCampaigns = async () => {
         setLoading(true);
@@ -78,11 +78,19 @@ const ReceiverDashboard = () => {
         }
     };
 
-    const fetchMyJobs = async () => {
+    // Keyset-paged job cards; pass the last nextCursor to append the following page
+    const fetchJobs = async (cursor?: number) => {
         setLoadingJobs(true);
         try {
-            const response = await api.get('/job/my-jobs');
-            setMyJobs(response.data);
+            const response = await api.get('/job/cards', {
+                params: {
+                    size: 50,
+                    status: jobStatusFilter === 'All' ? undefined : jobStatusFilter,
+                    cursor
+                }
+            });
+            setMyJobs(prev => cursor ? [...prev, ...response.data.items] : response.data.items);
+            setJobsCursor(response.data.nextCursor);
         } catch (error) {
             console.error("Failed to fetch jobs", error);
         } finally {
@@ -433,7 +441,7 @@ const ReceiverDashboard = () => {
                         </div>
                     </div>
 
-                    {loadingJobs ? (
+                    {loadingJobs && myJobs.length === 0 ? (
                          <div className="flex justify-center p-12">
                             <Loader2 className="animate-spin text-gray-400" size={32} />
                         </div>
@@ -452,8 +460,8 @@ const ReceiverDashboard = () => {
                                             <div className="flex items-center justify-between">
                                                 <div className="flex items-center gap-4">
                                                     <div className="flex-shrink-0 h-16 w-16 bg-gray-100 rounded-md overflow-hidden border border-gray-200">
-                                                        {job.campaign.images && job.campaign.images.length > 0 ? (
-                                                            <img src={job.campaign.images[0]} alt="" className="h-full w-full object-cover" />
+                                                        {job.coverImage ? (
+                                                            <img src={job.coverImage} alt="" className="h-full w-full object-cover" />
                                                         ) : (
                                                             <div className="flex items-center justify-center h-full">
                                                                 <Briefcase className="h-8 w-8 text-gray-400" />
@@ -461,7 +469,7 @@ const ReceiverDashboard = () => {
                                                         )}
                                                     </div>
                                                     <div>
-                                                        <h3 className="text-sm font-bold text-indigo-600 truncate">{job.campaign.title}</h3>
+                                                        <h3 className="text-sm font-bold text-indigo-600 truncate">{job.campaignTitle}</h3>
                                                         <div className="flex flex-col sm:flex-row sm:items-center text-sm text-gray-500 mt-1 gap-2">
                                                             <span className="flex items-center"><Clock size={14} className="mr-1"/> Started {new Date(job.createdAt).toLocaleDateString()}</span>
                                                             <span className="hidden sm:inline">•</span>
@@ -493,6 +501,13 @@ const ReceiverDashboard = () => {
                                     </li>
                                 ))}
                             </ul>
+                            {jobsCursor && (
+                                <div className="px-4 py-3 border-t border-gray-200 text-center">
+                                    <button onClick={() => fetchJobs(jobsCursor)} disabled={loadingJobs} className="text-sm text-indigo-600 hover:text-indigo-800 disabled:text-gray-400">
+                                        Load more
+                                    </button>
+                                </div>
+                            )}
                         </div>
                     )}
                 </div>